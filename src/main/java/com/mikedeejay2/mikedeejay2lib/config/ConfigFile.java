@@ -5,6 +5,8 @@ import com.mikedeejay2.mikedeejay2lib.data.DataFile;
 import com.mikedeejay2.mikedeejay2lib.data.FileType;
 import com.mikedeejay2.mikedeejay2lib.data.section.SectionAccessor;
 import com.mikedeejay2.mikedeejay2lib.data.section.SectionInstancer;
+import com.mikedeejay2.mikedeejay2lib.data.section.SectionPath;
+import org.apache.commons.lang3.Validate;
 import org.bukkit.*;
 import org.bukkit.attribute.AttributeModifier;
 import org.bukkit.block.banner.Pattern;
@@ -12,12 +14,14 @@ import org.bukkit.configuration.serialization.ConfigurationSerializable;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
 import org.bukkit.potion.PotionEffect;
+import org.bukkit.scheduler.BukkitTask;
 import org.bukkit.util.BlockVector;
 import org.bukkit.util.BoundingBox;
 import org.bukkit.util.Vector;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.*;
 
 /**
@@ -41,6 +45,10 @@ import java.util.function.*;
  * if a file doesn't exist on the disk.). During plugin disabling, if your plugin modifies the config at run time, it's
  * modified state should be checked using {@link ConfigFile#isModified()}, and if it has been modified at, it should be
  * saved to disk using {@link ConfigFile#save()}.
+ * <p>
+ * Configs can also be saved from a background thread using {@link ConfigFile#saveAsync()}, which takes a
+ * {@link ConfigSnapshot} of all values on the calling thread and writes it to disk asynchronously. Setting an automatic
+ * save delay using {@link ConfigFile#setAutoSaveDelay(long)} saves the config this way once values stop changing.
  *
  * @author Mikedeejay2
  */
@@ -56,7 +64,7 @@ public class ConfigFile {
     protected final DataFile dataFile;
 
     /**
-     * The type of {@link DataFile} being used. Either YAML or JSON.
+     * The type of {@link DataFile} being used. YAML, JSON or binary.
      */
     protected final FileType fileType;
 
@@ -98,13 +106,40 @@ public class ConfigFile {
      */
     protected boolean loaded;
 
+    /**
+     * The delay in ticks between the last modification of this config and an automatic save, 0 if automatic saving is
+     * disabled
+     */
+    protected long autoSaveDelay;
+
+    /**
+     * The pending automatic save task, null if no automatic save is pending
+     */
+    protected @Nullable BukkitTask autoSaveTask;
+
+    /**
+     * Incremented every time this config is modified. Used to find whether a saved {@link ConfigSnapshot} is still
+     * current.
+     */
+    protected long modifications;
+
+    /**
+     * The sequence number of the last {@link ConfigSnapshot} taken of this config
+     */
+    protected long snapshotSequence;
+
+    /**
+     * The sequence number of the last state written to the {@link DataFile}. Guarded by the {@link DataFile}.
+     */
+    protected long writtenSequence;
+
     /**
      * Create a new {@link ConfigFile}
      *
      * @param plugin      The {@link BukkitPlugin} instance
      * @param configPath  Path from the plugins folder to the file. (This DOES NOT include
      *                    <code>plugin.getDataFolder()</code>)
-     * @param fileType    The type of {@link DataFile} being used. Either YAML or JSON
+     * @param fileType    The type of {@link DataFile} being used. YAML, JSON or binary
      * @param loadFromJar Whether the file should be loaded from the plugin's jar file. This assumes that a file of the
      *                    same name exists within the jar file
      */
@@ -119,6 +154,11 @@ public class ConfigFile {
         this.loadFromJar = loadFromJar;
         this.updater = new ConfigUpdater(this);
         this.parent = null;
+        this.autoSaveDelay = 0;
+        this.autoSaveTask = null;
+        this.modifications = 0;
+        this.snapshotSequence = 0;
+        this.writtenSequence = 0;
     }
 
     /**
@@ -420,7 +460,53 @@ public class ConfigFile {
      */
     public void setModified(boolean modified) {
         this.modified = modified;
-        if(this.parent != null) this.parent.setModified(true);
+        if(modified) {
+            ++this.modifications;
+            scheduleAutoSave();
+            if(this.parent != null) this.parent.setModified(true);
+        }
+    }
+
+    /**
+     * Get the delay in ticks between the last modification of this config and an automatic save.
+     *
+     * @return The automatic save delay in ticks, 0 if automatic saving is disabled
+     */
+    public long getAutoSaveDelay() {
+        return autoSaveDelay;
+    }
+
+    /**
+     * Set the delay in ticks between the last modification of this config and an automatic save. Every modification
+     * restarts the delay, so a burst of modifications results in a single {@link ConfigFile#saveAsync()}.
+     *
+     * @param autoSaveDelay The automatic save delay in ticks, 0 to disable automatic saving
+     */
+    public void setAutoSaveDelay(long autoSaveDelay) {
+        Validate.isTrue(autoSaveDelay >= 0, "Auto save delay can not be negative, got %d", autoSaveDelay);
+        this.autoSaveDelay = autoSaveDelay;
+        if(autoSaveDelay == 0) cancelAutoSave();
+    }
+
+    /**
+     * Schedule an automatic save of this config, replacing the currently pending automatic save
+     */
+    protected void scheduleAutoSave() {
+        if(autoSaveDelay == 0 || !loaded || !plugin.isEnabled()) return;
+        cancelAutoSave();
+        autoSaveTask = Bukkit.getScheduler().runTaskLater(plugin, () -> {
+            autoSaveTask = null;
+            saveAsync();
+        }, autoSaveDelay);
+    }
+
+    /**
+     * Cancel the pending automatic save of this config, if any
+     */
+    protected void cancelAutoSave() {
+        if(autoSaveTask == null) return;
+        autoSaveTask.cancel();
+        autoSaveTask = null;
     }
 
     /**
@@ -453,7 +539,7 @@ public class ConfigFile {
     }
 
     /**
-     * Get the type of {@link DataFile} being used. Either YAML or JSON.
+     * Get the type of {@link DataFile} being used. YAML, JSON or binary.
      *
      * @return The {@link FileType} of this config
      */
@@ -511,12 +597,104 @@ public class ConfigFile {
      */
     public boolean save() {
         if(!isLoaded()) return false;
+        cancelAutoSave();
         boolean success = internalSaveToDisk();
         children.forEach(ConfigFile::save);
         if(success) setModified(false);
         return success;
     }
 
+    /**
+     * Take an immutable {@link ConfigSnapshot} of the values of this config and its loaded children. This method must
+     * be called from the thread that modifies the values, normally the main thread.
+     *
+     * @return The new {@link ConfigSnapshot}
+     */
+    public ConfigSnapshot snapshot() {
+        final Map<ConfigValue<?>, Object> snapshotValues = new LinkedHashMap<>();
+        for(ConfigValue<?> value : values) {
+            snapshotValues.put(value, value.snapshot());
+        }
+        final List<ConfigSnapshot> childSnapshots = new ArrayList<>();
+        for(ConfigFile child : children) {
+            if(child.isLoaded()) childSnapshots.add(child.snapshot());
+        }
+        return new ConfigSnapshot(this, ++snapshotSequence, modifications, snapshotValues, childSnapshots);
+    }
+
+    /**
+     * Save this config asynchronously. A {@link ConfigSnapshot} is taken on the calling thread, which is then written
+     * to disk on a background thread. Values can safely be modified while the snapshot is being written. If this config
+     * hasn't been loaded using {@link ConfigFile#load()}, this method will fail automatically.
+     * <p>
+     * The returned future is completed on the main thread. If the config wasn't modified while the snapshot was being
+     * written, it is no longer marked as modified.
+     *
+     * @return A future of whether saving was successful
+     */
+    public CompletableFuture<Boolean> saveAsync() {
+        if(!isLoaded()) return CompletableFuture.completedFuture(false);
+        cancelAutoSave();
+        final ConfigSnapshot snapshot = snapshot();
+        final CompletableFuture<Boolean> future = new CompletableFuture<>();
+        runAsync(() -> {
+            final boolean success;
+            try {
+                success = snapshot.write();
+            } catch(Throwable throwable) {
+                runSync(() -> future.completeExceptionally(throwable));
+                return;
+            }
+            runSync(() -> {
+                if(success) snapshot.markSaved();
+                future.complete(success);
+            });
+        });
+        return future;
+    }
+
+    /**
+     * Write a {@link ConfigSnapshot} of this config to disk. Snapshots older than the state that was last written are
+     * skipped. This method can be called from any thread.
+     *
+     * @param snapshot The {@link ConfigSnapshot} to write
+     * @return Whether writing was successful
+     */
+    protected boolean writeSnapshot(ConfigSnapshot snapshot) {
+        synchronized(dataFile) {
+            if(snapshot.getSequence() < writtenSequence) return true; // A newer state has already been written
+            snapshot.getValues().forEach((value, object) -> ((ConfigValue<Object>) value).saveSnapshot(object));
+            writtenSequence = snapshot.getSequence();
+            return dataFile.saveToDisk(true);
+        }
+    }
+
+    /**
+     * Run a task on a background thread, or directly if the plugin is disabled
+     *
+     * @param runnable The task to run
+     */
+    private void runAsync(Runnable runnable) {
+        if(!plugin.isEnabled()) {
+            runnable.run();
+            return;
+        }
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, runnable);
+    }
+
+    /**
+     * Run a task on the main thread, or directly if the plugin is disabled
+     *
+     * @param runnable The task to run
+     */
+    private void runSync(Runnable runnable) {
+        if(!plugin.isEnabled()) {
+            runnable.run();
+            return;
+        }
+        Bukkit.getScheduler().runTask(plugin, runnable);
+    }
+
     /**
      * Reload this config. If the config has been modified and not saved yet, this method will save the file to disk.
      * Else, this config will be reloaded from disk.
@@ -560,12 +738,14 @@ public class ConfigFile {
      * @return Whether loading from jar was successful
      */
     protected boolean internalLoadFromJar() {
-        boolean success = dataFile.loadFromJar(true);
-        if(success) {
-            values.forEach(ConfigValue::load);
-            this.loaded = true;
+        synchronized(dataFile) {
+            boolean success = dataFile.loadFromJar(true);
+            if(success) {
+                values.forEach(ConfigValue::load);
+                this.loaded = true;
+            }
+            return success;
         }
-        return success;
     }
 
     /**
@@ -575,8 +755,11 @@ public class ConfigFile {
      */
     protected boolean internalSaveToDisk() {
         if(!isLoaded()) return false;
-        values.forEach(ConfigValue::save);
-        return dataFile.saveToDisk(true);
+        synchronized(dataFile) {
+            values.forEach(ConfigValue::save);
+            writtenSequence = ++snapshotSequence;
+            return dataFile.saveToDisk(true);
+        }
     }
 
     /**
@@ -598,17 +781,19 @@ public class ConfigFile {
      * @return Whether loading from disk was successful
      */
     protected boolean internalLoadFromDisk() {
-        boolean success = dataFile.loadFromDisk(true);
-        if(loadFromJar) {
-            internalUpdateFromJar();
-            internalSaveToDisk();
-        }
-        if(success) {
-            this.updater.updateOnLoad();
-            values.forEach(ConfigValue::load);
-            this.loaded = true;
+        synchronized(dataFile) {
+            boolean success = dataFile.loadFromDisk(true);
+            if(loadFromJar) {
+                internalUpdateFromJar();
+                internalSaveToDisk();
+            }
+            if(success) {
+                this.updater.updateOnLoad();
+                values.forEach(ConfigValue::load);
+                this.loaded = true;
+            }
+            return success;
         }
-        return success;
     }
 
     /**
@@ -618,7 +803,9 @@ public class ConfigFile {
      * @return Whether updating from jar was successful
      */
     protected boolean internalUpdateFromJar() {
-        return dataFile.updateFromJar(true);
+        synchronized(dataFile) {
+            return dataFile.updateFromJar(true);
+        }
     }
 
     /**
@@ -653,7 +840,7 @@ public class ConfigFile {
      * @return The specified {@link SectionAccessor} of the path
      */
     SectionAccessor<DataFile, Object> getAccessor(String path) {
-        final String[] splitPath = path.split("\\.");
+        final String[] splitPath = SectionPath.split(path);
         SectionAccessor<DataFile, Object> accessor = ((SectionInstancer<?, DataFile, Object>) dataFile).getAccessor();
         for(int i = 0; i < splitPath.length - 1; ++i) {
             accessor = accessor.getSection(splitPath[i]);
@@ -671,8 +858,7 @@ public class ConfigFile {
      * @return The name (key) of a path
      */
     String getName(String path) {
-        final String[] splitPath = path.split("\\.");
-        return splitPath[splitPath.length - 1];
+        return SectionPath.getName(path);
     }
 
     /**
@@ -782,6 +968,59 @@ public class ConfigFile {
             set(defaultValue);
         }
 
+        /**
+         * Get a snapshot of this value for a {@link ConfigSnapshot}. The snapshot must not change when this value is
+         * modified later on, so the value is copied using {@link ConfigValue#copyValue(Object)}.
+         *
+         * @return The snapshot of this value
+         */
+        protected T snapshot() {
+            return copyValue(get());
+        }
+
+        /**
+         * Copy a value for a snapshot. Mutable Bukkit types (item stacks, item meta, locations, vectors and bounding
+         * boxes) are cloned, and collections and maps are copied along with their elements. Other values are
+         * returned as is, so custom mutable types should override {@link ConfigValue#snapshot()}.
+         *
+         * @param value The value to copy
+         * @param <V>   The type of the value
+         * @return The copy of the value
+         */
+        @SuppressWarnings("unchecked")
+        protected static <V> V copyValue(V value) {
+            if(value instanceof ItemStack) return (V) ((ItemStack) value).clone();
+            if(value instanceof ItemMeta) return (V) ((ItemMeta) value).clone();
+            if(value instanceof Location) return (V) ((Location) value).clone();
+            if(value instanceof Vector) return (V) ((Vector) value).clone();
+            if(value instanceof BoundingBox) return (V) ((BoundingBox) value).clone();
+            if(value instanceof Map) {
+                final Map<Object, Object> copy = new LinkedHashMap<>();
+                for(Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                    copy.put(entry.getKey(), copyValue(entry.getValue()));
+                }
+                return (V) copy;
+            }
+            if(value instanceof Collection) {
+                final Collection<Object> copy = value instanceof Set ? new LinkedHashSet<>() : new ArrayList<>();
+                for(Object element : (Collection<?>) value) {
+                    copy.add(copyValue(element));
+                }
+                return (V) copy;
+            }
+            return value;
+        }
+
+        /**
+         * Save a snapshot of this value, previously taken using {@link ConfigValue#snapshot()}, via
+         * {@link ValueType#save()}
+         *
+         * @param snapshot The snapshot of this value
+         */
+        protected void saveSnapshot(T snapshot) {
+            this.type.save(file.getAccessor(path), name, snapshot);
+        }
+
         /**
          * Get the {@link ValueType} of this value. Used to load, save, and manage the value.
          *
@@ -868,6 +1107,26 @@ public class ConfigFile {
             this.value.clear();
             this.file.setModified(true);
         }
+
+        /**
+         * Overridden snapshot method to copy the collection, as the collection itself is reused. The elements are
+         * copied using {@link ConfigValue#copyValue(Object)}.
+         *
+         * @return A copy of the collection
+         */
+        @Override
+        protected T snapshot() {
+            T copy;
+            try {
+                copy = (T) value.getClass().getDeclaredConstructor().newInstance();
+            } catch(ReflectiveOperationException | RuntimeException exception) {
+                copy = (T) (value instanceof Set ? new LinkedHashSet<E>() : new ArrayList<E>());
+            }
+            for(E element : value) {
+                copy.add(copyValue(element));
+            }
+            return copy;
+        }
     }
 
     /**
@@ -917,6 +1176,26 @@ public class ConfigFile {
             this.value.clear();
             this.file.setModified(true);
         }
+
+        /**
+         * Overridden snapshot method to copy the map, as the map itself is reused. The values are copied using
+         * {@link ConfigValue#copyValue(Object)}.
+         *
+         * @return A copy of the map
+         */
+        @Override
+        protected T snapshot() {
+            T copy;
+            try {
+                copy = (T) value.getClass().getDeclaredConstructor().newInstance();
+            } catch(ReflectiveOperationException | RuntimeException exception) {
+                copy = (T) new LinkedHashMap<K, V>();
+            }
+            for(Map.Entry<K, V> entry : value.entrySet()) {
+                copy.put(entry.getKey(), copyValue(entry.getValue()));
+            }
+            return copy;
+        }
     }
 
     /**
@@ -952,6 +1231,7 @@ public class ConfigFile {
          */
         public void setBoolean(boolean value) {
             this.value = value;
+            this.file.setModified(true);
         }
 
         @Override
@@ -1017,6 +1297,7 @@ public class ConfigFile {
          */
         public void setInteger(int value) {
             this.value = value;
+            this.file.setModified(true);
         }
 
         @Override
@@ -1082,6 +1363,7 @@ public class ConfigFile {
          */
         public void setFloat(float value) {
             this.value = value;
+            this.file.setModified(true);
         }
 
         @Override
@@ -1147,6 +1429,7 @@ public class ConfigFile {
          */
         public void setDouble(double value) {
             this.value = value;
+            this.file.setModified(true);
         }
 
         @Override
@@ -1212,6 +1495,7 @@ public class ConfigFile {
          */
         public void setLong(long value) {
             this.value = value;
+            this.file.setModified(true);
         }
 
         @Override
@@ -1244,6 +1528,113 @@ public class ConfigFile {
         }
     }
 
+    /**
+     * An immutable snapshot of the values of a {@link ConfigFile} and its children, taken using
+     * {@link ConfigFile#snapshot()}. A snapshot can be written to disk from any thread using
+     * {@link ConfigSnapshot#write()}.
+     *
+     * @author Mikedeejay2
+     */
+    public static final class ConfigSnapshot {
+        /**
+         * The {@link ConfigFile} that this snapshot was taken of
+         */
+        private final ConfigFile config;
+
+        /**
+         * The sequence number of this snapshot, used to skip writing outdated snapshots
+         */
+        private final long sequence;
+
+        /**
+         * The modification count of the config when this snapshot was taken
+         */
+        private final long modifications;
+
+        /**
+         * The snapshots of the {@link ConfigValue ConfigValues} of the config
+         */
+        private final Map<ConfigValue<?>, Object> values;
+
+        /**
+         * The snapshots of the loaded children of the config
+         */
+        private final List<ConfigSnapshot> children;
+
+        /**
+         * Internal constructor
+         *
+         * @param config        The {@link ConfigFile} that this snapshot was taken of
+         * @param sequence      The sequence number of this snapshot
+         * @param modifications The modification count of the config when this snapshot was taken
+         * @param values        The snapshots of the {@link ConfigValue ConfigValues} of the config
+         * @param children      The snapshots of the loaded children of the config
+         */
+        private ConfigSnapshot(ConfigFile config, long sequence, long modifications, Map<ConfigValue<?>, Object> values, List<ConfigSnapshot> children) {
+            this.config = config;
+            this.sequence = sequence;
+            this.modifications = modifications;
+            this.values = Collections.unmodifiableMap(values);
+            this.children = Collections.unmodifiableList(children);
+        }
+
+        /**
+         * Write this snapshot and the snapshots of the children to disk. This method can be called from any thread.
+         *
+         * @return Whether writing the config of this snapshot was successful
+         */
+        public boolean write() {
+            final boolean success = config.writeSnapshot(this);
+            children.forEach(ConfigSnapshot::write);
+            return success;
+        }
+
+        /**
+         * Mark the configs of this snapshot as no longer modified if they haven't been modified since the snapshot was
+         * taken. This method must be called from the thread that modifies the values, normally the main thread.
+         */
+        public void markSaved() {
+            if(config.modifications == modifications) config.modified = false;
+            children.forEach(ConfigSnapshot::markSaved);
+        }
+
+        /**
+         * Get the {@link ConfigFile} that this snapshot was taken of
+         *
+         * @return The {@link ConfigFile}
+         */
+        public ConfigFile getConfig() {
+            return config;
+        }
+
+        /**
+         * Get the sequence number of this snapshot
+         *
+         * @return The sequence number
+         */
+        public long getSequence() {
+            return sequence;
+        }
+
+        /**
+         * Get the snapshots of the {@link ConfigValue ConfigValues} of the config
+         *
+         * @return The unmodifiable map of values to their snapshots
+         */
+        public Map<ConfigValue<?>, Object> getValues() {
+            return values;
+        }
+
+        /**
+         * Get the snapshots of the loaded children of the config
+         *
+         * @return The unmodifiable list of child snapshots
+         */
+        public List<ConfigSnapshot> getChildren() {
+            return children;
+        }
+    }
+
     /**
      * A type of value for use with {@link ConfigValue ConfigValues}. Pre-existing types or custom types can be used.
      * Pre-existing types can be found as static variables of this class, such as {@link ValueType#BOOLEAN} or
@@ -2,6 +2,7 @@ package com.mikedeejay2.mikedeejay2lib.data;
 
 
 import com.mikedeejay2.mikedeejay2lib.BukkitPlugin;
+import com.mikedeejay2.mikedeejay2lib.data.binary.BinaryFile;
 import com.mikedeejay2.mikedeejay2lib.data.json.JsonFile;
 import com.mikedeejay2.mikedeejay2lib.data.yaml.YamlFile;
 import org.apache.commons.io.FilenameUtils;
@@ -22,7 +23,12 @@ public enum FileType {
     /**
      * The JSON file type. Instantiates {@link JsonFile} for extensions "json"
      */
-    JSON(JsonFile::new, "json");
+    JSON(JsonFile::new, "json"),
+
+    /**
+     * The binary file type. Instantiates {@link BinaryFile} for extensions "bin"
+     */
+    BINARY(BinaryFile::new, "bin");
 
     /**
      * The function used to create a {@link DataFile} of the specified type
@@ -0,0 +1,487 @@
+package com.mikedeejay2.mikedeejay2lib.data.binary;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.serialization.ConfigurationSerializable;
+import org.bukkit.configuration.serialization.ConfigurationSerialization;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * A compact binary codec for configuration data and {@link ConfigurationSerializable} objects.
+ * <p>
+ * Values are written with a one byte type tag, numbers are written as variable length integers and strings,
+ * sections, maps and lists are prefixed with their length. Keys and serialization aliases are interned per stream:
+ * the first occurrence of a string is written in full and every repeated occurrence is written as an index into the
+ * strings that have already been read. Serializable objects are written directly from their serialized map and are
+ * deserialized directly from the decoded map, without an intermediate text tree.
+ * <p>
+ * Supported values are <code>null</code>, booleans, numbers, strings, characters, lists, maps, configuration
+ * sections and {@link ConfigurationSerializable} objects.
+ *
+ * @see BinaryFile
+ * @author Mikedeejay2
+ */
+public final class BinaryCodec {
+    /**
+     * The magic number at the start of every binary data stream
+     */
+    public static final int MAGIC = 0x4D44424E;
+
+    /**
+     * The current version of the binary format
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * Type tag of <code>null</code>
+     */
+    private static final byte TYPE_NULL = 0;
+
+    /**
+     * Type tag of <code>true</code>
+     */
+    private static final byte TYPE_TRUE = 1;
+
+    /**
+     * Type tag of <code>false</code>
+     */
+    private static final byte TYPE_FALSE = 2;
+
+    /**
+     * Type tag of an integer, written as a zigzag encoded variable length integer
+     */
+    private static final byte TYPE_INT = 3;
+
+    /**
+     * Type tag of a long, written as a zigzag encoded variable length long
+     */
+    private static final byte TYPE_LONG = 4;
+
+    /**
+     * Type tag of a float
+     */
+    private static final byte TYPE_FLOAT = 5;
+
+    /**
+     * Type tag of a double
+     */
+    private static final byte TYPE_DOUBLE = 6;
+
+    /**
+     * Type tag of a string, written as its length in bytes followed by its UTF-8 bytes
+     */
+    private static final byte TYPE_STRING = 7;
+
+    /**
+     * Type tag of a list, written as its size followed by its values
+     */
+    private static final byte TYPE_LIST = 8;
+
+    /**
+     * Type tag of a map, written as its size followed by interned keys and their values
+     */
+    private static final byte TYPE_MAP = 9;
+
+    /**
+     * Type tag of a configuration section, written the same way as a map
+     */
+    private static final byte TYPE_SECTION = 10;
+
+    /**
+     * Type tag of a serializable object, written as its interned alias followed by its serialized map
+     */
+    private static final byte TYPE_SERIALIZABLE = 11;
+
+    /**
+     * Write a configuration section and all of its values to a stream
+     *
+     * @param section The section to write
+     * @param output  The stream to write to
+     * @throws IOException If the stream could not be written to or a value is not supported
+     */
+    public static void write(ConfigurationSection section, OutputStream output) throws IOException {
+        DataOutputStream out = new DataOutputStream(output);
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        new Encoder(out).writeSection(section);
+        out.flush();
+    }
+
+    /**
+     * Encode a configuration section and all of its values into a byte array. Serializable objects are serialized on
+     * the calling thread, so the returned bytes no longer depend on the state of the objects.
+     *
+     * @param section The section to encode
+     * @return The encoded bytes, in the same format as {@link BinaryCodec#write(ConfigurationSection, OutputStream)}
+     * @throws IOException If a value is not supported
+     */
+    public static byte[] encode(ConfigurationSection section) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        write(section, output);
+        return output.toByteArray();
+    }
+
+    /**
+     * Read the values of a stream written by {@link BinaryCodec#write(ConfigurationSection, OutputStream)} into a
+     * configuration section
+     *
+     * @param input   The stream to read from
+     * @param section The section to read the values into
+     * @throws IOException If the stream could not be read or is not valid binary data
+     */
+    public static void read(InputStream input, ConfigurationSection section) throws IOException {
+        DataInputStream in = new DataInputStream(input);
+        if(in.readInt() != MAGIC) throw new IOException("Data is not in the binary format");
+        int version = in.readUnsignedByte();
+        if(version > VERSION) throw new IOException(String.format("Unsupported binary format version %d", version));
+        new Decoder(in).readSection(section);
+    }
+
+    /**
+     * Writes values to a stream, keeping track of the strings that have been interned
+     *
+     * @author Mikedeejay2
+     */
+    private static final class Encoder {
+        /**
+         * The stream being written to
+         */
+        private final DataOutputStream out;
+
+        /**
+         * The strings that have been written, mapped to their index
+         */
+        private final Map<String, Integer> strings;
+
+        /**
+         * Construct a new <code>Encoder</code>
+         *
+         * @param out The stream being written to
+         */
+        private Encoder(DataOutputStream out) {
+            this.out = out;
+            this.strings = new HashMap<>();
+        }
+
+        /**
+         * Write the direct values of a configuration section, nested sections are written recursively
+         *
+         * @param section The section to write
+         * @throws IOException If the stream could not be written to or a value is not supported
+         */
+        private void writeSection(ConfigurationSection section) throws IOException {
+            Map<String, Object> values = section.getValues(false);
+            writeVarInt(values.size());
+            for(Map.Entry<String, Object> entry : values.entrySet()) {
+                writeInterned(entry.getKey());
+                writeValue(entry.getValue());
+            }
+        }
+
+        /**
+         * Write a map of values
+         *
+         * @param map The map to write
+         * @throws IOException If the stream could not be written to or a value is not supported
+         */
+        private void writeMap(Map<?, ?> map) throws IOException {
+            writeVarInt(map.size());
+            for(Map.Entry<?, ?> entry : map.entrySet()) {
+                writeInterned(String.valueOf(entry.getKey()));
+                writeValue(entry.getValue());
+            }
+        }
+
+        /**
+         * Write a type tagged value
+         *
+         * @param value The value to write
+         * @throws IOException If the stream could not be written to or the value is not supported
+         */
+        private void writeValue(Object value) throws IOException {
+            if(value == null) {
+                out.writeByte(TYPE_NULL);
+            } else if(value instanceof ConfigurationSection) {
+                out.writeByte(TYPE_SECTION);
+                writeSection((ConfigurationSection) value);
+            } else if(value instanceof ConfigurationSerializable) {
+                ConfigurationSerializable serializable = (ConfigurationSerializable) value;
+                out.writeByte(TYPE_SERIALIZABLE);
+                writeInterned(ConfigurationSerialization.getAlias(serializable.getClass()));
+                writeMap(serializable.serialize());
+            } else if(value instanceof Boolean) {
+                out.writeByte((Boolean) value ? TYPE_TRUE : TYPE_FALSE);
+            } else if(value instanceof Integer || value instanceof Short || value instanceof Byte) {
+                out.writeByte(TYPE_INT);
+                int number = ((Number) value).intValue();
+                writeVarInt((number << 1) ^ (number >> 31));
+            } else if(value instanceof Long) {
+                out.writeByte(TYPE_LONG);
+                long number = (Long) value;
+                writeVarLong((number << 1) ^ (number >> 63));
+            } else if(value instanceof Float) {
+                out.writeByte(TYPE_FLOAT);
+                out.writeFloat((Float) value);
+            } else if(value instanceof Double) {
+                out.writeByte(TYPE_DOUBLE);
+                out.writeDouble((Double) value);
+            } else if(value instanceof String || value instanceof Character) {
+                out.writeByte(TYPE_STRING);
+                writeString(value.toString());
+            } else if(value instanceof Map) {
+                out.writeByte(TYPE_MAP);
+                writeMap((Map<?, ?>) value);
+            } else if(value instanceof Collection) {
+                Collection<?> collection = (Collection<?>) value;
+                out.writeByte(TYPE_LIST);
+                writeVarInt(collection.size());
+                for(Object element : collection) {
+                    writeValue(element);
+                }
+            } else {
+                throw new IOException(String.format("Unsupported value of type %s", value.getClass().getName()));
+            }
+        }
+
+        /**
+         * Write a string, or the index of the string if it has already been written
+         *
+         * @param string The string to write
+         * @throws IOException If the stream could not be written to
+         */
+        private void writeInterned(String string) throws IOException {
+            Integer index = strings.get(string);
+            if(index != null) {
+                writeVarInt(index + 1);
+                return;
+            }
+            writeVarInt(0);
+            writeString(string);
+            strings.put(string, strings.size());
+        }
+
+        /**
+         * Write a length prefixed UTF-8 string
+         *
+         * @param string The string to write
+         * @throws IOException If the stream could not be written to
+         */
+        private void writeString(String string) throws IOException {
+            byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(bytes.length);
+            out.write(bytes);
+        }
+
+        /**
+         * Write an unsigned variable length integer, 7 bits per byte
+         *
+         * @param value The value to write
+         * @throws IOException If the stream could not be written to
+         */
+        private void writeVarInt(int value) throws IOException {
+            while((value & ~0x7F) != 0) {
+                out.writeByte((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            out.writeByte(value);
+        }
+
+        /**
+         * Write an unsigned variable length long, 7 bits per byte
+         *
+         * @param value The value to write
+         * @throws IOException If the stream could not be written to
+         */
+        private void writeVarLong(long value) throws IOException {
+            while((value & ~0x7FL) != 0) {
+                out.writeByte((int) (value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            out.writeByte((int) value);
+        }
+    }
+
+    /**
+     * Reads values from a stream, keeping track of the strings that have been interned
+     *
+     * @author Mikedeejay2
+     */
+    private static final class Decoder {
+        /**
+         * The stream being read from
+         */
+        private final DataInputStream in;
+
+        /**
+         * The strings that have been read, in order of their index
+         */
+        private final List<String> strings;
+
+        /**
+         * Construct a new <code>Decoder</code>
+         *
+         * @param in The stream being read from
+         */
+        private Decoder(DataInputStream in) {
+            this.in = in;
+            this.strings = new ArrayList<>();
+        }
+
+        /**
+         * Read the values of a section into a configuration section, nested sections are created recursively
+         *
+         * @param section The section to read into
+         * @throws IOException If the stream could not be read or is not valid binary data
+         */
+        private void readSection(ConfigurationSection section) throws IOException {
+            int size = readLength();
+            for(int i = 0; i < size; ++i) {
+                String key = readInterned();
+                byte type = in.readByte();
+                if(type == TYPE_SECTION) {
+                    readSection(section.createSection(key));
+                } else {
+                    section.set(key, readValue(type));
+                }
+            }
+        }
+
+        /**
+         * Read a map of values
+         *
+         * @return The read map
+         * @throws IOException If the stream could not be read or is not valid binary data
+         */
+        private Map<String, Object> readMap() throws IOException {
+            int size = readLength();
+            Map<String, Object> map = new LinkedHashMap<>();
+            for(int i = 0; i < size; ++i) {
+                String key = readInterned();
+                map.put(key, readValue(in.readByte()));
+            }
+            return map;
+        }
+
+        /**
+         * Read the value of a type tag
+         *
+         * @param type The type tag of the value
+         * @return The read value
+         * @throws IOException If the stream could not be read or is not valid binary data
+         */
+        private Object readValue(byte type) throws IOException {
+            switch(type) {
+                case TYPE_NULL:
+                    return null;
+                case TYPE_TRUE:
+                    return true;
+                case TYPE_FALSE:
+                    return false;
+                case TYPE_INT:
+                    int intValue = readVarInt();
+                    return (intValue >>> 1) ^ -(intValue & 1);
+                case TYPE_LONG:
+                    long longValue = readVarLong();
+                    return (longValue >>> 1) ^ -(longValue & 1);
+                case TYPE_FLOAT:
+                    return in.readFloat();
+                case TYPE_DOUBLE:
+                    return in.readDouble();
+                case TYPE_STRING:
+                    return readString();
+                case TYPE_LIST:
+                    int size = readLength();
+                    List<Object> list = new ArrayList<>(Math.min(size, 1024));
+                    for(int i = 0; i < size; ++i) {
+                        list.add(readValue(in.readByte()));
+                    }
+                    return list;
+                case TYPE_MAP:
+                case TYPE_SECTION:
+                    return readMap();
+                case TYPE_SERIALIZABLE:
+                    String alias = readInterned();
+                    Map<String, Object> map = readMap();
+                    map.put(ConfigurationSerialization.SERIALIZED_TYPE_KEY, alias);
+                    return ConfigurationSerialization.deserializeObject(map);
+                default:
+                    throw new IOException(String.format("Unknown type tag %d", type));
+            }
+        }
+
+        /**
+         * Read an interned string
+         *
+         * @return The read string
+         * @throws IOException If the stream could not be read or is not valid binary data
+         */
+        private String readInterned() throws IOException {
+            int index = readVarInt();
+            if(index == 0) {
+                String string = readString();
+                strings.add(string);
+                return string;
+            }
+            if(index > strings.size()) throw new IOException(String.format("Unknown string index %d", index - 1));
+            return strings.get(index - 1);
+        }
+
+        /**
+         * Read a length prefixed UTF-8 string
+         *
+         * @return The read string
+         * @throws IOException If the stream could not be read or is not valid binary data
+         */
+        private String readString() throws IOException {
+            byte[] bytes = new byte[readLength()];
+            in.readFully(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        /**
+         * Read a length, which can't be negative
+         *
+         * @return The read length
+         * @throws IOException If the stream could not be read or the length is negative
+         */
+        private int readLength() throws IOException {
+            int length = readVarInt();
+            if(length < 0) throw new IOException(String.format("Invalid length %d", length));
+            return length;
+        }
+
+        /**
+         * Read an unsigned variable length integer
+         *
+         * @return The read value
+         * @throws IOException If the stream could not be read or the integer is too long
+         */
+        private int readVarInt() throws IOException {
+            int value = 0;
+            for(int shift = 0; shift < 35; shift += 7) {
+                int b = in.readUnsignedByte();
+                value |= (b & 0x7F) << shift;
+                if((b & 0x80) == 0) return value;
+            }
+            throw new IOException("Variable length integer is too long");
+        }
+
+        /**
+         * Read an unsigned variable length long
+         *
+         * @return The read value
+         * @throws IOException If the stream could not be read or the long is too long
+         */
+        private long readVarLong() throws IOException {
+            long value = 0;
+            for(int shift = 0; shift < 70; shift += 7) {
+                int b = in.readUnsignedByte();
+                value |= (long) (b & 0x7F) << shift;
+                if((b & 0x80) == 0) return value;
+            }
+            throw new IOException("Variable length long is too long");
+        }
+    }
+}
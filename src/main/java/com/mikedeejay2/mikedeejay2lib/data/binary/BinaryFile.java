@@ -0,0 +1,110 @@
+package com.mikedeejay2.mikedeejay2lib.data.binary;
+
+import com.mikedeejay2.mikedeejay2lib.BukkitPlugin;
+import com.mikedeejay2.mikedeejay2lib.data.yaml.YamlAccessor;
+import com.mikedeejay2.mikedeejay2lib.data.yaml.YamlFile;
+import com.mikedeejay2.mikedeejay2lib.util.file.BinaryFileIO;
+import com.mikedeejay2.mikedeejay2lib.util.file.FileIO;
+
+import java.io.IOException;
+
+/**
+ * A <code>BinaryFile</code> stores its data in memory the same way as a {@link YamlFile} and is accessed through a
+ * {@link YamlAccessor}, but it is saved to disk in the compact format of {@link BinaryCodec}. Serializable objects are
+ * kept as objects in memory and are written straight from their serialized maps, which makes binary files a lot
+ * smaller and faster to load than text files for item heavy data.
+ * <p>
+ * Comments of the underlying YAML configuration are not saved.
+ *
+ * @author Mikedeejay2
+ */
+public class BinaryFile extends YamlFile {
+    /**
+     * Constructs a new <code>BinaryFile</code>
+     *
+     * @param plugin   The {@link BukkitPlugin} instance
+     * @param filePath The path to the file
+     */
+    public BinaryFile(BukkitPlugin plugin, String filePath) {
+        super(plugin, filePath);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param throwErrors Silence any errors that this operation might produce
+     * @return If this operation was successful or not
+     */
+    @Override
+    public boolean loadFromDisk(boolean throwErrors) {
+        isLoaded = BinaryFileIO.loadIntoConfig(yamlFile, file, throwErrors);
+        pathIndex.invalidate();
+        return isLoaded;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param throwErrors Silence any errors that this operation might produce
+     * @return If this operation was successful or not
+     */
+    @Override
+    public boolean loadFromJar(boolean throwErrors) {
+        isLoaded = BinaryFileIO.loadConfigFromJar(yamlFile, filePath, plugin.classLoader(), throwErrors);
+        pathIndex.invalidate();
+        return isLoaded;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param throwErrors Silence any errors that this operation might produce
+     * @return If this operation was successful or not
+     */
+    @Override
+    public boolean saveToDisk(boolean throwErrors) {
+        return BinaryFileIO.saveConfig(yamlFile, file, throwErrors);
+    }
+
+    /**
+     * Save data previously encoded with {@link BinaryFile#encode(boolean)} to disk. Unlike
+     * {@link BinaryFile#saveToDisk(boolean)}, this doesn't read the current data of this file, so it is safe to call on
+     * another thread while the data is being modified.
+     *
+     * @param data        The encoded data
+     * @param throwErrors Silence any errors that this operation might produce
+     * @return If this operation was successful or not
+     */
+    public boolean saveToDisk(byte[] data, boolean throwErrors) {
+        return FileIO.saveFileAtomic(file, data, throwErrors);
+    }
+
+    /**
+     * Encode the current data of this file on the calling thread. Serializable objects are kept as objects in memory,
+     * so the returned bytes capture their state at the time of the call.
+     *
+     * @param throwErrors Silence any errors that this operation might produce
+     * @return The encoded data, null if the data could not be encoded
+     */
+    public byte[] encode(boolean throwErrors) {
+        try {
+            return BinaryCodec.encode(yamlFile);
+        } catch(IOException e) {
+            if(throwErrors) FileIO.logFileCouldNotBeSaved(filePath, e);
+            return null;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param throwErrors Silence any errors that this operation might produce
+     * @return If this operation was successful or not
+     */
+    @Override
+    public boolean updateFromJar(boolean throwErrors) {
+        boolean success = BinaryFileIO.updateFromJar(yamlFile, filePath, plugin.classLoader(), throwErrors);
+        pathIndex.invalidate();
+        return success;
+    }
+}
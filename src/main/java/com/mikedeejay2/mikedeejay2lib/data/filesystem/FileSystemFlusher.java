@@ -0,0 +1,244 @@
+package com.mikedeejay2.mikedeejay2lib.data.filesystem;
+
+import com.mikedeejay2.mikedeejay2lib.BukkitPlugin;
+import org.apache.commons.lang3.Validate;
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+
+/**
+ * Coalesces the changes of a {@link SerializableFileSystem} into as few disk writes as possible.
+ * <p>
+ * Every change marks the flusher as dirty. Once the flush delay has passed since the first unflushed change, or the
+ * maximum amount of operations has been reached, a snapshot of the file system's state is taken on the main thread
+ * and written to disk asynchronously. Writes run one at a time in the order that their snapshots were taken, so at
+ * most one write of the file system is in flight at any time.
+ *
+ * @author Mikedeejay2
+ */
+public class FileSystemFlusher {
+    /**
+     * The default amount of ticks between the first unflushed change and the flush
+     */
+    public static final long DEFAULT_FLUSH_DELAY = 40;
+
+    /**
+     * The default amount of unflushed changes that trigger a flush before the delay has passed
+     */
+    public static final int DEFAULT_MAX_OPERATIONS = 100;
+
+    /**
+     * The {@link BukkitPlugin} instance
+     */
+    protected final BukkitPlugin plugin;
+
+    /**
+     * Takes a snapshot of the file system's state and returns the write of the snapshot, null if there is nothing to
+     * write
+     */
+    protected final Supplier<Runnable> snapshotter;
+
+    /**
+     * The writes that are waiting to be run, in the order that their snapshots were taken
+     */
+    protected final Queue<Runnable> pendingWrites;
+
+    /**
+     * Whether an asynchronous task is currently running the pending writes
+     */
+    protected final AtomicBoolean writing;
+
+    /**
+     * The lock that is held while running writes
+     */
+    protected final Object writeLock;
+
+    /**
+     * The amount of ticks between the first unflushed change and the flush
+     */
+    protected long flushDelay;
+
+    /**
+     * The amount of unflushed changes that trigger a flush before the delay has passed
+     */
+    protected int maxOperations;
+
+    /**
+     * The amount of unflushed changes
+     */
+    protected int operations;
+
+    /**
+     * The scheduled flush, null if none is scheduled
+     */
+    protected BukkitTask flushTask;
+
+    /**
+     * Construct a new <code>FileSystemFlusher</code>
+     *
+     * @param plugin      The {@link BukkitPlugin} instance
+     * @param snapshotter Takes a snapshot of the file system's state and returns the write of the snapshot, null if
+     *                    there is nothing to write
+     */
+    public FileSystemFlusher(BukkitPlugin plugin, Supplier<Runnable> snapshotter) {
+        this.plugin = plugin;
+        this.snapshotter = snapshotter;
+        this.pendingWrites = new ConcurrentLinkedQueue<>();
+        this.writing = new AtomicBoolean(false);
+        this.writeLock = new Object();
+        this.flushDelay = DEFAULT_FLUSH_DELAY;
+        this.maxOperations = DEFAULT_MAX_OPERATIONS;
+        this.operations = 0;
+        this.flushTask = null;
+    }
+
+    /**
+     * Mark that the file system has changed. Schedules a flush if one isn't scheduled already, or flushes right away
+     * if the maximum amount of operations has been reached. Must be called on the main thread.
+     */
+    public void markDirty() {
+        ++operations;
+        if(!plugin.isEnabled()) {
+            flushNow();
+            return;
+        }
+        if(operations >= maxOperations) {
+            flush();
+            return;
+        }
+        if(flushTask == null) {
+            flushTask = Bukkit.getScheduler().runTaskLater(plugin, this::flush, flushDelay);
+        }
+    }
+
+    /**
+     * Take a snapshot of the file system and write it to disk asynchronously. If a write is already in flight, the
+     * snapshot is written once it has completed. Must be called on the main thread.
+     */
+    public void flush() {
+        if(!takeSnapshot()) return;
+        if(!writing.compareAndSet(false, true)) return;
+        if(!plugin.isEnabled()) {
+            drain();
+            return;
+        }
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, this::drain);
+    }
+
+    /**
+     * Take a snapshot of the file system and write it and every pending write to disk on the current thread, waiting
+     * for any write that is in flight. Must be called on the main thread.
+     */
+    public void flushNow() {
+        takeSnapshot();
+        synchronized(writeLock) {
+            runPendingWrites();
+        }
+    }
+
+    /**
+     * Wait for every pending write and the write in flight to be written to disk. Unlike
+     * {@link FileSystemFlusher#flushNow()}, no snapshot is taken, so this can be called from any thread.
+     */
+    public void awaitWrites() {
+        synchronized(writeLock) {
+            runPendingWrites();
+        }
+    }
+
+    /**
+     * Take a snapshot of the file system if it has unflushed changes and add its write to the pending writes
+     *
+     * @return Whether a write was added
+     */
+    protected boolean takeSnapshot() {
+        if(flushTask != null) {
+            flushTask.cancel();
+            flushTask = null;
+        }
+        if(operations == 0) return false;
+        operations = 0;
+        Runnable write = snapshotter.get();
+        if(write == null) return false;
+        pendingWrites.add(write);
+        return true;
+    }
+
+    /**
+     * Run pending writes until there are none left. Writes added while draining are picked up before returning.
+     */
+    protected void drain() {
+        do {
+            synchronized(writeLock) {
+                runPendingWrites();
+            }
+            writing.set(false);
+        } while(!pendingWrites.isEmpty() && writing.compareAndSet(false, true));
+    }
+
+    /**
+     * Run every pending write. Must be called while holding the write lock.
+     */
+    protected void runPendingWrites() {
+        Runnable write;
+        while((write = pendingWrites.poll()) != null) {
+            try {
+                write.run();
+            } catch(Exception e) {
+                plugin.getLogger().log(Level.SEVERE, "A file system write could not be completed", e);
+            }
+        }
+    }
+
+    /**
+     * Get the amount of ticks between the first unflushed change and the flush
+     *
+     * @return The flush delay in ticks
+     */
+    public long getFlushDelay() {
+        return flushDelay;
+    }
+
+    /**
+     * Set the amount of ticks between the first unflushed change and the flush
+     *
+     * @param flushDelay The new flush delay in ticks
+     */
+    public void setFlushDelay(long flushDelay) {
+        Validate.isTrue(flushDelay >= 0, "Flush delay cannot be negative");
+        this.flushDelay = flushDelay;
+    }
+
+    /**
+     * Get the amount of unflushed changes that trigger a flush before the delay has passed
+     *
+     * @return The maximum amount of operations
+     */
+    public int getMaxOperations() {
+        return maxOperations;
+    }
+
+    /**
+     * Set the amount of unflushed changes that trigger a flush before the delay has passed
+     *
+     * @param maxOperations The new maximum amount of operations
+     */
+    public void setMaxOperations(int maxOperations) {
+        Validate.isTrue(maxOperations > 0, "Max operations must be positive");
+        this.maxOperations = maxOperations;
+    }
+
+    /**
+     * Get whether the file system has changes that haven't been written to disk yet
+     *
+     * @return Whether there are unwritten changes
+     */
+    public boolean isDirty() {
+        return operations > 0 || !pendingWrites.isEmpty() || writing.get();
+    }
+}
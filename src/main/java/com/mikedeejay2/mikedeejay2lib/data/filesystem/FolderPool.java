@@ -4,6 +4,7 @@ import org.apache.commons.lang3.Validate;
 import org.bukkit.configuration.serialization.ConfigurationSerializable;
 
 import java.util.*;
+import java.util.function.ToIntFunction;
 
 /**
  * A pool of folder information for dynamically storing {@link SerializableFolderFS} objects and related information in
@@ -11,7 +12,13 @@ import java.util.*;
  * and manage the maximum amount of loaded folders in memory.
  * <p>
  * The maximum amount of folders that are stored in memory by default is 10. That means, no more than 10 folders can be
- * loaded in memory at once. To change this amount, use the {@link FolderPool#setMaxSize(int)} method.
+ * loaded in memory at once. To change this amount, use the {@link FolderPool#setMaxSize(int)} method. Optionally, the
+ * pool can also be limited by the total weight of its folders using {@link FolderPool#setMaxWeight(long)}, by default
+ * the weight of a folder is the amount of objects loaded in it.
+ * <p>
+ * The pool is an access ordered LRU, so lookups, insertions and evictions don't depend on the size of the pool.
+ * Accessing a folder also accesses its parent folders, so folders are always evicted before their parents. The root
+ * folder is never evicted. All methods of the pool are thread safe.
  *
  * @see SerializableFolderFS
  * @see FolderInfo
@@ -21,20 +28,55 @@ import java.util.*;
  */
 public final class FolderPool<T extends ConfigurationSerializable> {
     /**
-     * The map of paths to {@link FolderInfo}
+     * The access ordered map of paths to pooled {@link FolderInfo}, the eldest entry is the least recently used
+     */
+    private final LinkedHashMap<String, PoolEntry<T>> folderPool;
+
+    /**
+     * The map of paths to pooled {@link FolderInfo} used for lookups that should not count as an access
+     */
+    private final Map<String, PoolEntry<T>> entries;
+
+    /**
+     * The {@link FolderInfo} of the root folder, never evicted
      */
-    private final Map<String, FolderInfo<T>> folderPool;
+    private FolderInfo<T> rootInfo;
 
     /**
-     * A queue of the last retrieved folders (used during trimming operations)
+     * The function that calculates the weight of a folder
      */
-    private final Queue<String> lastRetrieved;
+    private ToIntFunction<FolderInfo<T>> weigher;
 
     /**
      * The maximum size of the folder pool. If above this size, the pool will be trimmed, and data will be unloaded.
      */
     private int maxSize;
 
+    /**
+     * The maximum total weight of the folder pool, 0 if the weight is not limited
+     */
+    private long maxWeight;
+
+    /**
+     * The current total weight of the folder pool
+     */
+    private long weight;
+
+    /**
+     * The amount of lookups that found a folder
+     */
+    private long hits;
+
+    /**
+     * The amount of lookups that didn't find a folder
+     */
+    private long misses;
+
+    /**
+     * The amount of folders that have been trimmed from the pool
+     */
+    private long evictions;
+
     /**
      * Construct a new <code>FolderPool</code>
      *
@@ -42,9 +84,13 @@ public final class FolderPool<T extends ConfigurationSerializable> {
      *                be unloaded.
      */
     public FolderPool(int maxSize) {
-        this.folderPool = new HashMap<>();
-        this.lastRetrieved = new LinkedList<>();
+        this.folderPool = new LinkedHashMap<>(16, 0.75f, true);
+        this.entries = new HashMap<>();
+        this.rootInfo = null;
+        this.weigher = FolderPool::getObjectCount;
         this.maxSize = maxSize;
+        this.maxWeight = 0;
+        this.weight = 0;
     }
 
     /**
@@ -53,11 +99,22 @@ public final class FolderPool<T extends ConfigurationSerializable> {
      * @param path The path to retrieve
      * @return The retrieved {@link FolderInfo}, null if not found
      */
-    public FolderInfo<T> get(String path) {
+    public synchronized FolderInfo<T> get(String path) {
         path = path == null ? null : path.toLowerCase();
-        if(!folderPool.containsKey(path)) return null;
+        if(path == null) {
+            if(rootInfo == null) ++misses;
+            else ++hits;
+            return rootInfo;
+        }
+        PoolEntry<T> entry = folderPool.get(path);
+        if(entry == null) {
+            ++misses;
+            return null;
+        }
+        ++hits;
+        updateWeight(entry);
         access(path);
-        return folderPool.get(path);
+        return entry.info;
     }
 
     /**
@@ -67,12 +124,18 @@ public final class FolderPool<T extends ConfigurationSerializable> {
      * @param info The folder info
      * @throws IllegalArgumentException If the folder pool already has information for that path
      */
-    public void put(String path, FolderInfo<T> info) {
+    public synchronized void put(String path, FolderInfo<T> info) {
         path = path == null ? null : path.toLowerCase();
-        Validate.isTrue(get(path) == null,
-                        "A folder with the path \"%s\" already exists", path);
+        Validate.isTrue(!contains(path), "A folder with the path \"%s\" already exists", path);
+        if(path == null) {
+            rootInfo = info;
+            return;
+        }
+        PoolEntry<T> entry = new PoolEntry<>(info);
+        folderPool.put(path, entry);
+        entries.put(path, entry);
+        updateWeight(entry);
         access(path);
-        folderPool.put(path, info);
     }
 
     /**
@@ -80,14 +143,16 @@ public final class FolderPool<T extends ConfigurationSerializable> {
      *
      * @param path The path to remove
      */
-    public void remove(String path) {
+    public synchronized void remove(String path) {
         path = path == null ? null : path.toLowerCase();
-        lastRetrieved.remove(path);
-        folderPool.remove(path);
-        String parentPath = SerializableFileSystem.getParentPath(path);
-        if(folderPool.containsKey(parentPath)) {
-            folderPool.get(parentPath).setFolders(null); // Invalidate parent folder
+        if(path == null) {
+            rootInfo = null;
+            return;
         }
+        PoolEntry<T> entry = folderPool.remove(path);
+        entries.remove(path);
+        if(entry != null) weight -= entry.weight;
+        invalidateParent(path);
     }
 
     /**
@@ -96,44 +161,86 @@ public final class FolderPool<T extends ConfigurationSerializable> {
      * @param path The path to find
      * @return Whether information about the path exists
      */
-    public boolean contains(String path) {
+    public synchronized boolean contains(String path) {
         path = path == null ? null : path.toLowerCase();
-        return folderPool.containsKey(path);
+        return path == null ? rootInfo != null : folderPool.containsKey(path);
     }
 
     /**
-     * Trim the oldest information from the folder pool
+     * Invalidate the loaded folders of the parent of a path, without accessing the parent
+     *
+     * @param path The path whose parent should be invalidated
+     */
+    private void invalidateParent(String path) {
+        String parentPath = SerializableFileSystem.getParentPath(path);
+        if(parentPath == null) {
+            if(rootInfo != null) rootInfo.setFolders(null);
+            return;
+        }
+        PoolEntry<T> parent = entries.get(parentPath);
+        if(parent != null) parent.info.setFolders(null); // Invalidate parent folder
+    }
+
+    /**
+     * Trim the least recently used information from the folder pool until it fits in its maximum size and weight
      */
     private void checkAndTrim() {
-        if(folderPool.size() <= maxSize) return;
-        while(folderPool.size() - maxSize > 0) {
-            remove(lastRetrieved.peek());
+        while(folderPool.size() > 1 &&
+            (folderPool.size() > maxSize || (maxWeight > 0 && weight > maxWeight))) {
+            String eldest = folderPool.keySet().iterator().next();
+            PoolEntry<T> entry = folderPool.remove(eldest);
+            entries.remove(eldest);
+            weight -= entry.weight;
+            ++evictions;
+            invalidateParent(eldest);
         }
     }
 
     /**
-     * Called upon access to the folder pool. Updates {@link FolderPool#lastRetrieved} and trims if necessary.
+     * Called upon access to the folder pool. Accesses the parent folders of the path so that they stay more recently
+     * used than the path, then trims if necessary.
      *
      * @param path The path being accessed
      */
     private void access(String path) {
-        if(path == null) return;
-        while(path.contains("/")) {
-            lastRetrieved.remove(path);
-            lastRetrieved.offer(path);
-            path = path.substring(0, path.lastIndexOf('/'));
+        int index = path.lastIndexOf('/');
+        while(index != -1) {
+            path = path.substring(0, index);
+            folderPool.get(path); // Moves the parent to the most recently used end of the pool
+            index = path.lastIndexOf('/');
         }
-        lastRetrieved.remove(path);
-        lastRetrieved.offer(path);
         checkAndTrim();
     }
 
+    /**
+     * Recalculate the weight of an entry and update the total weight of the pool
+     *
+     * @param entry The entry to update
+     */
+    private void updateWeight(PoolEntry<T> entry) {
+        int newWeight = weigher.applyAsInt(entry.info);
+        weight += newWeight - entry.weight;
+        entry.weight = newWeight;
+    }
+
+    /**
+     * The default weigher of a folder, the amount of objects loaded in the folder
+     *
+     * @param info The folder info
+     * @param <T>  The type of {@link ConfigurationSerializable} being stored
+     * @return The weight of the folder
+     */
+    private static <T extends ConfigurationSerializable> int getObjectCount(FolderInfo<T> info) {
+        SerializableFolderFS<T> owner = info.getOwner();
+        return owner.isObjectsLoaded() ? owner.getObjectsRaw().size() : 0;
+    }
+
     /**
      * Get the maximum size of the folder pool. If above this size, the pool will be trimmed, and data will be unloaded.
      *
      * @return The maximum size of the folder pool
      */
-    public int getMaxSize() {
+    public synchronized int getMaxSize() {
         return maxSize;
     }
 
@@ -142,7 +249,136 @@ public final class FolderPool<T extends ConfigurationSerializable> {
      *
      * @param maxSize The new maximum pool size
      */
-    public void setMaxSize(int maxSize) {
+    public synchronized void setMaxSize(int maxSize) {
         this.maxSize = maxSize;
+        checkAndTrim();
+    }
+
+    /**
+     * Get the maximum total weight of the folder pool. If above this weight, the pool will be trimmed.
+     *
+     * @return The maximum weight of the folder pool, 0 if the weight is not limited
+     */
+    public synchronized long getMaxWeight() {
+        return maxWeight;
+    }
+
+    /**
+     * Set the maximum total weight of the folder pool. If above this weight, the pool will be trimmed. The weight of a
+     * folder is updated whenever the folder is retrieved from the pool.
+     *
+     * @param maxWeight The new maximum weight of the folder pool, 0 to not limit the weight
+     */
+    public synchronized void setMaxWeight(long maxWeight) {
+        Validate.isTrue(maxWeight >= 0, "Max weight cannot be negative");
+        this.maxWeight = maxWeight;
+        checkAndTrim();
+    }
+
+    /**
+     * Set the function that calculates the weight of a folder. By default, the weight of a folder is the amount of
+     * objects loaded in the folder.
+     *
+     * @param weigher The new weigher
+     */
+    public synchronized void setWeigher(ToIntFunction<FolderInfo<T>> weigher) {
+        Validate.notNull(weigher, "Weigher cannot be null");
+        this.weigher = weigher;
+        for(PoolEntry<T> entry : folderPool.values()) {
+            updateWeight(entry);
+        }
+        checkAndTrim();
+    }
+
+    /**
+     * Get the current total weight of the folder pool
+     *
+     * @return The total weight
+     */
+    public synchronized long getWeight() {
+        return weight;
+    }
+
+    /**
+     * Get the amount of folders in the pool, not including the root folder
+     *
+     * @return The size of the pool
+     */
+    public synchronized int getSize() {
+        return folderPool.size();
+    }
+
+    /**
+     * Get the amount of lookups that found a folder
+     *
+     * @return The amount of hits
+     */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * Get the amount of lookups that didn't find a folder
+     *
+     * @return The amount of misses
+     */
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Get the amount of folders that have been trimmed from the pool
+     *
+     * @return The amount of evictions
+     */
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * Get the ratio of lookups that found a folder
+     *
+     * @return The hit rate between 0 and 1, 1 if there have been no lookups
+     */
+    public synchronized double getHitRate() {
+        long total = hits + misses;
+        return total == 0 ? 1.0 : (double) hits / total;
+    }
+
+    /**
+     * Reset the hit, miss and eviction statistics of the pool
+     */
+    public synchronized void resetStatistics() {
+        this.hits = 0;
+        this.misses = 0;
+        this.evictions = 0;
+    }
+
+    /**
+     * An entry of the pool, a {@link FolderInfo} and its last calculated weight
+     *
+     * @param <T> The type of {@link ConfigurationSerializable} being stored
+     * @author Mikedeejay2
+     */
+    private static final class PoolEntry<T extends ConfigurationSerializable> {
+        /**
+         * The folder info
+         */
+        private final FolderInfo<T> info;
+
+        /**
+         * The last calculated weight of the folder
+         */
+        private int weight;
+
+        /**
+         * Construct a new <code>PoolEntry</code>
+         *
+         * @param info The folder info
+         */
+        private PoolEntry(FolderInfo<T> info) {
+            this.info = info;
+            this.weight = 0;
+        }
     }
 }
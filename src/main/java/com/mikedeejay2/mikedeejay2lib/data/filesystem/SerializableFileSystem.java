@@ -6,6 +6,7 @@ import com.mikedeejay2.mikedeejay2lib.data.filesystem.modifier.FileSystemModifie
 import com.mikedeejay2.mikedeejay2lib.data.filesystem.modifier.ManualFileSystemModifier;
 import com.mikedeejay2.mikedeejay2lib.data.filesystem.modifier.BaseSystemModifier;
 import com.mikedeejay2.mikedeejay2lib.data.filesystem.saveload.FileSystemSaveLoad;
+import com.mikedeejay2.mikedeejay2lib.data.filesystem.saveload.JournalSaveLoad;
 import com.mikedeejay2.mikedeejay2lib.data.filesystem.saveload.MultiFileSaveLoad;
 import com.mikedeejay2.mikedeejay2lib.data.filesystem.saveload.NoOpSaveLoad;
 import com.mikedeejay2.mikedeejay2lib.data.filesystem.saveload.SingleFileSaveLoad;
@@ -35,6 +36,10 @@ import java.util.*;
  * </ul>
  * The save mode is set by the <code>autoWrite</code> parameter in the constructor.
  * <p>
+ * Changes are not written to disk one by one. The {@link FileSystemFlusher} of the file system coalesces changes over
+ * a short window and writes them asynchronously, one write at a time. Use {@link SerializableFileSystem#flush()} to
+ * write all changes right away, for example when the plugin is disabled.
+ * <p>
  * The {@link FileMode} enum specifies how data is stored to disk:
  * <ul>
  *     <li>
@@ -75,6 +80,23 @@ import java.util.*;
  *             </li>
  *         </ul>
  *     </li>
+ *     <li>
+ *         <strong>{@link FileMode#BINARY_FILE_SYSTEM}</strong> - The same as {@link FileMode#FILE_SYSTEM}, but objects
+ *         are saved to .bin files in a compact binary format. Several times smaller and faster to load than json for
+ *         item heavy file systems, but not human readable.
+ *     </li>
+ *     <li>
+ *         <strong>{@link FileMode#JOURNAL}</strong> - Append every change as a small record to a journal file, which is
+ *         periodically compacted into a single .json snapshot. Small changes only write the change itself instead of
+ *         the entire file system, and the journal is replayed in order on load. Good for large file systems that change
+ *         often.
+ *         <p>
+ *         Storage format:
+ *         <ul>
+ *             <li><code>objects.json</code></li>
+ *             <li><code>objects.journal</code></li>
+ *         </ul>
+ *     </li>
  * </ul>
  * Additionally, {@link FileMode#NO_OP} allows small file systems to be created and exist only in memory. To avoid
  * potential in-memory data loss on no-op mode, the maximum folder pool size should be set to something large enough to
@@ -134,6 +156,11 @@ public class SerializableFileSystem<T extends ConfigurationSerializable> {
      */
     protected FileSystemSaveLoad<T> saveLoad;
 
+    /**
+     * The {@link FileSystemFlusher} of this file system. Coalesces changes into as few disk writes as possible.
+     */
+    protected final FileSystemFlusher flusher;
+
     /**
      * Construct a new <code>SerializableFileSystem</code>
      *
@@ -154,6 +181,7 @@ public class SerializableFileSystem<T extends ConfigurationSerializable> {
         this.fileMode = fileMode;
         this.savePath = savePath.replace('\\', '/');
 
+        this.flusher = new FileSystemFlusher(plugin, () -> saveLoad.snapshot());
         this.modifier = SaveMode.of(fileMode, autoWrite).getSystemModifier(this);
         this.saveLoad = fileMode.getSaveLoad(this);
     }
@@ -361,6 +389,24 @@ public class SerializableFileSystem<T extends ConfigurationSerializable> {
         modifier.saveAll();
     }
 
+    /**
+     * Write all changes that are waiting to be flushed to disk on the current thread, waiting for any write that is
+     * already in progress. Must be called on the main thread.
+     */
+    public void flush() {
+        flusher.flushNow();
+    }
+
+    /**
+     * Write all changes that are waiting to be flushed to disk and release the resources of this file system, such as
+     * the threads used for loading in parallel. Should be called when the plugin is disabled or the file system is no
+     * longer used. Must be called on the main thread.
+     */
+    public void close() {
+        flusher.flushNow();
+        saveLoad.close();
+    }
+
     /**
      * Get an object from the file system
      *
@@ -505,6 +551,16 @@ public class SerializableFileSystem<T extends ConfigurationSerializable> {
         return saveLoad;
     }
 
+    /**
+     * Get the {@link FileSystemFlusher} of this file system. The flush delay and maximum amount of operations can be
+     * configured through the flusher.
+     *
+     * @return The {@link FileSystemFlusher}
+     */
+    public FileSystemFlusher getFlusher() {
+        return flusher;
+    }
+
     /**
      * Get the class type of the {@link ConfigurationSerializable} being handled
      *
@@ -779,6 +835,41 @@ public class SerializableFileSystem<T extends ConfigurationSerializable> {
          */
         FILE_SYSTEM(MultiFileSaveLoad::new),
 
+        /**
+         * Save objects to their own .bin file in a real file system on the server machine, the same way as
+         * {@link FileMode#FILE_SYSTEM}. Objects are stored in the compact binary format of
+         * {@link com.mikedeejay2.mikedeejay2lib.data.binary.BinaryCodec BinaryCodec}, which is several times smaller
+         * and faster to load than json for item heavy file systems, but is not human readable.
+         * <p>
+         * Storage format:
+         * <ul>
+         *     <li><code>objects</code>
+         *     <ul>
+         *         <li><code>folder1</code>
+         *         <ul>
+         *             <li><code>sub_object1.bin</code></li>
+         *         </ul>
+         *         </li>
+         *         <li><code>object1.bin</code></li>
+         *     </ul>
+         *     </li>
+         * </ul>
+         */
+        BINARY_FILE_SYSTEM(MultiFileSaveLoad::binary),
+
+        /**
+         * Append every change as a small record to a journal file, which is periodically compacted into a single .json
+         * snapshot. Small changes only write the change itself instead of the entire file system, and the journal is
+         * replayed in order on load. Good for large file systems that change often.
+         * <p>
+         * Storage format:
+         * <ul>
+         *     <li><code>objects.json</code></li>
+         *     <li><code>objects.journal</code></li>
+         * </ul>
+         */
+        JOURNAL(JournalSaveLoad::new),
+
         /**
          * No operation. Items are only stored in memory.
          */
@@ -10,6 +10,7 @@ import org.jetbrains.annotations.Nullable;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import static com.mikedeejay2.mikedeejay2lib.data.filesystem.SerializableFileSystem.getSafeName;
 
@@ -45,6 +46,16 @@ public class SerializableFolderFS<T extends ConfigurationSerializable> implement
      */
     protected boolean saved;
 
+    /**
+     * The asynchronous load of the child folders of this folder that is in progress, null if none
+     */
+    protected @Nullable CompletableFuture<Map<String, SerializableFolderFS<T>>> foldersFuture;
+
+    /**
+     * The asynchronous load of the objects of this folder that is in progress, null if none
+     */
+    protected @Nullable CompletableFuture<Map<String, T>> objectsFuture;
+
     /**
      * Construct a new {@link SerializableFolderFS}
      *
@@ -61,6 +72,8 @@ public class SerializableFolderFS<T extends ConfigurationSerializable> implement
         this.path = path == null ? name : path.replace('\\', '/') + "/" + name;
         if(root) this.path = null;
         this.saved = false;
+        this.foldersFuture = null;
+        this.objectsFuture = null;
         fileSystem.getFolderPool().put(this.getPath(), new FolderInfo<>(null, this));
     }
 
@@ -304,7 +317,16 @@ public class SerializableFolderFS<T extends ConfigurationSerializable> implement
      * @return The loaded map of folders
      */
     private Map<String, SerializableFolderFS<T>> loadFolders() {
-        Map<String, SerializableFolderFS<T>> folders = fileSystem.getSaveLoad().loadFolders(path);
+        return setLoadedFolders(fileSystem.getSaveLoad().loadFolders(path));
+    }
+
+    /**
+     * Set the loaded folders of this folder in the folder pool
+     *
+     * @param folders The loaded map of folders
+     * @return The loaded map of folders
+     */
+    private Map<String, SerializableFolderFS<T>> setLoadedFolders(Map<String, SerializableFolderFS<T>> folders) {
         if(!fileSystem.getFolderPool().contains(path)) {
             fileSystem.getFolderPool().put(path, new FolderInfo<>(folders, this));
             return folders;
@@ -344,6 +366,74 @@ public class SerializableFolderFS<T extends ConfigurationSerializable> implement
         return objects;
     }
 
+    /**
+     * Get the list of folders contained in this folder without blocking the main thread. If the folders haven't been
+     * loaded yet, they are read from disk asynchronously. The returned future is completed on the main thread.
+     *
+     * @return A future that completes with the list of folders
+     */
+    public CompletableFuture<List<SerializableFolderFS<T>>> getFoldersAsync() {
+        return loadFoldersAsync().thenApply(folders -> ImmutableList.copyOf(folders.values()));
+    }
+
+    /**
+     * Get the list of objects contained in this folder without blocking the main thread. If the objects haven't been
+     * loaded yet, they are read from disk asynchronously. The returned future is completed on the main thread.
+     *
+     * @return A future that completes with the list of objects
+     */
+    public CompletableFuture<List<T>> getObjectsAsync() {
+        return loadObjectsAsync().thenApply(objects -> ImmutableList.copyOf(objects.values()));
+    }
+
+    /**
+     * Load the child folders and the objects of this folder asynchronously if they haven't been loaded yet, so that
+     * they don't have to be read from disk once they're accessed.
+     *
+     * @return A future that completes on the main thread once both have been loaded
+     */
+    public CompletableFuture<Void> prefetch() {
+        return CompletableFuture.allOf(loadFoldersAsync(), loadObjectsAsync());
+    }
+
+    /**
+     * Load the child folders of this folder asynchronously. Returns the in progress load if there is one.
+     *
+     * @return A future that completes with the raw map of folders on the main thread
+     */
+    protected CompletableFuture<Map<String, SerializableFolderFS<T>>> loadFoldersAsync() {
+        FolderInfo<T> info = fileSystem.getFolderPool().get(this.getPath());
+        if(info != null && info.getFolders() != null) return CompletableFuture.completedFuture(info.getFolders());
+        if(foldersFuture != null) return foldersFuture;
+        CompletableFuture<Map<String, SerializableFolderFS<T>>> future =
+            fileSystem.getSaveLoad().loadFoldersAsync(path)
+                // The folders could have been loaded synchronously in the meantime, those take priority
+                .thenApply(folders -> isFoldersLoaded() ? getFoldersRaw() : setLoadedFolders(folders))
+                .whenComplete((folders, throwable) -> foldersFuture = null);
+        if(!future.isDone()) foldersFuture = future;
+        return future;
+    }
+
+    /**
+     * Load the objects of this folder asynchronously. Returns the in progress load if there is one.
+     *
+     * @return A future that completes with the raw map of objects on the main thread
+     */
+    protected CompletableFuture<Map<String, T>> loadObjectsAsync() {
+        if(isObjectsLoaded()) return CompletableFuture.completedFuture(objects);
+        if(objectsFuture != null) return objectsFuture;
+        CompletableFuture<Map<String, T>> future =
+            fileSystem.getSaveLoad().loadObjectsAsync(path)
+                .thenApply(loaded -> {
+                    // The objects could have been loaded and modified synchronously in the meantime, those take priority
+                    if(!isObjectsLoaded()) objects = loaded;
+                    return objects;
+                })
+                .whenComplete((loaded, throwable) -> objectsFuture = null);
+        if(!future.isDone()) objectsFuture = future;
+        return future;
+    }
+
     /**
      * Get whether this folder has been saved to disk
      *
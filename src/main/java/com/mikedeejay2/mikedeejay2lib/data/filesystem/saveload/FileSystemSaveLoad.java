@@ -5,6 +5,7 @@ import com.mikedeejay2.mikedeejay2lib.util.structure.tuple.Pair;
 import org.bukkit.configuration.serialization.ConfigurationSerializable;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 public interface FileSystemSaveLoad<T extends ConfigurationSerializable> {
     void saveFolder(String path);
@@ -13,9 +14,20 @@ public interface FileSystemSaveLoad<T extends ConfigurationSerializable> {
     void deleteObject(String path, String name);
     void startCommit();
     void commit();
+    Runnable snapshot();
 
     Map<String, SerializableFolderFS<T>> loadFolders(String path);
     SerializableFolderFS<T> loadFolder(String path);
     Map<String, T> loadObjects(String path);
     T loadObject(String path, String name);
+
+    default CompletableFuture<Map<String, SerializableFolderFS<T>>> loadFoldersAsync(String path) {
+        return CompletableFuture.completedFuture(loadFolders(path));
+    }
+
+    default CompletableFuture<Map<String, T>> loadObjectsAsync(String path) {
+        return CompletableFuture.completedFuture(loadObjects(path));
+    }
+
+    default void close() {}
 }
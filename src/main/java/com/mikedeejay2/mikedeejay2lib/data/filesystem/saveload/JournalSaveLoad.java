@@ -0,0 +1,220 @@
+package com.mikedeejay2.mikedeejay2lib.data.filesystem.saveload;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.mikedeejay2.mikedeejay2lib.BukkitPlugin;
+import com.mikedeejay2.mikedeejay2lib.data.filesystem.SerializableFileSystem;
+import com.mikedeejay2.mikedeejay2lib.util.file.FileIO;
+import com.mikedeejay2.mikedeejay2lib.util.file.JsonFileIO;
+import org.apache.commons.lang3.Validate;
+import org.bukkit.configuration.serialization.ConfigurationSerializable;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+public class JournalSaveLoad<T extends ConfigurationSerializable> extends SingleFileSaveLoad<T> {
+    public static final String KEY_OP = "op";
+    public static final String KEY_PATH = "path";
+    public static final String KEY_NAME = "name";
+    public static final String KEY_ITEM = "item";
+    public static final String OP_SAVE_FOLDER = "save_folder";
+    public static final String OP_SAVE_OBJECT = "save_object";
+    public static final String OP_DELETE_FOLDER = "delete_folder";
+    public static final String OP_DELETE_OBJECT = "delete_object";
+    public static final int DEFAULT_COMPACT_THRESHOLD = 10000;
+
+    protected final File journalFile;
+    protected List<JsonObject> pendingRecords;
+    protected int journalSize;
+    protected int compactThreshold;
+
+    public JournalSaveLoad(BukkitPlugin plugin, SerializableFileSystem<T> system) {
+        super(plugin, system);
+        this.journalFile = new File(plugin.getDataFolder(), system.getSavePath() + ".journal");
+        this.pendingRecords = new ArrayList<>();
+        this.journalSize = 0;
+        this.compactThreshold = DEFAULT_COMPACT_THRESHOLD;
+        replay();
+    }
+
+    protected void replay() {
+        if(!journalFile.exists()) return;
+        boolean incomplete = false;
+        try(BufferedReader reader = Files.newBufferedReader(journalFile.toPath(), StandardCharsets.UTF_8)) {
+            String line;
+            while((line = reader.readLine()) != null) {
+                if(line.isEmpty()) continue;
+                boolean valid;
+                try {
+                    JsonObject record = JsonParser.parseString(line).getAsJsonObject();
+                    valid = isValidRecord(record);
+                    if(valid) apply(record);
+                } catch(RuntimeException e) {
+                    valid = false;
+                }
+                if(!valid) {
+                    plugin.sendWarning(String.format(
+                        "Journal \"%s\" has an incomplete or invalid record after %d records, ignoring the rest of the journal",
+                        journalFile.getPath(), journalSize));
+                    incomplete = true;
+                    break;
+                }
+                ++journalSize;
+            }
+        } catch(IOException e) {
+            FileIO.logFileCouldNotBeLoaded(journalFile.getPath(), e);
+        }
+        // Only the last record can be incomplete if a write was interrupted. Compact right away so that new records
+        // aren't appended after it.
+        if(incomplete) {
+            compact(file.getJsonObject());
+            journalSize = 0;
+        }
+    }
+
+    protected boolean isValidRecord(JsonObject record) {
+        if(!isStringOrNull(record.get(KEY_PATH)) || !isStringOrNull(record.get(KEY_NAME))) return false;
+        JsonElement op = record.get(KEY_OP);
+        if(op == null || !op.isJsonPrimitive() || !op.getAsJsonPrimitive().isString()) return false;
+        switch(op.getAsString()) {
+            case OP_SAVE_FOLDER:
+            case OP_DELETE_FOLDER:
+                return true;
+            case OP_SAVE_OBJECT:
+                return record.has(KEY_NAME) && record.has(KEY_ITEM);
+            case OP_DELETE_OBJECT:
+                return record.has(KEY_NAME);
+            default:
+                return false;
+        }
+    }
+
+    private static boolean isStringOrNull(JsonElement element) {
+        return element == null || element.isJsonNull() ||
+            (element.isJsonPrimitive() && element.getAsJsonPrimitive().isString());
+    }
+
+    protected void apply(JsonObject record) {
+        String path = getRecordString(record, KEY_PATH);
+        switch(record.get(KEY_OP).getAsString()) {
+            case OP_SAVE_FOLDER:
+                applySaveFolder(path);
+                break;
+            case OP_SAVE_OBJECT:
+                getFolderSection(path, KEY_ITEMS).set(getRecordString(record, KEY_NAME), record.get(KEY_ITEM));
+                break;
+            case OP_DELETE_FOLDER:
+                applyDeleteFolder(path);
+                break;
+            case OP_DELETE_OBJECT:
+                applyDeleteObject(path, getRecordString(record, KEY_NAME));
+                break;
+        }
+    }
+
+    @Override
+    public void saveFolder(String path) {
+        applySaveFolder(path);
+        record(OP_SAVE_FOLDER, path, null, null);
+        save();
+    }
+
+    @Override
+    public void saveObject(String path, String name, T item) {
+        getFolderSection(path, KEY_ITEMS).setSerialized(name, item);
+        JsonElement element = getFolderSection(path, KEY_ITEMS).get(name);
+        record(OP_SAVE_OBJECT, path, name, element.deepCopy());
+        save();
+    }
+
+    @Override
+    public void deleteFolder(String path) {
+        applyDeleteFolder(path);
+        record(OP_DELETE_FOLDER, path, null, null);
+        save();
+    }
+
+    @Override
+    public void deleteObject(String path, String name) {
+        applyDeleteObject(path, name);
+        record(OP_DELETE_OBJECT, path, name, null);
+        save();
+    }
+
+    protected void record(String op, String path, String name, JsonElement item) {
+        JsonObject record = new JsonObject();
+        record.addProperty(KEY_OP, op);
+        record.addProperty(KEY_PATH, path);
+        if(name != null) record.addProperty(KEY_NAME, name);
+        if(item != null) record.add(KEY_ITEM, item);
+        pendingRecords.add(record);
+    }
+
+    @Override
+    public Runnable snapshot() {
+        if(pendingRecords.isEmpty()) return null;
+        final List<JsonObject> records = pendingRecords;
+        pendingRecords = new ArrayList<>();
+        journalSize += records.size();
+        if(journalSize < compactThreshold) {
+            return () -> appendRecords(records);
+        }
+
+        // The journal has grown too large, replace the snapshot file with the entire file system and empty the journal.
+        // The records are still appended first so that the journal always holds every change of the new snapshot.
+        journalSize = 0;
+        final JsonObject snapshot = file.getJsonObject().deepCopy();
+        return () -> {
+            appendRecords(records);
+            compact(snapshot);
+        };
+    }
+
+    protected void compact(JsonObject snapshot) {
+        // The journal is only removed once the new snapshot is in place. If the server stops in between, replaying the
+        // whole journal on top of the new snapshot results in the same state, as the last record of each entry wins.
+        if(!JsonFileIO.saveJsonFile(file.getFile(), snapshot, file.isCompact(), true)) return;
+        if(journalFile.exists() && !journalFile.delete()) {
+            plugin.sendSevere(String.format("Unable to delete compacted journal \"%s\"", journalFile.getPath()));
+        }
+    }
+
+    protected void appendRecords(List<JsonObject> records) {
+        journalFile.getAbsoluteFile().getParentFile().mkdirs();
+        try(OutputStream output = Files.newOutputStream(
+            journalFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.WRITE);
+            Writer writer = new OutputStreamWriter(output, StandardCharsets.UTF_8)) {
+            StringBuilder builder = new StringBuilder();
+            for(JsonObject record : records) {
+                builder.append('\n').append(record.toString()); // Separates this batch from an incomplete last line
+            }
+            writer.write(builder.toString());
+        } catch(IOException e) {
+            FileIO.logFileCouldNotBeSaved(journalFile.getPath(), e);
+        }
+    }
+
+    protected static String getRecordString(JsonObject record, String key) {
+        JsonElement element = record.get(key);
+        return element == null || element.isJsonNull() ? null : element.getAsString();
+    }
+
+    public int getCompactThreshold() {
+        return compactThreshold;
+    }
+
+    public void setCompactThreshold(int compactThreshold) {
+        Validate.isTrue(compactThreshold > 0, "Compact threshold must be positive");
+        this.compactThreshold = compactThreshold;
+    }
+}
@@ -1,62 +1,129 @@
 package com.mikedeejay2.mikedeejay2lib.data.filesystem.saveload;
 
 import com.mikedeejay2.mikedeejay2lib.BukkitPlugin;
+import com.mikedeejay2.mikedeejay2lib.data.DataFile;
+import com.mikedeejay2.mikedeejay2lib.data.FileType;
+import com.mikedeejay2.mikedeejay2lib.data.binary.BinaryFile;
 import com.mikedeejay2.mikedeejay2lib.data.filesystem.FolderInfo;
 import com.mikedeejay2.mikedeejay2lib.data.filesystem.SerializableFolderFS;
 import com.mikedeejay2.mikedeejay2lib.data.filesystem.SerializableFileSystem;
-import com.mikedeejay2.mikedeejay2lib.data.json.JsonAccessor;
-import com.mikedeejay2.mikedeejay2lib.data.json.JsonFile;
+import com.mikedeejay2.mikedeejay2lib.data.section.SectionAccessor;
+import com.mikedeejay2.mikedeejay2lib.data.section.SectionInstancer;
 import org.apache.commons.io.FileUtils;
-import org.apache.commons.lang3.Validate;
 import org.bukkit.Bukkit;
+import org.apache.commons.lang3.Validate;
 import org.bukkit.configuration.serialization.ConfigurationSerializable;
+import org.jetbrains.annotations.Nullable;
 
 import java.io.File;
 import java.io.IOException;
-import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
 
 public class MultiFileSaveLoad<T extends ConfigurationSerializable> implements FileSystemSaveLoad<T> {
     public static final String KEY_ITEM = "item";
+    public static final int PARALLEL_THRESHOLD = 64;
+    public static final int DEFAULT_PARALLELISM = Math.min(4, Runtime.getRuntime().availableProcessors());
+    private static final int TASKS_PER_THREAD = 4;
 
     protected final BukkitPlugin plugin;
     protected final SerializableFileSystem<T> system;
+    protected final FileType fileType;
+    protected final String extension;
     protected ChangedItems changedItems;
+    protected final Deque<ChangedItems> unwrittenChanges;
     protected boolean save;
+    protected long modifications;
+    protected int parallelism;
+    protected @Nullable ForkJoinPool loadPool;
 
-    public MultiFileSaveLoad(BukkitPlugin plugin, SerializableFileSystem<T> system) {
+    public MultiFileSaveLoad(BukkitPlugin plugin, SerializableFileSystem<T> system, FileType fileType) {
         this.plugin = plugin;
         this.system = system;
+        this.fileType = fileType;
+        this.extension = "." + fileType.getExtensions()[0];
         this.save = true;
         this.changedItems = new ChangedItems();
+        this.unwrittenChanges = new ConcurrentLinkedDeque<>();
+        this.modifications = 0;
+        this.parallelism = DEFAULT_PARALLELISM;
+        this.loadPool = null;
+    }
+
+    public MultiFileSaveLoad(BukkitPlugin plugin, SerializableFileSystem<T> system) {
+        this(plugin, system, FileType.JSON);
+    }
+
+    public static <T extends ConfigurationSerializable> MultiFileSaveLoad<T> binary(BukkitPlugin plugin, SerializableFileSystem<T> system) {
+        return new MultiFileSaveLoad<>(plugin, system, FileType.BINARY);
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public synchronized void setParallelism(int parallelism) {
+        Validate.isTrue(parallelism >= 1, "Parallelism must be at least 1, got %d", parallelism);
+        if(this.parallelism == parallelism) return;
+        this.parallelism = parallelism;
+        close();
+    }
+
+    // The pool is created again by the next parallel load, so closing only releases its threads
+    @Override
+    public synchronized void close() {
+        if(loadPool != null) loadPool.shutdown();
+        this.loadPool = null;
     }
 
     @Override
     public void saveFolder(String path) {
+        ++modifications;
         changedItems.addedFolders.add(system.getFullPath(path));
         save();
     }
 
     @Override
     public void saveObject(String path, String name, T item) {
-        JsonFile file = getItemFile(path, name);
-        file.getAccessor().setSerialized(KEY_ITEM, item);
-        changedItems.addedItems.add(file);
+        ++modifications;
+        DataFile file = getItemFile(path, name);
+        getAccessor(file).setSerialized(KEY_ITEM, item);
+        String fullPath = system.getFullPath(path, name);
+        changedItems.removedItems.remove(fullPath);
+        changedItems.addedItems.put(fullPath, file);
         save();
     }
 
     @Override
     public void deleteFolder(String path) {
-        changedItems.removedFolders.add(system.getFullPath(path));
+        ++modifications;
+        String fullPath = system.getFullPath(path);
+        String prefix = fullPath + "/";
+        changedItems.addedFolders.removeIf(cur -> cur.equals(fullPath) || cur.startsWith(prefix));
+        changedItems.addedItems.keySet().removeIf(cur -> cur.startsWith(prefix));
+        changedItems.removedItems.removeIf(cur -> cur.startsWith(prefix));
+        changedItems.removedFolders.add(fullPath);
         save();
     }
 
     @Override
     public void deleteObject(String path, String name) {
-        changedItems.removedItems.add(system.getFullPath(path, name));
+        ++modifications;
+        String fullPath = system.getFullPath(path, name);
+        changedItems.addedItems.remove(fullPath);
+        changedItems.removedItems.add(fullPath);
         save();
     }
 
@@ -74,85 +141,319 @@ public class MultiFileSaveLoad<T extends ConfigurationSerializable> implements F
 
     protected void save() {
         if(!this.save) return;
+        system.getFlusher().markDirty();
+    }
+
+    @Override
+    public Runnable snapshot() {
+        if(changedItems.isEmpty()) return null;
         final ChangedItems finalChanged = changedItems;
-        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
-            for(String path : finalChanged.addedFolders) {
-                File file = new File(plugin.getDataFolder(), path);
-                file.mkdirs();
+        changedItems = new ChangedItems();
+        // Kept until written so that synchronous loads can see the changes without waiting for the write
+        unwrittenChanges.add(finalChanged);
+        final List<Runnable> itemWrites = new ArrayList<>(finalChanged.addedItems.size());
+        for(DataFile file : finalChanged.addedItems.values()) {
+            itemWrites.add(prepareWrite(file));
+        }
+        return () -> {
+            try {
+                for(String path : finalChanged.removedFolders) {
+                    try {
+                        FileUtils.deleteDirectory(new File(plugin.getDataFolder(), path));
+                    } catch(IOException e) {
+                        throw new RuntimeException(e);
+                    }
+                }
+                for(String path : finalChanged.removedItems) {
+                    File file = new File(plugin.getDataFolder(), path + extension);
+                    file.delete();
+                }
+                for(String path : finalChanged.addedFolders) {
+                    File file = new File(plugin.getDataFolder(), path);
+                    file.mkdirs();
+                }
+                for(Runnable write : itemWrites) {
+                    write.run();
+                }
+            } finally {
+                unwrittenChanges.remove(finalChanged);
             }
-            for(JsonFile file : finalChanged.addedItems) {
-                file.saveToDisk(true);
+        };
+    }
+
+    private static Runnable prepareWrite(DataFile file) {
+        if(!(file instanceof BinaryFile)) return () -> file.saveToDisk(true);
+        // Binary files hold the live objects, so they are encoded here before the main thread can modify them
+        final BinaryFile binaryFile = (BinaryFile) file;
+        final byte[] data = binaryFile.encode(true);
+        return () -> {
+            if(data != null) binaryFile.saveToDisk(data, true);
+        };
+    }
+
+    @Override
+    public Map<String, SerializableFolderFS<T>> loadFolders(String path) {
+        List<ChangedItems> changes = getUnwrittenChanges();
+        return createFolders(mergeFolders(path, listFolders(path), changes));
+    }
+
+    @Override
+    public SerializableFolderFS<T> loadFolder(String path) {
+        FolderInfo<T> curFolderFromPool = system.getFolderPool().get(path);
+        if(curFolderFromPool != null) return curFolderFromPool.getOwner();
+        List<ChangedItems> changes = getUnwrittenChanges();
+        File folderFile = new File(plugin.getDataFolder(), system.getFullPath(path));
+        if(!folderExists(system.getFullPath(path), folderFile.exists(), changes)) return null;
+        return createFolder(path);
+    }
+
+    @Override
+    public Map<String, T> loadObjects(String path) {
+        List<ChangedItems> changes = getUnwrittenChanges();
+        return mergeObjects(path, readObjects(path), changes);
+    }
+
+    @Override
+    public CompletableFuture<Map<String, SerializableFolderFS<T>>> loadFoldersAsync(String path) {
+        // If something changed while listing, the listing could be outdated
+        return loadAsync(() -> listFolders(path), (paths, current) -> current ? createFolders(paths) : loadFolders(path));
+    }
+
+    @Override
+    public CompletableFuture<Map<String, T>> loadObjectsAsync(String path) {
+        return loadAsync(() -> readObjects(path), (items, current) -> current ? items : loadObjects(path));
+    }
+
+    protected <R, V> CompletableFuture<V> loadAsync(Supplier<R> reader, LoadCompleter<R, V> completer) {
+        // Queue the unflushed changes so that the read sees them once they have been written
+        system.getFlusher().flush();
+        final long startModifications = modifications;
+        final CompletableFuture<V> future = new CompletableFuture<>();
+        runAsync(() -> {
+            R result;
+            try {
+                system.getFlusher().awaitWrites();
+                result = reader.get();
+            } catch(Throwable throwable) {
+                runSync(() -> future.completeExceptionally(throwable));
+                return;
             }
-            for(String path : finalChanged.removedFolders) {
+            runSync(() -> {
                 try {
-                    FileUtils.deleteDirectory(new File(plugin.getDataFolder(), path));
-                } catch(IOException e) {
-                    throw new RuntimeException(e);
+                    future.complete(completer.complete(result, modifications == startModifications));
+                } catch(Throwable throwable) {
+                    future.completeExceptionally(throwable);
                 }
-            }
-            for(String path : finalChanged.removedItems) {
-                File file = new File(plugin.getDataFolder(), path + ".json");
-                file.delete();
-            }
+            });
         });
-        changedItems = new ChangedItems();
+        return future;
     }
 
-    @Override
-    public Map<String, SerializableFolderFS<T>> loadFolders(String path) {
-        Map<String, SerializableFolderFS<T>> folders = new LinkedHashMap<>();
+    protected void runAsync(Runnable runnable) {
+        if(!plugin.isEnabled()) {
+            runnable.run();
+            return;
+        }
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, runnable);
+    }
+
+    protected void runSync(Runnable runnable) {
+        if(!plugin.isEnabled()) {
+            runnable.run();
+            return;
+        }
+        Bukkit.getScheduler().runTask(plugin, runnable);
+    }
+
+    private List<String> listFolders(String path) {
+        List<String> paths = new ArrayList<>();
         File folderFile = new File(plugin.getDataFolder(), system.getFullPath(path));
-        if(!folderFile.exists()) return folders;
+        if(!folderFile.exists()) return paths;
         File[] directories = folderFile.listFiles(File::isDirectory);
-        if(directories == null) return folders;
+        if(directories == null) return paths;
         int savePathLen = plugin.getDataFolder().getPath().length() + system.getSavePath().length() + 2;
         for(File file : directories) {
-            String curPath = SerializableFileSystem.getSafePath(file.getPath().substring(savePathLen));
-            String name = file.getName();
-            folders.put(name, loadFolder(curPath));
+            paths.add(SerializableFileSystem.getSafePath(file.getPath().substring(savePathLen)));
+        }
+        return paths;
+    }
+
+    private Map<String, SerializableFolderFS<T>> createFolders(List<String> paths) {
+        Map<String, SerializableFolderFS<T>> folders = new LinkedHashMap<>();
+        for(String curPath : paths) {
+            SerializableFolderFS<T> folder = createFolder(curPath);
+            folders.put(folder.getName(), folder);
         }
         return folders;
     }
 
-    @Override
-    public SerializableFolderFS<T> loadFolder(String path) {
+    private SerializableFolderFS<T> createFolder(String path) {
         FolderInfo<T> curFolderFromPool = system.getFolderPool().get(path);
         if(curFolderFromPool != null) return curFolderFromPool.getOwner();
-        File folderFile = new File(plugin.getDataFolder(), system.getFullPath(path));
-        if(!folderFile.exists()) return null;
-        String name = folderFile.getName();
-        name = SerializableFileSystem.getSafeName(name);
-        path = SerializableFileSystem.getParentPath(path);
-        return new SerializableFolderFS<>(name, path, system);
+        String name = SerializableFileSystem.getSafeName(SerializableFileSystem.getNameFromPath(path));
+        return new SerializableFolderFS<>(name, SerializableFileSystem.getParentPath(path), system);
     }
 
-    @Override
-    public Map<String, T> loadObjects(String path) {
+    private Map<String, T> readObjects(String path) {
         Map<String, T> items = new LinkedHashMap<>();
         File folderFile = new File(plugin.getDataFolder(), system.getFullPath(path));
         if(!folderFile.exists()) return items;
-        File[] itemFiles = folderFile.listFiles((f) -> f.isFile() && f.getName().endsWith(".json"));
+        File[] itemFiles = folderFile.listFiles((f) -> f.isFile() && f.getName().endsWith(extension));
         if(itemFiles == null) return items;
-        for(File file : itemFiles) {
-            String name = file.getName();
-            name = name.substring(0, name.lastIndexOf('.'));
-            T item = loadSerialized(path, name);
-            items.put(name, item);
+        String[] names = new String[itemFiles.length];
+        for(int i = 0; i < itemFiles.length; ++i) {
+            String name = itemFiles[i].getName();
+            names[i] = name.substring(0, name.lastIndexOf('.'));
+        }
+        List<T> loaded = parallelism > 1 && names.length >= PARALLEL_THRESHOLD
+                         ? readSerializedParallel(path, names)
+                         : readSerialized(path, names, 0, names.length);
+        for(int i = 0; i < names.length; ++i) {
+            items.put(names[i], loaded.get(i));
         }
         return items;
     }
 
+    private List<T> readSerialized(String path, String[] names, int start, int end) {
+        List<T> loaded = new ArrayList<>(end - start);
+        for(int i = start; i < end; ++i) {
+            loaded.add(loadSerialized(path, names[i]));
+        }
+        return loaded;
+    }
+
+    private List<T> readSerializedParallel(String path, String[] names) {
+        int taskCount = Math.min(names.length, parallelism * TASKS_PER_THREAD);
+        List<Callable<List<T>>> tasks = new ArrayList<>(taskCount);
+        for(int i = 0; i < taskCount; ++i) {
+            final int start = (int) ((long) names.length * i / taskCount);
+            final int end = (int) ((long) names.length * (i + 1) / taskCount);
+            tasks.add(() -> readSerialized(path, names, start, end));
+        }
+        List<T> loaded = new ArrayList<>(names.length);
+        try {
+            for(Future<List<T>> future : getLoadPool().invokeAll(tasks)) {
+                loaded.addAll(future.get());
+            }
+        } catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while loading objects of \"" + path + "\"", e);
+        } catch(ExecutionException e) {
+            throw new IllegalStateException("Unable to load objects of \"" + path + "\"", e.getCause());
+        }
+        return loaded;
+    }
+
+    private synchronized ForkJoinPool getLoadPool() {
+        if(loadPool == null) loadPool = new ForkJoinPool(parallelism);
+        return loadPool;
+    }
+
     @Override
     public T loadObject(String path, String name) {
+        String fullPath = system.getFullPath(path, name);
+        List<ChangedItems> changes = getUnwrittenChanges();
+        for(int i = changes.size() - 1; i >= 0; --i) {
+            ChangedItems changed = changes.get(i);
+            DataFile file = changed.addedItems.get(fullPath);
+            if(file != null) return getAccessor(file).getSerialized(KEY_ITEM, system.getSerializableClass());
+            if(changed.removedItems.contains(fullPath)) return null;
+            for(String removed : changed.removedFolders) {
+                if(isWithin(fullPath, removed)) return null;
+            }
+        }
         return loadSerialized(path, name);
     }
 
+    private List<ChangedItems> getUnwrittenChanges() {
+        // Synchronous loads read the disk and then apply every change that hasn't been written yet, oldest first.
+        // The changes are collected before reading, so a write that completes during the read is still applied on
+        // top of it. Within a set of changes, removals are applied before additions, the order that they are written.
+        List<ChangedItems> changes = new ArrayList<>(unwrittenChanges);
+        if(!changedItems.isEmpty()) changes.add(changedItems);
+        return changes;
+    }
+
+    private List<String> mergeFolders(String path, List<String> paths, List<ChangedItems> changes) {
+        if(changes.isEmpty()) return paths;
+        String fullPath = system.getFullPath(path);
+        String prefix = fullPath + "/";
+        Set<String> folders = new LinkedHashSet<>();
+        for(String curPath : paths) {
+            folders.add(system.getFullPath(curPath));
+        }
+        for(ChangedItems changed : changes) {
+            for(String removed : changed.removedFolders) {
+                if(isWithin(fullPath, removed)) folders.clear();
+                else folders.remove(removed);
+            }
+            for(String added : changed.addedFolders) {
+                addChildFolder(folders, prefix, added);
+            }
+            for(String added : changed.addedItems.keySet()) {
+                addChildFolder(folders, prefix, SerializableFileSystem.getParentPath(added));
+            }
+        }
+        int savePathLen = system.getSavePath().length() + 1;
+        List<String> merged = new ArrayList<>(folders.size());
+        for(String folder : folders) {
+            merged.add(folder.substring(savePathLen));
+        }
+        return merged;
+    }
+
+    private static void addChildFolder(Set<String> folders, String prefix, @Nullable String path) {
+        if(path == null || !path.startsWith(prefix)) return;
+        int end = path.indexOf('/', prefix.length());
+        folders.add(end == -1 ? path : path.substring(0, end));
+    }
+
+    private static boolean folderExists(String fullPath, boolean exists, List<ChangedItems> changes) {
+        String prefix = fullPath + "/";
+        for(ChangedItems changed : changes) {
+            for(String removed : changed.removedFolders) {
+                if(isWithin(fullPath, removed)) exists = false;
+            }
+            for(String added : changed.addedFolders) {
+                if(isWithin(added, fullPath)) exists = true;
+            }
+            for(String added : changed.addedItems.keySet()) {
+                if(added.startsWith(prefix)) exists = true;
+            }
+        }
+        return exists;
+    }
+
+    private Map<String, T> mergeObjects(String path, Map<String, T> items, List<ChangedItems> changes) {
+        String fullPath = system.getFullPath(path);
+        for(ChangedItems changed : changes) {
+            for(String removed : changed.removedFolders) {
+                if(isWithin(fullPath, removed)) items.clear();
+            }
+            for(String removed : changed.removedItems) {
+                if(fullPath.equals(SerializableFileSystem.getParentPath(removed))) {
+                    items.remove(SerializableFileSystem.getNameFromPath(removed));
+                }
+            }
+            for(Map.Entry<String, DataFile> entry : changed.addedItems.entrySet()) {
+                if(!fullPath.equals(SerializableFileSystem.getParentPath(entry.getKey()))) continue;
+                T item = getAccessor(entry.getValue()).getSerialized(KEY_ITEM, system.getSerializableClass());
+                items.put(SerializableFileSystem.getNameFromPath(entry.getKey()), item);
+            }
+        }
+        return items;
+    }
+
+    private static boolean isWithin(String path, String folder) {
+        return path.equals(folder) || path.startsWith(folder + "/");
+    }
+
     private T loadSerialized(String path, String name) {
-        JsonFile itemFile = getItemFile(path, name);
+        DataFile itemFile = getItemFile(path, name);
         if(!itemFile.fileExists()) return null;
         itemFile.loadFromDisk(true);
 
-        JsonAccessor accessor = itemFile.getAccessor();
+        SectionAccessor<?, ?> accessor = getAccessor(itemFile);
         if(!accessor.contains(KEY_ITEM)) {
             plugin.sendSevere(String.format("Unable to load item file \"%s\", no item found", path));
             return null;
@@ -160,14 +461,27 @@ public class MultiFileSaveLoad<T extends ConfigurationSerializable> implements F
         return accessor.getSerialized(KEY_ITEM, system.getSerializableClass());
     }
 
-    private JsonFile getItemFile(String path, String name) {
-        return new JsonFile(plugin, String.format("%s.json", system.getFullPath(path, name)));
+    private DataFile getItemFile(String path, String name) {
+        return fileType.create(plugin, system.getFullPath(path, name) + extension);
+    }
+
+    private static SectionAccessor<?, ?> getAccessor(DataFile file) {
+        return ((SectionInstancer<?, ?, ?>) file).getAccessor();
+    }
+
+    @FunctionalInterface
+    protected interface LoadCompleter<R, V> {
+        V complete(R result, boolean current);
     }
 
     private static final class ChangedItems {
-        private final List<String> addedFolders = new ArrayList<>();
-        private final List<JsonFile> addedItems = new ArrayList<>();
-        private final List<String> removedFolders = new ArrayList<>();
-        private final List<String> removedItems = new ArrayList<>();
+        private final Set<String> addedFolders = new LinkedHashSet<>();
+        private final Map<String, DataFile> addedItems = new LinkedHashMap<>();
+        private final Set<String> removedFolders = new LinkedHashSet<>();
+        private final Set<String> removedItems = new LinkedHashSet<>();
+
+        private boolean isEmpty() {
+            return addedFolders.isEmpty() && addedItems.isEmpty() && removedFolders.isEmpty() && removedItems.isEmpty();
+        }
     }
 }
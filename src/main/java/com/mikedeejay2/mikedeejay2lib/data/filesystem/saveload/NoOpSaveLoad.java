@@ -18,6 +18,7 @@ public class NoOpSaveLoad<T extends ConfigurationSerializable> implements FileSy
     @Override public void deleteObject(String path, String name) {}
     @Override public void startCommit() {}
     @Override public void commit() {}
+    @Override public Runnable snapshot() { return null; }
 
     @Override
     public Map<String, SerializableFolderFS<T>> loadFolders(String path) {
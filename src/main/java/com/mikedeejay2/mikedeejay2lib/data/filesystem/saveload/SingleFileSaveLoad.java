@@ -1,18 +1,20 @@
 package com.mikedeejay2.mikedeejay2lib.data.filesystem.saveload;
 
+import com.google.gson.JsonObject;
 import com.mikedeejay2.mikedeejay2lib.BukkitPlugin;
 import com.mikedeejay2.mikedeejay2lib.data.filesystem.FolderInfo;
 import com.mikedeejay2.mikedeejay2lib.data.filesystem.SerializableFolderFS;
 import com.mikedeejay2.mikedeejay2lib.data.filesystem.SerializableFileSystem;
 import com.mikedeejay2.mikedeejay2lib.data.json.JsonAccessor;
 import com.mikedeejay2.mikedeejay2lib.data.json.JsonFile;
+import com.mikedeejay2.mikedeejay2lib.util.file.JsonFileIO;
 import org.apache.commons.lang3.Validate;
-import org.bukkit.Bukkit;
 import org.bukkit.configuration.serialization.ConfigurationSerializable;
 
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class SingleFileSaveLoad<T extends ConfigurationSerializable> implements FileSystemSaveLoad<T> {
     public static final String KEY_FOLDERS = "folders";
@@ -24,6 +26,7 @@ public class SingleFileSaveLoad<T extends ConfigurationSerializable> implements
     protected final JsonFile file;
     protected final JsonAccessor accessor;
     protected boolean save;
+    protected final AtomicLong snapshotVersion;
 
     public SingleFileSaveLoad(BukkitPlugin plugin, SerializableFileSystem<T> system) {
         this.plugin = plugin;
@@ -34,10 +37,16 @@ public class SingleFileSaveLoad<T extends ConfigurationSerializable> implements
         }
         this.accessor = file.getAccessor();
         this.save = true;
+        this.snapshotVersion = new AtomicLong();
     }
 
     @Override
     public void saveFolder(String path) {
+        applySaveFolder(path);
+        save();
+    }
+
+    protected void applySaveFolder(String path) {
         getFolderSection(path); // Add folder section
         if(path != null) { // Saves relation to parent, not needed on root folder
             JsonAccessor parentAccessor = getParentAccessor(path);
@@ -46,7 +55,6 @@ public class SingleFileSaveLoad<T extends ConfigurationSerializable> implements
             if(!curFolders.contains(name)) curFolders.add(name);
             parentAccessor.setStringList(KEY_FOLDERS, curFolders);
         }
-        save();
     }
 
     protected JsonAccessor getParentAccessor(String path) {
@@ -63,6 +71,11 @@ public class SingleFileSaveLoad<T extends ConfigurationSerializable> implements
 
     @Override
     public void deleteFolder(String path) {
+        applyDeleteFolder(path);
+        save();
+    }
+
+    protected void applyDeleteFolder(String path) {
         this.accessor.delete(path);
         if(path != null) { // Deletes relation to parent, not needed on root folder
             JsonAccessor parentAccessor = getParentAccessor(path);
@@ -71,15 +84,18 @@ public class SingleFileSaveLoad<T extends ConfigurationSerializable> implements
             curFolders.remove(name);
             parentAccessor.setStringList(KEY_FOLDERS, curFolders);
         }
-        save();
     }
 
     @Override
     public void deleteObject(String path, String name) {
-        this.accessor.getSection(path).getSection(KEY_ITEMS).delete(name);
+        applyDeleteObject(path, name);
         save();
     }
 
+    protected void applyDeleteObject(String path, String name) {
+        this.accessor.getSection(path).getSection(KEY_ITEMS).delete(name);
+    }
+
     @Override
     public void startCommit() {
         this.save = false;
@@ -94,7 +110,17 @@ public class SingleFileSaveLoad<T extends ConfigurationSerializable> implements
 
     protected void save() {
         if(!this.save) return;
-        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> file.saveToDisk(true));
+        system.getFlusher().markDirty();
+    }
+
+    @Override
+    public Runnable snapshot() {
+        final JsonObject snapshot = file.getJsonObject().deepCopy();
+        final long version = snapshotVersion.incrementAndGet();
+        return () -> {
+            if(version != snapshotVersion.get()) return; // A newer snapshot will be written after this one
+            JsonFileIO.saveJsonFile(file.getFile(), snapshot, file.isCompact(), true);
+        };
     }
 
     @Override
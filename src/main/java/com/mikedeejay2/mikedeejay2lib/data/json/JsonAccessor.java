@@ -3,6 +3,7 @@ package com.mikedeejay2.mikedeejay2lib.data.json;
 import com.google.gson.*;
 import com.google.gson.reflect.TypeToken;
 import com.mikedeejay2.mikedeejay2lib.data.section.SectionAccessor;
+import com.mikedeejay2.mikedeejay2lib.data.section.SectionPath;
 import org.apache.commons.lang3.Validate;
 import org.bukkit.*;
 import org.bukkit.attribute.AttributeModifier;
@@ -66,6 +67,7 @@ public class JsonAccessor extends SectionAccessor<JsonFile, JsonElement> {
         if(name == null || name.isEmpty()) return json.getAsJsonArray();
         if(!contains(name)) {
             json.add(name, new JsonArray());
+            invalidateIndex();
         }
         return json.get(name).getAsJsonArray();
     }
@@ -81,6 +83,7 @@ public class JsonAccessor extends SectionAccessor<JsonFile, JsonElement> {
         if(name == null || name.isEmpty()) return json;
         if(!contains(name)) {
             json.add(name, new JsonObject());
+            invalidateIndex();
         }
         return json.get(name).getAsJsonObject();
     }
@@ -94,6 +97,7 @@ public class JsonAccessor extends SectionAccessor<JsonFile, JsonElement> {
     @Override
     public void set(String name, JsonElement object) {
         json.add(name, object);
+        invalidateIndex();
     }
 
     /**
@@ -115,6 +119,7 @@ public class JsonAccessor extends SectionAccessor<JsonFile, JsonElement> {
     @Override
     public void delete(String name) {
         json.remove(name);
+        invalidateIndex();
     }
 
     /**
@@ -128,6 +133,46 @@ public class JsonAccessor extends SectionAccessor<JsonFile, JsonElement> {
         return new JsonAccessor(dataFile, getObject(name));
     }
 
+    /**
+     * Get a <code>JsonElement</code> by its dotted path relative to this section, for example
+     * "<code>level1.level2.name</code>". Unlike {@link JsonAccessor#getSection(String)}, missing sections are not
+     * created. If the path index of the file is enabled and this is the root section, the element is read from the
+     * index instead of walking the json.
+     *
+     * @param path The dotted path of the element
+     * @return The requested <code>JsonElement</code>, null if not found
+     */
+    public @Nullable JsonElement getPath(String path) {
+        if(json == dataFile.getJsonObject()) {
+            Map<String, JsonElement> index = dataFile.getPathIndex().get();
+            if(index != null) return index.get(path);
+        }
+        JsonElement element = json;
+        for(String segment : SectionPath.split(path)) {
+            if(!element.isJsonObject()) return null;
+            element = element.getAsJsonObject().get(segment);
+            if(element == null) return null;
+        }
+        return element;
+    }
+
+    /**
+     * Get whether this section contains an element at a dotted path relative to this section
+     *
+     * @param path The dotted path of the element
+     * @return Whether an element was found
+     */
+    public boolean containsPath(String path) {
+        return getPath(path) != null;
+    }
+
+    /**
+     * Invalidate the path index of the file, called whenever this accessor modifies the json
+     */
+    protected void invalidateIndex() {
+        dataFile.getPathIndex().invalidate();
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -220,6 +265,41 @@ public class JsonAccessor extends SectionAccessor<JsonFile, JsonElement> {
         }
     }
 
+    /**
+     * Get every key-value pair of this section, nested ones included, keyed by their full dotted path relative to this
+     * section, for example "<code>level1.level2.name</code>". Unlike {@link JsonAccessor#getKeyValuePairs(boolean)},
+     * nested keys never collide. If the path index of the file is enabled and this is the root section, the pairs are
+     * copied from the index instead of walking the json.
+     *
+     * @return The flattened key-value pairs, in the order of the file
+     */
+    public Map<String, JsonElement> getFlattenedPairs() {
+        if(json == dataFile.getJsonObject()) {
+            Map<String, JsonElement> index = dataFile.getPathIndex().get();
+            if(index != null) return new LinkedHashMap<>(index);
+        }
+        Map<String, JsonElement> map = new LinkedHashMap<>();
+        getFlattenedPairsRecursive(map, null, json);
+        return map;
+    }
+
+    /**
+     * Get flattened key value pairs recursively from the json file. Internal method of
+     * {@link JsonAccessor#getFlattenedPairs()}.
+     *
+     * @param map    The map to fill with key value pairs
+     * @param parent The dotted path of the current json object, null for this section
+     * @param object The current json object
+     */
+    private void getFlattenedPairsRecursive(Map<String, JsonElement> map, String parent, JsonObject object) {
+        for(Map.Entry<String, JsonElement> element : object.entrySet()) {
+            String path = SectionPath.join(parent, element.getKey());
+            JsonElement jsonElement = element.getValue();
+            map.put(path, jsonElement);
+            if(jsonElement.isJsonObject()) getFlattenedPairsRecursive(map, path, jsonElement.getAsJsonObject());
+        }
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -758,6 +838,7 @@ public class JsonAccessor extends SectionAccessor<JsonFile, JsonElement> {
     @Override
     public void setBoolean(String name, boolean data) {
         json.addProperty(name, data);
+        invalidateIndex();
     }
 
     /**
@@ -769,6 +850,7 @@ public class JsonAccessor extends SectionAccessor<JsonFile, JsonElement> {
     @Override
     public void setInt(String name, int data) {
         json.addProperty(name, data);
+        invalidateIndex();
     }
 
     /**
@@ -780,6 +862,7 @@ public class JsonAccessor extends SectionAccessor<JsonFile, JsonElement> {
     @Override
     public void setFloat(String name, float data) {
         json.addProperty(name, data);
+        invalidateIndex();
     }
 
     /**
@@ -791,6 +874,7 @@ public class JsonAccessor extends SectionAccessor<JsonFile, JsonElement> {
     @Override
     public void setDouble(String name, double data) {
         json.addProperty(name, data);
+        invalidateIndex();
     }
 
     /**
@@ -802,6 +886,7 @@ public class JsonAccessor extends SectionAccessor<JsonFile, JsonElement> {
     @Override
     public void setLong(String name, long data) {
         json.addProperty(name, data);
+        invalidateIndex();
     }
 
     /**
@@ -813,6 +898,7 @@ public class JsonAccessor extends SectionAccessor<JsonFile, JsonElement> {
     @Override
     public void setString(String name, String data) {
         json.addProperty(name, data);
+        invalidateIndex();
     }
 
     /**
@@ -980,6 +1066,7 @@ public class JsonAccessor extends SectionAccessor<JsonFile, JsonElement> {
         JsonArray array = new JsonArray();
         data.forEach(array::add);
         json.add(name, array);
+        invalidateIndex();
     }
 
     /**
@@ -993,6 +1080,7 @@ public class JsonAccessor extends SectionAccessor<JsonFile, JsonElement> {
         JsonArray array = new JsonArray();
         data.forEach(array::add);
         json.add(name, array);
+        invalidateIndex();
     }
 
     /**
@@ -1006,6 +1094,7 @@ public class JsonAccessor extends SectionAccessor<JsonFile, JsonElement> {
         JsonArray array = new JsonArray();
         data.forEach(array::add);
         json.add(name, array);
+        invalidateIndex();
     }
 
     /**
@@ -1019,6 +1108,7 @@ public class JsonAccessor extends SectionAccessor<JsonFile, JsonElement> {
         JsonArray array = new JsonArray();
         data.forEach(array::add);
         json.add(name, array);
+        invalidateIndex();
     }
 
     /**
@@ -1032,6 +1122,7 @@ public class JsonAccessor extends SectionAccessor<JsonFile, JsonElement> {
         JsonArray array = new JsonArray();
         data.forEach(array::add);
         json.add(name, array);
+        invalidateIndex();
     }
 
     /**
@@ -1045,6 +1136,7 @@ public class JsonAccessor extends SectionAccessor<JsonFile, JsonElement> {
         JsonArray array = new JsonArray();
         data.forEach(array::add);
         json.add(name, array);
+        invalidateIndex();
     }
 
     /**
@@ -1190,6 +1282,7 @@ public class JsonAccessor extends SectionAccessor<JsonFile, JsonElement> {
         JsonArray array = new JsonArray();
         data.forEach(material -> array.add(material.toString()));
         json.add(name, array);
+        invalidateIndex();
     }
 
     /**
@@ -1210,6 +1303,7 @@ public class JsonAccessor extends SectionAccessor<JsonFile, JsonElement> {
      * @param data       The data to add to the jsonObject
      */
     private void setSerializedInternal(JsonObject jsonObject, ConfigurationSerializable data) {
+        invalidateIndex();
         Map<String, Object> map = data.serialize();
         Gson gson = new GsonBuilder().create();
         JsonElement typeElement = gson.toJsonTree(ConfigurationSerialization.getAlias(data.getClass()));
@@ -1375,5 +1469,6 @@ public class JsonAccessor extends SectionAccessor<JsonFile, JsonElement> {
             array.add(object);
         });
         json.add(name, array);
+        invalidateIndex();
     }
 }
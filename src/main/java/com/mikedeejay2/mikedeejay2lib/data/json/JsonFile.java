@@ -4,10 +4,15 @@ import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.mikedeejay2.mikedeejay2lib.BukkitPlugin;
 import com.mikedeejay2.mikedeejay2lib.data.DataFile;
+import com.mikedeejay2.mikedeejay2lib.data.section.PathIndex;
 import com.mikedeejay2.mikedeejay2lib.data.section.SectionInstancer;
+import com.mikedeejay2.mikedeejay2lib.data.section.SectionPath;
 import com.mikedeejay2.mikedeejay2lib.util.file.FileIO;
 import com.mikedeejay2.mikedeejay2lib.util.file.JsonFileIO;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 /**
  * Wrapper class for a DataFile of type Json
  *
@@ -22,6 +27,14 @@ public class JsonFile extends DataFile implements SectionInstancer<JsonAccessor,
      * The root JsonAccessor that this JsonFile uses
      */
     protected JsonAccessor accessor;
+    /**
+     * Whether this file is saved without pretty printing
+     */
+    protected boolean compact;
+    /**
+     * The optional flat index of every path in this file
+     */
+    protected final PathIndex<JsonElement> pathIndex;
 
     /**
      * Constructor for <code>JsonFile</code>
@@ -33,6 +46,8 @@ public class JsonFile extends DataFile implements SectionInstancer<JsonAccessor,
         super(plugin, filePath);
         jsonObject = new JsonObject();
         this.accessor = new JsonAccessor(this, jsonObject);
+        this.compact = false;
+        this.pathIndex = new PathIndex<>(this::buildPathIndex);
     }
 
     /**
@@ -44,6 +59,7 @@ public class JsonFile extends DataFile implements SectionInstancer<JsonAccessor,
     @Override
     public boolean loadFromDisk(boolean throwErrors) {
         JsonFileIO.loadJsonObjectFromDisk(file, jsonObject, throwErrors);
+        pathIndex.invalidate();
         return file.exists();
     }
 
@@ -56,18 +72,21 @@ public class JsonFile extends DataFile implements SectionInstancer<JsonAccessor,
     @Override
     public boolean loadFromJar(boolean throwErrors) {
         JsonFileIO.loadJsonObjectFromJar(filePath, jsonObject, plugin.classLoader(), throwErrors);
+        pathIndex.invalidate();
         return FileIO.getInputStreamFromJar(filePath, plugin.classLoader()) != null;
     }
 
     /**
      * {@inheritDoc}
+     * <p>
+     * The json is streamed to the disk without building the entire file in memory.
      *
      * @param throwErrors Silence any errors that this operation might produce
      * @return If this operation was successful or not
      */
     @Override
     public boolean saveToDisk(boolean throwErrors) {
-        return JsonFileIO.saveJsonFile(file, jsonObject, throwErrors);
+        return JsonFileIO.saveJsonFile(file, jsonObject, compact, throwErrors);
     }
 
     /**
@@ -79,6 +98,7 @@ public class JsonFile extends DataFile implements SectionInstancer<JsonAccessor,
     @Override
     public boolean updateFromJar(boolean throwErrors) {
         JsonFileIO.updateFromJar(plugin, filePath, jsonObject, throwErrors);
+        pathIndex.invalidate();
         return true;
     }
 
@@ -91,6 +111,64 @@ public class JsonFile extends DataFile implements SectionInstancer<JsonAccessor,
         return jsonObject;
     }
 
+    /**
+     * Get whether this file is saved without pretty printing
+     *
+     * @return Whether this file is compact
+     */
+    public boolean isCompact() {
+        return compact;
+    }
+
+    /**
+     * Set whether this file is saved without pretty printing. Compact files are smaller and faster to save, but are
+     * harder to read and edit by hand.
+     *
+     * @param compact Whether this file should be compact
+     */
+    public void setCompact(boolean compact) {
+        this.compact = compact;
+    }
+
+    /**
+     * Get the optional flat index of every path in this file. The index is disabled by default, see
+     * {@link PathIndex#setEnabled(boolean)}. Once enabled, {@link JsonAccessor#getPath(String)} and
+     * {@link JsonAccessor#getFlattenedPairs()} of the root section read from the index.
+     *
+     * @return The path index
+     */
+    public PathIndex<JsonElement> getPathIndex() {
+        return pathIndex;
+    }
+
+    /**
+     * Build a flat index of every path in this file, nested objects are indexed by their full dotted path. Paths are
+     * kept in the order of the file.
+     *
+     * @return The new index
+     */
+    protected Map<String, JsonElement> buildPathIndex() {
+        Map<String, JsonElement> index = new LinkedHashMap<>();
+        buildPathIndex(index, null, jsonObject);
+        return index;
+    }
+
+    /**
+     * Recursively add the members of a <code>JsonObject</code> to an index
+     *
+     * @param index  The index to add to
+     * @param parent The full path of the object, null for the root object
+     * @param object The object to add the members of
+     */
+    private static void buildPathIndex(Map<String, JsonElement> index, String parent, JsonObject object) {
+        for(Map.Entry<String, JsonElement> entry : object.entrySet()) {
+            String path = SectionPath.join(parent, entry.getKey());
+            JsonElement element = entry.getValue();
+            index.put(path, element);
+            if(element.isJsonObject()) buildPathIndex(index, path, element.getAsJsonObject());
+        }
+    }
+
     /**
      * Get a <code>JsonElement</code> from the json file
      *
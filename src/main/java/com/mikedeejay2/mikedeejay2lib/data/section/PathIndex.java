@@ -0,0 +1,86 @@
+package com.mikedeejay2.mikedeejay2lib.data.section;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * An optional flat read index of a data file, mapping every full dotted path of the file to its value.
+ * <p>
+ * The index is disabled by default. Once enabled, it is built the first time it is read and is reused until it is
+ * invalidated, which the accessors of the file do whenever they modify the file. Values that are modified directly,
+ * without going through an accessor, require a manual call to {@link PathIndex#invalidate()}.
+ *
+ * @param <T> The type of value in the index
+ * @author Mikedeejay2
+ */
+public class PathIndex<T> {
+    /**
+     * Builds a new index of the file
+     */
+    protected final Supplier<Map<String, T>> builder;
+
+    /**
+     * The current index, null if it hasn't been built since it was last invalidated
+     */
+    protected volatile @Nullable Map<String, T> index;
+
+    /**
+     * Whether the index is enabled
+     */
+    protected boolean enabled;
+
+    /**
+     * Construct a new <code>PathIndex</code>
+     *
+     * @param builder Builds a new index of the file
+     */
+    public PathIndex(Supplier<Map<String, T>> builder) {
+        this.builder = builder;
+        this.index = null;
+        this.enabled = false;
+    }
+
+    /**
+     * Get the index, building it if it has been invalidated
+     *
+     * @return The unmodifiable index, null if the index is disabled
+     */
+    public @Nullable Map<String, T> get() {
+        if(!enabled) return null;
+        Map<String, T> current = index;
+        if(current == null) {
+            current = Collections.unmodifiableMap(builder.get());
+            index = current;
+        }
+        return current;
+    }
+
+    /**
+     * Invalidate the index so that it is rebuilt the next time it is read
+     */
+    public void invalidate() {
+        this.index = null;
+    }
+
+    /**
+     * Get whether the index is enabled
+     *
+     * @return Whether the index is enabled
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Set whether the index is enabled. Disabling the index releases it.
+     *
+     * @param enabled Whether the index is enabled
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        invalidate();
+    }
+}
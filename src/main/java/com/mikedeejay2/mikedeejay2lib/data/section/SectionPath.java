@@ -0,0 +1,75 @@
+package com.mikedeejay2.mikedeejay2lib.data.section;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Util class for parsing dotted section paths, for example "<code>root.level1.level2.name</code>".
+ * <p>
+ * Paths are read far more often than they are created, so parsed paths are kept in a bounded global cache and are
+ * only split once.
+ *
+ * @author Mikedeejay2
+ */
+public final class SectionPath {
+    /**
+     * The character that separates the levels of a path
+     */
+    public static final char SEPARATOR = '.';
+
+    /**
+     * The maximum amount of parsed paths in the cache
+     */
+    private static final long CACHE_SIZE = 4096;
+
+    /**
+     * The cache of parsed paths
+     */
+    private static final Cache<String, String[]> cache = CacheBuilder.newBuilder()
+        .maximumSize(CACHE_SIZE)
+        .build();
+
+    /**
+     * Split a path into its levels. The returned array is shared and <strong>must not be modified</strong>.
+     *
+     * @param path The path to split
+     * @return The levels of the path
+     */
+    public static String[] split(String path) {
+        String[] segments = cache.getIfPresent(path);
+        if(segments != null) return segments;
+        segments = path.split("\\.");
+        cache.put(path, segments);
+        return segments;
+    }
+
+    /**
+     * Get the name (last level) of a path. For example, the name of "<code>root.level1.level2.name</code>" is
+     * "<code>name</code>".
+     *
+     * @param path The path
+     * @return The name of the path
+     */
+    public static String getName(String path) {
+        final String[] segments = split(path);
+        return segments[segments.length - 1];
+    }
+
+    /**
+     * Join a parent path and a name into a path
+     *
+     * @param parent The parent path, null or empty for the root
+     * @param name   The name
+     * @return The joined path
+     */
+    public static String join(String parent, String name) {
+        return parent == null || parent.isEmpty() ? name : parent + SEPARATOR + name;
+    }
+
+    /**
+     * Remove all parsed paths from the cache
+     */
+    public static void clear() {
+        cache.invalidateAll();
+    }
+}
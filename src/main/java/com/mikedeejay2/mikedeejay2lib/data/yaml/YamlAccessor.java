@@ -1,6 +1,7 @@
 package com.mikedeejay2.mikedeejay2lib.data.yaml;
 
 import com.mikedeejay2.mikedeejay2lib.data.section.SectionAccessor;
+import com.mikedeejay2.mikedeejay2lib.data.section.SectionPath;
 import org.bukkit.*;
 import org.bukkit.attribute.AttributeModifier;
 import org.bukkit.block.banner.Pattern;
@@ -12,6 +13,7 @@ import org.bukkit.potion.PotionEffect;
 import org.bukkit.util.BlockVector;
 import org.bukkit.util.BoundingBox;
 import org.bukkit.util.Vector;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
 
@@ -57,6 +59,7 @@ public class YamlAccessor extends SectionAccessor<YamlFile, Object> {
     @Override
     public void set(String name, Object object) {
         yaml.set(name, object);
+        invalidateIndex();
     }
 
     /**
@@ -78,6 +81,7 @@ public class YamlAccessor extends SectionAccessor<YamlFile, Object> {
     @Override
     public void delete(String name) {
         yaml.set(name, null);
+        invalidateIndex();
     }
 
     /**
@@ -90,10 +94,43 @@ public class YamlAccessor extends SectionAccessor<YamlFile, Object> {
     public YamlAccessor getSection(String name) {
         if(!yaml.isConfigurationSection(name)) {
             yaml.createSection(name);
+            invalidateIndex();
         }
         return new YamlAccessor(dataFile, yaml.getConfigurationSection(name));
     }
 
+    /**
+     * Get an object by its dotted path relative to this section, for example "<code>level1.level2.name</code>". If the
+     * path index of the file is enabled, the object is read from the index instead of parsing the path.
+     *
+     * @param path The dotted path of the object
+     * @return The requested object, null if not found
+     */
+    public @Nullable Object getPath(String path) {
+        if(yaml.getRoot() == dataFile.getYamlConfig()) {
+            Map<String, Object> index = dataFile.getPathIndex().get();
+            if(index != null) return index.get(SectionPath.join(yaml.getCurrentPath(), path));
+        }
+        return yaml.get(path);
+    }
+
+    /**
+     * Get whether this section contains an object at a dotted path relative to this section
+     *
+     * @param path The dotted path of the object
+     * @return Whether an object was found
+     */
+    public boolean containsPath(String path) {
+        return getPath(path) != null;
+    }
+
+    /**
+     * Invalidate the path index of the file, called whenever this accessor modifies the configuration
+     */
+    protected void invalidateIndex() {
+        dataFile.getPathIndex().invalidate();
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -602,6 +639,7 @@ public class YamlAccessor extends SectionAccessor<YamlFile, Object> {
     @Override
     public void setBoolean(String name, boolean data) {
         yaml.set(name, data);
+        invalidateIndex();
     }
 
     /**
@@ -613,6 +651,7 @@ public class YamlAccessor extends SectionAccessor<YamlFile, Object> {
     @Override
     public void setInt(String name, int data) {
         yaml.set(name, data);
+        invalidateIndex();
     }
 
     /**
@@ -624,6 +663,7 @@ public class YamlAccessor extends SectionAccessor<YamlFile, Object> {
     @Override
     public void setFloat(String name, float data) {
         yaml.set(name, data);
+        invalidateIndex();
     }
 
     /**
@@ -635,6 +675,7 @@ public class YamlAccessor extends SectionAccessor<YamlFile, Object> {
     @Override
     public void setDouble(String name, double data) {
         yaml.set(name, data);
+        invalidateIndex();
     }
 
     /**
@@ -646,6 +687,7 @@ public class YamlAccessor extends SectionAccessor<YamlFile, Object> {
     @Override
     public void setLong(String name, long data) {
         yaml.set(name, data);
+        invalidateIndex();
     }
 
     /**
@@ -657,6 +699,7 @@ public class YamlAccessor extends SectionAccessor<YamlFile, Object> {
     @Override
     public void setString(String name, String data) {
         yaml.set(name, data);
+        invalidateIndex();
     }
 
     /**
@@ -668,6 +711,7 @@ public class YamlAccessor extends SectionAccessor<YamlFile, Object> {
     @Override
     public void setItemStack(String name, ItemStack data) {
         yaml.set(name, data);
+        invalidateIndex();
     }
 
     /**
@@ -679,6 +723,7 @@ public class YamlAccessor extends SectionAccessor<YamlFile, Object> {
     @Override
     public void setLocation(String name, Location data) {
         yaml.set(name, data);
+        invalidateIndex();
     }
 
     /**
@@ -690,6 +735,7 @@ public class YamlAccessor extends SectionAccessor<YamlFile, Object> {
     @Override
     public void setVector(String name, Vector data) {
         yaml.set(name, data);
+        invalidateIndex();
     }
 
     /**
@@ -701,6 +747,7 @@ public class YamlAccessor extends SectionAccessor<YamlFile, Object> {
     @Override
     public void setItemMeta(String name, ItemMeta data) {
         yaml.set(name, data);
+        invalidateIndex();
     }
 
     /**
@@ -712,6 +759,7 @@ public class YamlAccessor extends SectionAccessor<YamlFile, Object> {
     @Override
     public void setPlayer(String name, OfflinePlayer data) {
         yaml.set(name, data);
+        invalidateIndex();
     }
 
     /**
@@ -723,6 +771,7 @@ public class YamlAccessor extends SectionAccessor<YamlFile, Object> {
     @Override
     public void setAttributeModifier(String name, AttributeModifier data) {
         yaml.set(name, data);
+        invalidateIndex();
     }
 
     /**
@@ -734,6 +783,7 @@ public class YamlAccessor extends SectionAccessor<YamlFile, Object> {
     @Override
     public void setBlockVector(String name, BlockVector data) {
         yaml.set(name, data);
+        invalidateIndex();
     }
 
     /**
@@ -745,6 +795,7 @@ public class YamlAccessor extends SectionAccessor<YamlFile, Object> {
     @Override
     public void setBoundingBox(String name, BoundingBox data) {
         yaml.set(name, data);
+        invalidateIndex();
     }
 
     /**
@@ -756,6 +807,7 @@ public class YamlAccessor extends SectionAccessor<YamlFile, Object> {
     @Override
     public void setColor(String name, Color data) {
         yaml.set(name, data);
+        invalidateIndex();
     }
 
     /**
@@ -767,6 +819,7 @@ public class YamlAccessor extends SectionAccessor<YamlFile, Object> {
     @Override
     public void setFireworkEffect(String name, FireworkEffect data) {
         yaml.set(name, data);
+        invalidateIndex();
     }
 
     /**
@@ -778,6 +831,7 @@ public class YamlAccessor extends SectionAccessor<YamlFile, Object> {
     @Override
     public void setPattern(String name, Pattern data) {
         yaml.set(name, data);
+        invalidateIndex();
     }
 
     /**
@@ -789,6 +843,7 @@ public class YamlAccessor extends SectionAccessor<YamlFile, Object> {
     @Override
     public void setPotionEffect(String name, PotionEffect data) {
         yaml.set(name, data);
+        invalidateIndex();
     }
 
     /**
@@ -800,6 +855,7 @@ public class YamlAccessor extends SectionAccessor<YamlFile, Object> {
     @Override
     public void setMaterial(String name, Material data) {
         yaml.set(name, data);
+        invalidateIndex();
     }
 
     /**
@@ -811,6 +867,7 @@ public class YamlAccessor extends SectionAccessor<YamlFile, Object> {
     @Override
     public void setSerialized(String name, ConfigurationSerializable data) {
         yaml.set(name, data);
+        invalidateIndex();
     }
 
     /**
@@ -822,6 +879,7 @@ public class YamlAccessor extends SectionAccessor<YamlFile, Object> {
     @Override
     public void setBooleanList(String name, List<Boolean> data) {
         yaml.set(name, data);
+        invalidateIndex();
     }
 
     /**
@@ -833,6 +891,7 @@ public class YamlAccessor extends SectionAccessor<YamlFile, Object> {
     @Override
     public void setIntList(String name, List<Integer> data) {
         yaml.set(name, data);
+        invalidateIndex();
     }
 
     /**
@@ -844,6 +903,7 @@ public class YamlAccessor extends SectionAccessor<YamlFile, Object> {
     @Override
     public void setFloatList(String name, List<Float> data) {
         yaml.set(name, data);
+        invalidateIndex();
     }
 
     /**
@@ -855,6 +915,7 @@ public class YamlAccessor extends SectionAccessor<YamlFile, Object> {
     @Override
     public void setDoubleList(String name, List<Double> data) {
         yaml.set(name, data);
+        invalidateIndex();
     }
 
     /**
@@ -866,6 +927,7 @@ public class YamlAccessor extends SectionAccessor<YamlFile, Object> {
     @Override
     public void setLongList(String name, List<Long> data) {
         yaml.set(name, data);
+        invalidateIndex();
     }
 
     /**
@@ -877,6 +939,7 @@ public class YamlAccessor extends SectionAccessor<YamlFile, Object> {
     @Override
     public void setStringList(String name, List<String> data) {
         yaml.set(name, data);
+        invalidateIndex();
     }
 
     /**
@@ -888,6 +951,7 @@ public class YamlAccessor extends SectionAccessor<YamlFile, Object> {
     @Override
     public void setItemStackList(String name, List<ItemStack> data) {
         yaml.set(name, data);
+        invalidateIndex();
     }
 
     /**
@@ -899,6 +963,7 @@ public class YamlAccessor extends SectionAccessor<YamlFile, Object> {
     @Override
     public void setLocationList(String name, List<Location> data) {
         yaml.set(name, data);
+        invalidateIndex();
     }
 
     /**
@@ -910,6 +975,7 @@ public class YamlAccessor extends SectionAccessor<YamlFile, Object> {
     @Override
     public void setVectorList(String name, List<Vector> data) {
         yaml.set(name, data);
+        invalidateIndex();
     }
 
     /**
@@ -921,6 +987,7 @@ public class YamlAccessor extends SectionAccessor<YamlFile, Object> {
     @Override
     public void setItemMetaList(String name, List<ItemMeta> data) {
         yaml.set(name, data);
+        invalidateIndex();
     }
 
     /**
@@ -932,6 +999,7 @@ public class YamlAccessor extends SectionAccessor<YamlFile, Object> {
     @Override
     public void setPlayerList(String name, List<OfflinePlayer> data) {
         yaml.set(name, data);
+        invalidateIndex();
     }
 
     /**
@@ -943,6 +1011,7 @@ public class YamlAccessor extends SectionAccessor<YamlFile, Object> {
     @Override
     public void setAttributeModifierList(String name, List<AttributeModifier> data) {
         yaml.set(name, data);
+        invalidateIndex();
     }
 
     /**
@@ -954,6 +1023,7 @@ public class YamlAccessor extends SectionAccessor<YamlFile, Object> {
     @Override
     public void setBlockVectorList(String name, List<BlockVector> data) {
         yaml.set(name, data);
+        invalidateIndex();
     }
 
     /**
@@ -965,6 +1035,7 @@ public class YamlAccessor extends SectionAccessor<YamlFile, Object> {
     @Override
     public void setBoundingBoxList(String name, List<BoundingBox> data) {
         yaml.set(name, data);
+        invalidateIndex();
     }
 
     /**
@@ -976,6 +1047,7 @@ public class YamlAccessor extends SectionAccessor<YamlFile, Object> {
     @Override
     public void setColorList(String name, List<Color> data) {
         yaml.set(name, data);
+        invalidateIndex();
     }
 
     /**
@@ -987,6 +1059,7 @@ public class YamlAccessor extends SectionAccessor<YamlFile, Object> {
     @Override
     public void setFireworkEffectList(String name, List<FireworkEffect> data) {
         yaml.set(name, data);
+        invalidateIndex();
     }
 
     /**
@@ -998,6 +1071,7 @@ public class YamlAccessor extends SectionAccessor<YamlFile, Object> {
     @Override
     public void setPatternList(String name, List<Pattern> data) {
         yaml.set(name, data);
+        invalidateIndex();
     }
 
     /**
@@ -1009,6 +1083,7 @@ public class YamlAccessor extends SectionAccessor<YamlFile, Object> {
     @Override
     public void setPotionEffectList(String name, List<PotionEffect> data) {
         yaml.set(name, data);
+        invalidateIndex();
     }
 
     /**
@@ -1020,6 +1095,7 @@ public class YamlAccessor extends SectionAccessor<YamlFile, Object> {
     @Override
     public void setMaterialList(String name, List<Material> data) {
         yaml.set(name, data);
+        invalidateIndex();
     }
 
     /**
@@ -1031,5 +1107,6 @@ public class YamlAccessor extends SectionAccessor<YamlFile, Object> {
     @Override
     public void setSerializedList(String name, List<ConfigurationSerializable> data) {
         yaml.set(name, data);
+        invalidateIndex();
     }
 }
@@ -2,6 +2,7 @@ package com.mikedeejay2.mikedeejay2lib.data.yaml;
 
 import com.mikedeejay2.mikedeejay2lib.BukkitPlugin;
 import com.mikedeejay2.mikedeejay2lib.data.DataFile;
+import com.mikedeejay2.mikedeejay2lib.data.section.PathIndex;
 import com.mikedeejay2.mikedeejay2lib.data.section.SectionInstancer;
 import com.mikedeejay2.mikedeejay2lib.util.file.YamlFileIO;
 
@@ -20,6 +21,10 @@ public class YamlFile extends DataFile implements SectionInstancer<YamlAccessor,
      * The root {@link YamlAccessor} for the yamlFile
      */
     protected YamlAccessor accessor;
+    /**
+     * The optional flat index of every path in this file
+     */
+    protected final PathIndex<Object> pathIndex;
 
     /**
      * Constructs a new <code>YamlFile</code>
@@ -31,6 +36,7 @@ public class YamlFile extends DataFile implements SectionInstancer<YamlAccessor,
         super(plugin, filePath);
         yamlFile = new EnhancedYaml();
         accessor = new YamlAccessor(this, yamlFile);
+        pathIndex = new PathIndex<>(() -> yamlFile.getValues(true));
     }
 
     /**
@@ -51,6 +57,7 @@ public class YamlFile extends DataFile implements SectionInstancer<YamlAccessor,
     @Override
     public boolean loadFromDisk(boolean throwErrors) {
         isLoaded = YamlFileIO.loadIntoYamlConfig(yamlFile, file, throwErrors);
+        pathIndex.invalidate();
         return isLoaded;
     }
 
@@ -63,6 +70,7 @@ public class YamlFile extends DataFile implements SectionInstancer<YamlAccessor,
     @Override
     public boolean loadFromJar(boolean throwErrors) {
         isLoaded = YamlFileIO.loadYamlConfigFromJar(yamlFile, filePath, plugin.classLoader(), throwErrors);
+        pathIndex.invalidate();
         return isLoaded;
     }
 
@@ -85,7 +93,19 @@ public class YamlFile extends DataFile implements SectionInstancer<YamlAccessor,
      */
     @Override
     public boolean updateFromJar(boolean throwErrors) {
-        return yamlFile.updateFromJar(filePath, plugin.classLoader());
+        boolean success = yamlFile.updateFromJar(filePath, plugin.classLoader());
+        pathIndex.invalidate();
+        return success;
+    }
+
+    /**
+     * Get the optional flat index of every path in this file. The index is disabled by default, see
+     * {@link PathIndex#setEnabled(boolean)}. Once enabled, {@link YamlAccessor#getPath(String)} reads from the index.
+     *
+     * @return The path index
+     */
+    public PathIndex<Object> getPathIndex() {
+        return pathIndex;
     }
 
     /**
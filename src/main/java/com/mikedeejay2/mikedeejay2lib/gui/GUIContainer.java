@@ -20,9 +20,8 @@ import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemStack;
 
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.BitSet;
 import java.util.List;
-import java.util.Set;
 import java.util.function.Consumer;
 
 /**
@@ -113,6 +112,26 @@ public class GUIContainer {
      */
     protected boolean fillEmpty;
 
+    /**
+     * The viewable inventory slots that require a re-render on the next update
+     */
+    protected final BitSet dirtySlots;
+
+    /**
+     * Whether only dirty slots should be rendered on update. If false, every slot is rendered on every update.
+     */
+    protected boolean incrementalRender;
+
+    /**
+     * The topmost visible layer of each slot of this GUI, indexed by <code>(row - 1) * cols + (col - 1)</code>
+     */
+    protected final GUILayer[] composedLayers;
+
+    /**
+     * The item of the topmost visible layer of each slot of this GUI, indexed the same as {@link #composedLayers}
+     */
+    protected final GUIItem[] composedItems;
+
     /**
      * Create a GUI of a large size. Note that to travel the GUI you must use a <code>GUIScrollerModule</code>
      *
@@ -124,7 +143,7 @@ public class GUIContainer {
     public GUIContainer(BukkitPlugin plugin, Text inventoryName, int inventoryRows, int inventoryCols) {
         this.plugin = plugin;
         this.backgroundItem = ItemBuilder.of(Material.LIGHT_GRAY_STAINED_GLASS_PANE).setEmptyName().get();
-        this.inventoryName = inventoryName;
+        this.inventoryName = Text.memoizeImmutable(inventoryName);
         this.inventorySlots = Math.min(inventoryRows * MAX_INVENTORY_COLS, MAX_INVENTORY_ROWS * MAX_INVENTORY_COLS);
         this.inventoryRows = inventoryRows;
         this.inventoryCols = inventoryCols;
@@ -132,6 +151,10 @@ public class GUIContainer {
         this.modules = new ArrayList<>();
         this.defaultMoveState = false;
         this.fillEmpty = false;
+        this.dirtySlots = new BitSet(inventorySlots);
+        this.incrementalRender = true;
+        this.composedLayers = new GUILayer[inventoryRows * inventoryCols];
+        this.composedItems = new GUIItem[inventoryRows * inventoryCols];
         rowOffset = 0;
         colOffset = 0;
         layers.add(new GUILayer(this, "base", false, defaultMoveState));
@@ -181,20 +204,82 @@ public class GUIContainer {
     public void onOpen(Player player) {
         inventory = Bukkit.createInventory(null, inventorySlots, this.inventoryName.get(player));
         modules.forEach(module -> module.onOpenHead(player, this));
-        changeAllItems();
+        markAllDirty();
         update(player);
         modules.forEach(module -> module.onOpenTail(player, this));
     }
 
     /**
-     * Ensure that all items in the GUI know that they need to be changed upon opening the GUI.
+     * Mark a slot of a layer as dirty so that it is rendered on the next update.
+     * Slots outside of the viewable inventory are ignored.
+     *
+     * @param layer The layer that the slot belongs to
+     * @param row   The row of the slot in the layer
+     * @param col   The column of the slot in the layer
      */
-    private void changeAllItems() {
-        for(GUILayer layer : layers) {
-            for(GUIItem[] items : layer.getItemsAsArray()) {
-                for(GUIItem item : items) {
-                    if(item != null) item.setChanged(true);
-                }
+    public void markDirty(GUILayer layer, int row, int col) {
+        if(!layer.isOverlay()) {
+            row -= rowOffset;
+            col -= colOffset;
+        }
+        if(row < 1 || col < 1 || col > MAX_INVENTORY_COLS) return;
+        int slot = (row - 1) * MAX_INVENTORY_COLS + (col - 1);
+        if(slot >= inventorySlots) return;
+        dirtySlots.set(slot);
+    }
+
+    /**
+     * Mark every viewable slot of this GUI as dirty so that the entire inventory is rendered on the next update.
+     */
+    public void markAllDirty() {
+        dirtySlots.set(0, inventorySlots);
+    }
+
+    /**
+     * Recompose the topmost visible item of a slot after a layer's slot has changed.
+     *
+     * @param layer The layer that the slot belongs to
+     * @param row   The row of the slot in the layer
+     * @param col   The column of the slot in the layer
+     */
+    public void composeSlot(GUILayer layer, int row, int col) {
+        if(layer.isOverlay()) {
+            row += rowOffset;
+            col += colOffset;
+        }
+        composeSlot(row, col);
+    }
+
+    /**
+     * Recompose the topmost visible item of a slot of this GUI
+     *
+     * @param row The row of the slot
+     * @param col The column of the slot
+     */
+    private void composeSlot(int row, int col) {
+        if(row < 1 || col < 1 || row > inventoryRows || col > inventoryCols) return;
+        int index = (row - 1) * inventoryCols + (col - 1);
+        composedLayers[index] = null;
+        composedItems[index] = null;
+        for(int i = layers.size() - 1; i >= 0; --i) {
+            GUILayer layer = layers.get(i);
+            if(!layer.isVisible()) continue;
+            GUIItem item = layer.getItem(row, col);
+            if(item == null) continue;
+            composedLayers[index] = layer;
+            composedItems[index] = item;
+            return;
+        }
+    }
+
+    /**
+     * Recompose the topmost visible item of every slot of this GUI. Called when layers are removed, hidden or
+     * shown, or when the offsets of overlay layers change.
+     */
+    public void composeAll() {
+        for(int row = 1; row <= inventoryRows; ++row) {
+            for(int col = 1; col <= inventoryCols; ++col) {
+                composeSlot(row, col);
             }
         }
     }
@@ -237,84 +322,43 @@ public class GUIContainer {
      */
     public void update(Player player) {
         modules.forEach(module -> module.onUpdateHead(player, this));
-        int newInvRows = Math.min(inventoryRows, MAX_INVENTORY_ROWS);
-        boolean[][] changedArr = new boolean[newInvRows][MAX_INVENTORY_COLS];
-        Set<GUIItem> changedItems = new HashSet<>();
+        if(!incrementalRender) markAllDirty();
 
-        // Fill empty slots, if enabled
-        if(fillEmpty) {
-            int fillSlot = -1;
-            GUILayer bottomLayer = layers.get(0);
-            for(int row = 1; row <= newInvRows; ++row) {
-                for(int col = 1; col <= MAX_INVENTORY_COLS; ++col) {
-                    GUIItem item = bottomLayer.getItem(row, col);
-                    ++fillSlot;
-                    if(item != null || bottomLayer.getDefaultMoveState()) {
-                        continue;
-                    }
-                    inventory.setItem(fillSlot, backgroundItem);
-                    changedArr[row-1][col-1] = true;
-                }
-            }
+        for(int slot = dirtySlots.nextSetBit(0); slot >= 0; slot = dirtySlots.nextSetBit(slot + 1)) {
+            renderSlot(player, slot);
         }
+        dirtySlots.clear();
 
-        // Find out what slots require an update
-        for(GUILayer layer : layers) {
-            if(!layer.isVisible()) continue;
-            for(int row = 1; row <= newInvRows; ++row) {
-                for(int col = 1; col <= MAX_INVENTORY_COLS; ++col) {
-                    if(changedArr[row-1][col-1]) continue; // If already true, don't check again
-                    GUIItem guiItem = layer.getItem(row + rowOffset, col + colOffset);
-                    if(guiItem == null) continue;
-                    changedArr[row-1][col-1] = guiItem.isChanged();
-                }
-            }
-        }
+        modules.forEach(module -> module.onUpdateTail(player, this));
+    }
 
-        // Fill items
-        for(GUILayer layer : layers) {
-            if(!layer.isVisible()) continue;
-            int invSlot = -1;
-            for(int row = 1; row <= newInvRows; ++row) {
-                for(int col = 1; col <= MAX_INVENTORY_COLS; ++col) {
-                    ++invSlot;
-                    if(!changedArr[row-1][col-1]) continue;
-
-                    GUIItem guiItem = layer.getItem(row + rowOffset, col + colOffset);
-                    if(guiItem == null) continue;
-                    ItemStack itemStack = guiItem.get(player);
-
-                    if(itemStack != null) {
-                        inventory.setItem(invSlot, itemStack);
-                    }
-                    changedItems.add(guiItem);
-                }
+    /**
+     * Compose a single viewable slot from the top visible item of all layers and set it to the inventory.
+     *
+     * @param player The player viewing this GUI
+     * @param slot   The inventory slot to render
+     */
+    private void renderSlot(Player player, int slot) {
+        int row = slot / MAX_INVENTORY_COLS + 1 + rowOffset;
+        int col = slot % MAX_INVENTORY_COLS + 1 + colOffset;
+        ItemStack itemStack = null;
+        GUIItem guiItem = getItem(row, col);
+        if(guiItem != null) {
+            guiItem.setChanged(false);
+            Material type = guiItem.getType();
+            if(type != null && type != Material.AIR) {
+                itemStack = guiItem.get(player);
             }
         }
 
-        // Clean up remnants of previous frame
-        int invSlot = -1;
-        for(int row = 1; row <= newInvRows; ++row) {
-            for(int col = 1; col <= MAX_INVENTORY_COLS; ++col) {
-                GUIItem item = null;
-                for(int i = layers.size() - 1; i >= 0; i--) {
-                    GUILayer layer = getLayer(i);
-                    GUIItem curItem = layer.getItem(row + rowOffset, col + colOffset);
-                    if(curItem != null && curItem.getType() != null && curItem.getType() != Material.AIR) {
-                        item = curItem;
-                        break;
-                    }
-                }
-                ++invSlot;
-                if(item != null) continue;
-                inventory.setItem(invSlot, null);
+        // Fill empty slots, if enabled
+        if(itemStack == null && fillEmpty) {
+            GUILayer bottomLayer = layers.get(0);
+            if(bottomLayer.getItem(row, col) == null && !bottomLayer.getDefaultMoveState()) {
+                itemStack = backgroundItem;
             }
         }
-        for(GUIItem item : changedItems) {
-            item.setChanged(false);
-        }
-
-        modules.forEach(module -> module.onUpdateTail(player, this));
+        inventory.setItem(slot, itemStack);
     }
 
     /**
@@ -421,14 +465,8 @@ public class GUIContainer {
      * @param movable Whether the item is movable or not
      */
     public void setMovable(int row, int col, boolean movable) {
-        for(int i = layers.size() - 1; i >= 0; i--) {
-            GUILayer layer = getLayer(i);
-            GUIItem item = layer.getItem(row, col);
-            if(item != null) {
-                item.setMovable(true);
-                return;
-            }
-        }
+        GUIItem item = getItem(row, col);
+        if(item != null) item.setMovable(true);
     }
 
     /**
@@ -439,12 +477,8 @@ public class GUIContainer {
      * @return The events of the slot
      */
     public GUIEventHandler getEventHandler(int row, int col) {
-        for(int i = layers.size() - 1; i >= 0; --i) {
-            GUILayer layer = getLayer(i);
-            GUIItem item = layer.getItem(row, col);
-            if(item != null) return item.getEvents();
-        }
-        return null;
+        GUIItem item = getItem(row, col);
+        return item == null ? null : item.getEvents();
     }
 
     /**
@@ -455,14 +489,8 @@ public class GUIContainer {
      * @param events The events to set the slot to
      */
     public void setEventHandler(int row, int col, GUIEventHandler events) {
-        for(int i = layers.size() - 1; i >= 0; i--) {
-            GUILayer layer = getLayer(i);
-            GUIItem item = layer.getItem(row, col);
-            if(item != null) {
-                item.setEvents(events);
-                return;
-            }
-        }
+        GUIItem item = getItem(row, col);
+        if(item != null) item.setEvents(events);
     }
 
     /**
@@ -473,14 +501,8 @@ public class GUIContainer {
      * @param event The GUIEvent to add
      */
     public void addEvent(int row, int col, GUIEvent event) {
-        for(int i = layers.size() - 1; i >= 0; i--) {
-            GUILayer layer = getLayer(i);
-            GUIItem item = layer.getItem(row, col);
-            if(item != null) {
-                item.addEvent(event);
-                return;
-            }
-        }
+        GUIItem item = getItem(row, col);
+        if(item != null) item.addEvent(event);
     }
 
     /**
@@ -491,14 +513,8 @@ public class GUIContainer {
      * @param event The GUIEvent to remove
      */
     public void removeEvent(int row, int col, GUIEvent event) {
-        for(int i = layers.size() - 1; i >= 0; i--) {
-            GUILayer layer = getLayer(i);
-            GUIItem item = layer.getItem(row, col);
-            if(item != null) {
-                item.removeEvent(event);
-                return;
-            }
-        }
+        GUIItem item = getItem(row, col);
+        if(item != null) item.removeEvent(event);
     }
 
     /**
@@ -509,14 +525,8 @@ public class GUIContainer {
      * @param eventClass The class of the GUIEvent that should be removed
      */
     public void removeEvent(int row, int col, Class<? extends GUIEvent> eventClass) {
-        for(int i = layers.size() - 1; i >= 0; i--) {
-            GUILayer layer = getLayer(i);
-            GUIItem item = layer.getItem(row, col);
-            if(item != null) {
-                item.removeEvent(eventClass);
-                return;
-            }
-        }
+        GUIItem item = getItem(row, col);
+        if(item != null) item.removeEvent(eventClass);
     }
 
     /**
@@ -528,12 +538,8 @@ public class GUIContainer {
      * @return Whether the slot contains the event
      */
     public boolean containsEvent(int row, int col, GUIEvent event) {
-        for(int i = layers.size() - 1; i >= 0; i--) {
-            GUILayer layer = getLayer(i);
-            GUIItem item = layer.getItem(row, col);
-            if(item != null) return item.containsEvent(event);
-        }
-        return false;
+        GUIItem item = getItem(row, col);
+        return item != null && item.containsEvent(event);
     }
 
     /**
@@ -545,12 +551,8 @@ public class GUIContainer {
      * @return Whether the slot contains the event
      */
     public boolean containsEvent(int row, int col, Class<? extends GUIEvent> eventClass) {
-        for(int i = layers.size() - 1; i >= 0; i--) {
-            GUILayer layer = getLayer(i);
-            GUIItem item = layer.getItem(row, col);
-            if(item != null) return item.containsEvent(eventClass);
-        }
-        return false;
+        GUIItem item = getItem(row, col);
+        return item != null && item.containsEvent(eventClass);
     }
 
     /**
@@ -560,14 +562,8 @@ public class GUIContainer {
      * @param col Column to remove events from
      */
     public void resetEvents(int row, int col) {
-        for(int i = layers.size() - 1; i >= 0; i--) {
-            GUILayer layer = getLayer(i);
-            GUIItem item = layer.getItem(row, col);
-            if(item != null) {
-                item.resetEvents();
-                return;
-            }
-        }
+        GUIItem item = getItem(row, col);
+        if(item != null) item.resetEvents();
     }
 
     /**
@@ -578,12 +574,8 @@ public class GUIContainer {
      * @return Whether the slot is movable
      */
     public boolean isMovable(int row, int col) {
-        for(int i = layers.size() - 1; i >= 0; i--) {
-            GUILayer layer = getLayer(i);
-            GUIItem item = layer.getItem(row, col);
-            if(item != null) return item.isMovable();
-        }
-        return defaultMoveState;
+        GUIItem item = getItem(row, col);
+        return item == null ? defaultMoveState : item.isMovable();
     }
 
     /**
@@ -594,12 +586,7 @@ public class GUIContainer {
      * @return Whether the item exists or not
      */
     public boolean itemExists(int row, int col) {
-        for(int i = layers.size() - 1; i >= 0; i--) {
-            GUILayer layer = getLayer(i);
-            GUIItem item = layer.getItem(row, col);
-            if(item != null) return true;
-        }
-        return false;
+        return getItem(row, col) != null;
     }
 
     /**
@@ -610,12 +597,16 @@ public class GUIContainer {
      * @return The <code>GUIItem</code> that is contained in that slot
      */
     public GUIItem getItem(int row, int col) {
-        for(int i = layers.size() - 1; i >= 0; i--) {
-            GUILayer layer = getLayer(i);
-            GUIItem item = layer.getItem(row, col);
-            if(item != null) return item;
+        if(row < 1 || col < 1 || row > inventoryRows || col > inventoryCols) {
+            for(int i = layers.size() - 1; i >= 0; i--) {
+                GUILayer layer = getLayer(i);
+                if(!layer.isVisible()) continue;
+                GUIItem item = layer.getItem(row, col);
+                if(item != null) return item;
+            }
+            return null;
         }
-        return null;
+        return composedItems[(row - 1) * inventoryCols + (col - 1)];
     }
 
     /**
@@ -661,7 +652,7 @@ public class GUIContainer {
      * @param newName The new name of the inventory
      */
     public void setInventoryName(Text newName) {
-        this.inventoryName = newName;
+        this.inventoryName = Text.memoizeImmutable(newName);
     }
 
     /**
@@ -839,7 +830,8 @@ public class GUIContainer {
     public void setRowOffset(int rowOffset) {
         if(this.rowOffset == rowOffset) return;
         this.rowOffset = rowOffset;
-        changeAllItems();
+        composeAll();
+        markAllDirty();
     }
 
     /**
@@ -859,7 +851,8 @@ public class GUIContainer {
     public void setColumnOffset(int colOffset) {
         if(this.colOffset == colOffset) return;
         this.colOffset = colOffset;
-        changeAllItems();
+        composeAll();
+        markAllDirty();
     }
 
     /**
@@ -870,7 +863,8 @@ public class GUIContainer {
     public void addRowOffset(int amount) {
         if(amount == 0) return;
         rowOffset += amount;
-        changeAllItems();
+        composeAll();
+        markAllDirty();
     }
 
     /**
@@ -881,7 +875,8 @@ public class GUIContainer {
     public void addColumnOffset(int amount) {
         if(amount == 0) return;
         colOffset += amount;
-        changeAllItems();
+        composeAll();
+        markAllDirty();
     }
 
     /**
@@ -905,7 +900,9 @@ public class GUIContainer {
      * @param layerName The name of the layer to remove
      */
     public void removeLayer(String layerName) {
-        layers.removeIf(guiLayer -> guiLayer.getName().equals(layerName));
+        if(!layers.removeIf(guiLayer -> guiLayer.getName().equals(layerName))) return;
+        composeAll();
+        markAllDirty();
     }
 
     /**
@@ -914,7 +911,9 @@ public class GUIContainer {
      * @param layer The layer to remove
      */
     public void removeLayer(GUILayer layer) {
-        layers.remove(layer);
+        if(!layers.remove(layer)) return;
+        composeAll();
+        markAllDirty();
     }
 
     /**
@@ -976,12 +975,9 @@ public class GUIContainer {
      * @return The highest level visible <code>GUILayer</code>
      */
     public GUILayer getTopLayer(int row, int col) {
-        for(int i = layers.size() - 1; i >= 0; --i) {
-            GUILayer layer = layers.get(i);
-            GUIItem item = layer.getItem(row, col);
-            if(item != null) return layer;
-        }
-        return layers.get(0);
+        if(row < 1 || col < 1 || row > inventoryRows || col > inventoryCols) return layers.get(0);
+        GUILayer layer = composedLayers[(row - 1) * inventoryCols + (col - 1)];
+        return layer == null ? layers.get(0) : layer;
     }
 
     /**
@@ -1052,6 +1048,7 @@ public class GUIContainer {
      */
     public void setBackgroundItem(ItemStack backgroundItem) {
         this.backgroundItem = backgroundItem;
+        markAllDirty();
     }
 
     /**
@@ -1071,6 +1068,28 @@ public class GUIContainer {
      */
     public void setFillEmpty(boolean fillEmpty) {
         this.fillEmpty = fillEmpty;
+        markAllDirty();
+    }
+
+    /**
+     * Returns whether this GUI only renders slots that have changed since the last update
+     *
+     * @return The incremental render state
+     */
+    public boolean isIncrementalRender() {
+        return incrementalRender;
+    }
+
+    /**
+     * Set whether this GUI only renders slots that have changed since the last update.
+     * <p>
+     * Disabling this renders every slot on every update. This is only needed if items are modified in ways that this
+     * GUI can't track, for example by writing directly into {@link GUILayer#getItemsAsArray()}.
+     *
+     * @param incrementalRender The new incremental render state
+     */
+    public void setIncrementalRender(boolean incrementalRender) {
+        this.incrementalRender = incrementalRender;
     }
 
     /**
@@ -11,6 +11,7 @@ import org.bukkit.Material;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 
+import java.util.BitSet;
 import java.util.List;
 import java.util.function.Consumer;
 
@@ -200,18 +201,68 @@ public class GUILayer {
     public void setItem(int row, int col, GUIItem item) {
         if(items[row - 1][col - 1] == item) return;
         GUIItem currentItem = getItemAbsolute(row, col);
-        items[row - 1][col - 1] = item;
+        setItemSilently(row, col, item);
         if(currentItem != null) {
             gui.getModules().forEach(module -> module.onItemRemove(gui, this, row, col, currentItem));
         }
-        if(item != null) item.setChanged(true);
-        else {
-            GUIItem curItem = gui.getItem(row, col);
-            if(curItem != null) curItem.setChanged(true);
-        }
         gui.getModules().forEach(module -> module.onItemSet(gui, this, row, col, item));
     }
 
+    /**
+     * Set an item from a <code>GUIItem</code> without notifying the GUI's modules of the change.
+     * The slot will still be rendered on the next update.
+     *
+     * @param row  The row that should be set
+     * @param col  The column that should be set
+     * @param item The GUIItem to use
+     */
+    public void setItemSilently(int row, int col, GUIItem item) {
+        GUIItem currentItem = items[row - 1][col - 1];
+        if(currentItem == item) return;
+        int index = getIndex(row, col);
+        items[row - 1][col - 1] = item;
+        if(currentItem != null) currentItem.removePlacement(this, index);
+        if(item != null) {
+            item.addPlacement(this, index);
+            item.setChanged(true);
+        }
+        gui.composeSlot(this, row, col);
+        markDirty(row, col);
+    }
+
+    /**
+     * Mark a slot of this layer as dirty so that it is rendered on the next update
+     *
+     * @param row The row of the slot
+     * @param col The column of the slot
+     */
+    public void markDirty(int row, int col) {
+        gui.markDirty(this, row, col);
+    }
+
+    /**
+     * Mark a set of slots of this layer as dirty so that they are rendered on the next update
+     *
+     * @param indices The indices of the slots, as returned by {@link GUILayer#getIndex(int, int)}
+     */
+    public void markDirty(BitSet indices) {
+        for(int index = indices.nextSetBit(0); index >= 0; index = indices.nextSetBit(index + 1)) {
+            gui.markDirty(this, index / inventoryCols + 1, index % inventoryCols + 1);
+        }
+    }
+
+    /**
+     * Get the flat index of a slot in this layer. Unlike {@link GUILayer#getSlot(int, int)}, the index is 0 based
+     * and is not affected by the offsets of the GUI.
+     *
+     * @param row The row to use
+     * @param col The column to use
+     * @return The index of the slot in this layer
+     */
+    public int getIndex(int row, int col) {
+        return (row - 1) * inventoryCols + (col - 1);
+    }
+
     /**
      * Remove any items that match the provided {@link SlotMatcher}
      *
@@ -362,12 +413,11 @@ public class GUILayer {
      * @param newCol Column 2
      */
     public void swapItems(int row, int col, int newRow, int newCol) {
-        --newRow; --newCol; --row; --col;
-        GUIItem itemToMove = items[row][col];
-        items[row][col] = items[newRow][newCol];
-        items[newRow][newCol] = itemToMove;
-        if(items[row][col] != null) items[row][col].setChanged(true);
-        if(items[newRow][newCol] != null) items[newRow][newCol].setChanged(true);
+        GUIItem itemToMove = items[row - 1][col - 1];
+        GUIItem otherItem = items[newRow - 1][newCol - 1];
+        setItemSilently(row, col, null);
+        setItemSilently(newRow, newCol, itemToMove);
+        setItemSilently(row, col, otherItem);
     }
 
     /**
@@ -525,7 +575,10 @@ public class GUILayer {
      * @param visibility Visibility to set this layer to
      */
     public void setVisibility(boolean visibility) {
+        if(this.visible == visibility) return;
         this.visible = visibility;
+        gui.composeAll();
+        gui.markAllDirty();
     }
 
     /**
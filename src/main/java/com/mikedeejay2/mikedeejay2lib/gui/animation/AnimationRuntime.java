@@ -3,85 +3,123 @@ package com.mikedeejay2.mikedeejay2lib.gui.animation;
 import com.mikedeejay2.mikedeejay2lib.gui.GUIContainer;
 import com.mikedeejay2.mikedeejay2lib.gui.item.AnimatedGUIItem;
 import com.mikedeejay2.mikedeejay2lib.gui.item.AnimatedGUIItemProperties;
-import com.mikedeejay2.mikedeejay2lib.runnable.EnhancedRunnable;
 import org.bukkit.entity.Player;
 
-import java.util.*;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
- * Runtime that times and executed <code>AnimatedGUIItems</code>
+ * Runtime that times and executed <code>AnimatedGUIItems</code> of a single open GUI.
+ * <p>
+ * The runtime does not run by itself, its items are scheduled on the shared {@link AnimationScheduler} which updates
+ * the GUI whenever a frame of one of its items changes.
  *
  * @author Mikedeejay2
  */
-public class AnimationRuntime extends EnhancedRunnable {
+public class AnimationRuntime {
+    /**
+     * The scheduler that animates the items of this runtime
+     */
+    protected final AnimationScheduler scheduler;
     /**
      * The map of items to be executed
      */
-    protected Map<AnimatedGUIItem, AnimatedGUIItemProperties> items;
+    protected final Map<AnimatedGUIItem, AnimatedGUIItemProperties> items;
+    /**
+     * The scheduled tasks of the items of this runtime
+     */
+    protected final Map<AnimatedGUIItem, AnimationScheduler.Task> tasks;
     /**
      * The GUIContainer that this AnimationRuntime is a child of
      */
-    protected GUIContainer gui;
+    protected final GUIContainer gui;
     /**
      * The player that has opened the GUI
      */
-    protected Player player;
+    protected final Player player;
+    /**
+     * The period of time between each update
+     */
+    protected final long period;
 
     /**
-     * Set the items of the AnimationRuntime
-     * <p>
-     * <b>This method MUST be run before the runtime is started, a <code>NullPointerException</code>
-     * will be thrown otherwise.</b>
+     * Construct a new <code>AnimationRuntime</code>
      *
-     * @param items The list of AnimatedGUIItems that this runtime will iterate through
+     * @param scheduler The scheduler that animates the items of this runtime
+     * @param gui       The {@link GUIContainer} that this <code>AnimationRuntime</code> is a child of
+     * @param player    The player that opened up the GUI
+     * @param items     The map of AnimatedGUIItems that this runtime will animate
+     * @param period    The period of time between each update
      */
-    public void setItems(Map<AnimatedGUIItem, AnimatedGUIItemProperties> items) {
+    public AnimationRuntime(AnimationScheduler scheduler, GUIContainer gui, Player player, Map<AnimatedGUIItem, AnimatedGUIItemProperties> items, long period) {
+        this.scheduler = scheduler;
+        this.gui = gui;
+        this.player = player;
         this.items = items;
+        this.tasks = new HashMap<>();
+        this.period = period <= 0 ? 1 : period;
     }
 
     /**
-     * Set the player that has opened the GUI
-     * <p>
-     * <b>This method MUST be run before the runtime is started, a <code>NullPointerException</code>
-     * will be thrown otherwise.</b>
-     *
-     * @param player The player that opened up the GUI
+     * Start this runtime. Every item is ticked once so that the first frames are visible as soon as the GUI opens,
+     * then scheduled on the {@link AnimationScheduler}.
      */
-    public void setPlayer(Player player) {
-        this.player = player;
+    public void start() {
+        boolean shouldUpdate = false;
+        for(Map.Entry<AnimatedGUIItem, AnimatedGUIItemProperties> entry : items.entrySet()) {
+            if(entry.getKey().tick(period, entry.getValue())) shouldUpdate = true;
+            schedule(entry.getKey(), entry.getValue());
+        }
+        if(shouldUpdate) update();
+    }
+
+    /**
+     * Stop this runtime, cancelling every scheduled item
+     */
+    public void stop() {
+        for(AnimationScheduler.Task task : tasks.values()) {
+            task.cancel();
+        }
+        tasks.clear();
     }
 
     /**
-     * Set the {@link GUIContainer} that this <code>AnimationRuntime</code> is a child of
-     * <p>
-     * <b>This method MUST be run before the runtime is started, a <code>NullPointerException</code>
-     * will be thrown otherwise.</b>
+     * Schedule an item on the {@link AnimationScheduler}, replacing any existing task of the item
      *
-     * @param gui The player that opened up the GUI
+     * @param item       The item to schedule
+     * @param properties The properties of the item
      */
-    public void setGUI(GUIContainer gui) {
-        this.gui = gui;
+    public void schedule(AnimatedGUIItem item, AnimatedGUIItemProperties properties) {
+        AnimationScheduler.Task task = tasks.put(item, scheduler.schedule(this, item, properties));
+        if(task != null) task.cancel();
     }
 
     /**
-     * Overridden {@link EnhancedRunnable#onRun()} method. This method iterates through all items in the items list and
-     * runs their {@link AnimatedGUIItem#tick(long, AnimatedGUIItemProperties)} method, if the tick method returns true
-     * the GUI is updated at the end of the run.
+     * Reschedule an item after its properties have been changed outside of the scheduler, for example when the
+     * animation is reset
+     *
+     * @param item The item to reschedule
      */
-    @Override
-    public void onRun() {
-        boolean shouldUpdate = false;
+    public void reschedule(AnimatedGUIItem item) {
+        AnimationScheduler.Task task = tasks.get(item);
+        if(task != null) scheduler.reschedule(task);
+    }
 
-//        Set<Map.Entry<AnimatedGUIItem, AnimatedGUIItemProperties>> copy = new HashSet<>(items.entrySet());
-//        Map.Entry<AnimatedGUIItem, AnimatedGUIItemProperties>[] copy = items.entrySet()
-//            .toArray((Map.Entry<AnimatedGUIItem, AnimatedGUIItemProperties>[]) new Map.Entry[0]);
+    /**
+     * Remove an item from the {@link AnimationScheduler}
+     *
+     * @param item The item to remove
+     */
+    public void unschedule(AnimatedGUIItem item) {
+        AnimationScheduler.Task task = tasks.remove(item);
+        if(task != null) task.cancel();
+    }
 
-        for(Map.Entry<AnimatedGUIItem, AnimatedGUIItemProperties> entry : items.entrySet()) {
-            AnimatedGUIItem item = entry.getKey();
-            AnimatedGUIItemProperties properties = entry.getValue();
-            if(item.tick(period, properties)) shouldUpdate = true;
-        }
-        if(shouldUpdate) gui.update(player);
+    /**
+     * Update the GUI of this runtime. Called by the {@link AnimationScheduler} once per tick if a frame has changed.
+     */
+    public void update() {
+        gui.update(player);
     }
 
     /**
@@ -110,4 +148,13 @@ public class AnimationRuntime extends EnhancedRunnable {
     public Player getPlayer() {
         return player;
     }
+
+    /**
+     * Get the period of time between each update
+     *
+     * @return The period
+     */
+    public long getPeriod() {
+        return period;
+    }
 }
@@ -0,0 +1,244 @@
+package com.mikedeejay2.mikedeejay2lib.gui.animation;
+
+import com.mikedeejay2.mikedeejay2lib.gui.item.AnimatedGUIItem;
+import com.mikedeejay2.mikedeejay2lib.gui.item.AnimatedGUIItemProperties;
+import com.mikedeejay2.mikedeejay2lib.gui.manager.GUIManager;
+import com.mikedeejay2.mikedeejay2lib.runnable.EnhancedRunnable;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A single scheduler that advances every {@link AnimatedGUIItem} of every open GUI of a plugin.
+ * <p>
+ * Items are stored in a timing wheel keyed by the tick that their next frame is due on, so each tick only visits the
+ * items whose frame actually changes. Every {@link AnimationRuntime} that had a frame change is updated once at the end
+ * of the tick, which only renders the slots that were marked dirty by the changed items.
+ * <p>
+ * Only one instance should be running per plugin, get it from {@link GUIManager#getAnimationScheduler()}.
+ *
+ * @author Mikedeejay2
+ */
+public class AnimationScheduler extends EnhancedRunnable {
+    /**
+     * The amount of buckets in the timing wheel. Must be a power of two.
+     */
+    protected static final int WHEEL_SIZE = 64;
+
+    /**
+     * The timing wheel, each bucket holds the tasks due on ticks that map to that bucket
+     */
+    protected final List<Task>[] wheel;
+
+    /**
+     * A spare bucket that is swapped with the bucket being processed to avoid allocating a new list every tick
+     */
+    protected List<Task> spareBucket;
+
+    /**
+     * The runtimes that had at least one frame change during the current tick
+     */
+    protected final Set<AnimationRuntime> changedRuntimes;
+
+    /**
+     * The current tick of this scheduler
+     */
+    protected long currentTick;
+
+    /**
+     * Construct a new <code>AnimationScheduler</code>
+     */
+    @SuppressWarnings("unchecked")
+    public AnimationScheduler() {
+        this.wheel = new List[WHEEL_SIZE];
+        for(int i = 0; i < WHEEL_SIZE; ++i) {
+            wheel[i] = new ArrayList<>();
+        }
+        this.spareBucket = new ArrayList<>();
+        this.changedRuntimes = new LinkedHashSet<>();
+        this.currentTick = 0;
+    }
+
+    /**
+     * Process every task due on this tick, then update every runtime that had a frame change.
+     */
+    @Override
+    public void onRun() {
+        ++currentTick;
+        int index = (int) (currentTick & (WHEEL_SIZE - 1));
+        List<Task> bucket = wheel[index];
+        if(!bucket.isEmpty()) {
+            wheel[index] = spareBucket;
+            for(Task task : bucket) {
+                if(task.cancelled || task.dueTick < currentTick || task.seenTick == currentTick) continue;
+                if((task.dueTick & (WHEEL_SIZE - 1)) != index) continue; // Stale entry, the task was rescheduled
+                task.seenTick = currentTick;
+                if(task.dueTick > currentTick) { // Due on a later rotation of the wheel
+                    wheel[index].add(task);
+                    continue;
+                }
+                runDueTask(task);
+            }
+            bucket.clear();
+            spareBucket = bucket;
+        }
+
+        if(changedRuntimes.isEmpty()) return;
+        for(AnimationRuntime runtime : changedRuntimes) {
+            runtime.update();
+        }
+        changedRuntimes.clear();
+    }
+
+    /**
+     * Tick the item of a task with the time that has passed since it was last ticked and schedule its next frame.
+     *
+     * @param task The task to run
+     */
+    protected void runDueTask(Task task) {
+        long elapsed = currentTick - task.lastTick;
+        task.lastTick = currentTick;
+        if(task.item.tick(elapsed, task.properties)) {
+            changedRuntimes.add(task.runtime);
+        }
+        if(!task.cancelled) reschedule(task);
+    }
+
+    /**
+     * Schedule an item to be animated by this scheduler.
+     *
+     * @param runtime    The runtime of the GUI that the item belongs to
+     * @param item       The item to animate
+     * @param properties The properties of the item
+     * @return The scheduled task, used for rescheduling or cancelling the item
+     */
+    public Task schedule(AnimationRuntime runtime, AnimatedGUIItem item, AnimatedGUIItemProperties properties) {
+        Task task = new Task(runtime, item, properties, currentTick);
+        reschedule(task);
+        return task;
+    }
+
+    /**
+     * Schedule the next frame of a task. If the item's animation has finished, the task won't be run again until it
+     * is rescheduled.
+     *
+     * @param task The task to reschedule
+     */
+    public void reschedule(Task task) {
+        if(task.cancelled) return;
+        long time = task.item.getTimeUntilNextFrame(task.properties);
+        if(time < 0) {
+            task.dueTick = -1;
+            return;
+        }
+        long period = task.runtime.getPeriod();
+        time = ((time + period - 1) / period) * period;
+        task.dueTick = currentTick + time;
+        wheel[(int) (task.dueTick & (WHEEL_SIZE - 1))].add(task);
+    }
+
+    /**
+     * Get the current tick of this scheduler
+     *
+     * @return The current tick
+     */
+    public long getCurrentTick() {
+        return currentTick;
+    }
+
+    /**
+     * A scheduled {@link AnimatedGUIItem} of an {@link AnimationRuntime}
+     *
+     * @author Mikedeejay2
+     */
+    public static class Task {
+        /**
+         * The runtime that the item belongs to
+         */
+        protected final AnimationRuntime runtime;
+
+        /**
+         * The item being animated
+         */
+        protected final AnimatedGUIItem item;
+
+        /**
+         * The properties of the item
+         */
+        protected final AnimatedGUIItemProperties properties;
+
+        /**
+         * The tick that the next frame of this item is due on, -1 if not scheduled
+         */
+        protected long dueTick;
+
+        /**
+         * The tick that the item was last ticked on
+         */
+        protected long lastTick;
+
+        /**
+         * The last tick that this task was visited on, used to ignore duplicate entries in the wheel
+         */
+        protected long seenTick;
+
+        /**
+         * Whether this task has been cancelled
+         */
+        protected boolean cancelled;
+
+        /**
+         * Construct a new <code>Task</code>
+         *
+         * @param runtime    The runtime that the item belongs to
+         * @param item       The item being animated
+         * @param properties The properties of the item
+         * @param lastTick   The tick that the item was last ticked on
+         */
+        protected Task(AnimationRuntime runtime, AnimatedGUIItem item, AnimatedGUIItemProperties properties, long lastTick) {
+            this.runtime = runtime;
+            this.item = item;
+            this.properties = properties;
+            this.dueTick = -1;
+            this.lastTick = lastTick;
+            this.seenTick = -1;
+            this.cancelled = false;
+        }
+
+        /**
+         * Cancel this task. A cancelled task is lazily removed from the wheel.
+         */
+        public void cancel() {
+            this.cancelled = true;
+        }
+
+        /**
+         * Returns whether this task has been cancelled
+         *
+         * @return Whether this task has been cancelled
+         */
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        /**
+         * Get the item being animated
+         *
+         * @return The item
+         */
+        public AnimatedGUIItem getItem() {
+            return item;
+        }
+
+        /**
+         * Get the properties of the item
+         *
+         * @return The properties
+         */
+        public AnimatedGUIItemProperties getProperties() {
+            return properties;
+        }
+    }
+}
@@ -164,6 +164,25 @@ public class AnimatedGUIItem extends GUIItem {
         return true;
     }
 
+    /**
+     * Get the amount of time until this item's animation progresses to its next frame. Mirrors the timing of
+     * {@link AnimatedGUIItem#tick(long, AnimatedGUIItemProperties)}.
+     *
+     * @param properties Reference to the item's properties
+     * @return The time until the next frame, -1 if the animation won't progress anymore
+     */
+    public long getTimeUntilNextFrame(AnimatedGUIItemProperties properties) {
+        if(frames.size() == 0) return -1;
+        if(properties.firstRun) return Math.max(delay - properties.wait + 1, 1);
+        int index = properties.index;
+        if(index >= frames.size()) {
+            if(!loop) return -1;
+            index -= frames.size();
+        }
+        long curWait = frames.get(index - 1 < 0 ? frames.size() - 1 : index - 1).getPeriod();
+        return Math.max(curWait - properties.wait, 1);
+    }
+
     /**
      * When a new frame should be called, this method runs.
      * This method does the work for modifying the item to the next frame.
@@ -224,7 +243,6 @@ public class AnimatedGUIItem extends GUIItem {
         GUIItem previousItem = layer.getItem(newRow, newCol);
 
         MovementType    movementType = frame.getMovementType();
-        GUIItem[][]     items        = layer.getItemsAsArray();
         switch(movementType) {
             case SWAP_ITEM: {
                 animSetItem(layer, this, newRow, newCol);
@@ -278,10 +296,7 @@ public class AnimatedGUIItem extends GUIItem {
     }
 
     private void animSetItem(GUILayer layer, GUIItem item, int row, int col) {
-        GUIItem[][] items = layer.getItemsAsArray();
-        items[row - 1][col - 1] = item;
-        GUIItem current = layer.getGUI().getItem(row, col);
-        if(current != null) current.setChanged(true);
+        layer.setItemSilently(row, col, item);
     }
 
     /**
@@ -462,9 +477,7 @@ public class AnimatedGUIItem extends GUIItem {
         if(!type.isLeftClick() && !type.isRightClick() && !type.isShiftClick()) return;
         if(resetOnClick && gui.containsModule(GUIAnimationModule.class)) {
             GUIAnimationModule module = gui.getModule(GUIAnimationModule.class);
-            AnimatedGUIItemProperties properties = module.getProperties(this);
-            properties.index = 0;
-            properties.wait = 0;
+            module.resetItem(this);
         }
     }
 
@@ -3,6 +3,7 @@ package com.mikedeejay2.mikedeejay2lib.gui.item;
 import com.google.common.collect.Multimap;
 import com.mikedeejay2.mikedeejay2lib.BukkitPlugin;
 import com.mikedeejay2.mikedeejay2lib.gui.GUIContainer;
+import com.mikedeejay2.mikedeejay2lib.gui.GUILayer;
 import com.mikedeejay2.mikedeejay2lib.gui.event.GUIEvent;
 import com.mikedeejay2.mikedeejay2lib.gui.event.GUIEventHandler;
 import com.mikedeejay2.mikedeejay2lib.item.IItemBuilder;
@@ -63,6 +64,12 @@ public class GUIItem implements Cloneable, IItemBuilder<ItemStack, GUIItem> {
      */
     protected @Nullable Map<String, Object> extraData;
 
+    /**
+     * A nullable map of the layers that this item is placed in to the indices of the slots that it occupies.
+     * Used to mark slots as dirty when this item changes.
+     */
+    protected @Nullable Map<GUILayer, BitSet> placements;
+
     /**
      * Construct a new <code>GUIItem</code>
      *
@@ -247,6 +254,37 @@ public class GUIItem implements Cloneable, IItemBuilder<ItemStack, GUIItem> {
      */
     public void setChanged(boolean changed) {
         this.changed = changed;
+        if(!changed || placements == null) return;
+        for(Map.Entry<GUILayer, BitSet> entry : placements.entrySet()) {
+            entry.getKey().markDirty(entry.getValue());
+        }
+    }
+
+    /**
+     * Register that this item has been placed into a slot of a layer. Called by {@link GUILayer} when this item is
+     * set.
+     *
+     * @param layer The layer that this item was placed in
+     * @param index The index of the slot in the layer
+     */
+    public void addPlacement(GUILayer layer, int index) {
+        if(placements == null) placements = new WeakHashMap<>();
+        placements.computeIfAbsent(layer, key -> new BitSet()).set(index);
+    }
+
+    /**
+     * Register that this item has been removed from a slot of a layer. Called by {@link GUILayer} when this item is
+     * removed.
+     *
+     * @param layer The layer that this item was removed from
+     * @param index The index of the slot in the layer
+     */
+    public void removePlacement(GUILayer layer, int index) {
+        if(placements == null) return;
+        BitSet indices = placements.get(layer);
+        if(indices == null) return;
+        indices.clear(index);
+        if(indices.isEmpty()) placements.remove(layer);
     }
 
     /**
@@ -957,6 +995,7 @@ public class GUIItem implements Cloneable, IItemBuilder<ItemStack, GUIItem> {
         if(events != null) {
             newItem.events = events.clone();
         }
+        newItem.placements = null;
         return newItem;
     }
 }
@@ -1,6 +1,7 @@
 package com.mikedeejay2.mikedeejay2lib.gui.manager;
 
 import com.mikedeejay2.mikedeejay2lib.BukkitPlugin;
+import com.mikedeejay2.mikedeejay2lib.gui.animation.AnimationScheduler;
 import org.bukkit.entity.Player;
 
 import java.util.HashMap;
@@ -23,6 +24,11 @@ public class GUIManager {
      */
     protected Map<Player, PlayerGUI> playerGUIs;
 
+    /**
+     * The {@link AnimationScheduler} shared by every animated GUI of this plugin, started on first use
+     */
+    protected AnimationScheduler animationScheduler;
+
     /**
      * Construct a new <code>GUIManager</code>
      *
@@ -94,4 +100,18 @@ public class GUIManager {
             playerGUI.getGUI().onClose(player);
         }
     }
+
+    /**
+     * Get the {@link AnimationScheduler} shared by every animated GUI of this plugin. The scheduler is started the
+     * first time that this method is called.
+     *
+     * @return The animation scheduler
+     */
+    public AnimationScheduler getAnimationScheduler() {
+        if(animationScheduler == null) {
+            animationScheduler = new AnimationScheduler();
+            animationScheduler.runTaskTimer(plugin, 1);
+        }
+        return animationScheduler;
+    }
 }
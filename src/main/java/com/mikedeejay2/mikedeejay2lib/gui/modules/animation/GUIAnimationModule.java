@@ -4,6 +4,7 @@ import com.mikedeejay2.mikedeejay2lib.BukkitPlugin;
 import com.mikedeejay2.mikedeejay2lib.gui.GUIContainer;
 import com.mikedeejay2.mikedeejay2lib.gui.GUILayer;
 import com.mikedeejay2.mikedeejay2lib.gui.animation.AnimationRuntime;
+import com.mikedeejay2.mikedeejay2lib.gui.animation.AnimationScheduler;
 import com.mikedeejay2.mikedeejay2lib.gui.item.AnimatedGUIItem;
 import com.mikedeejay2.mikedeejay2lib.gui.item.AnimatedGUIItemProperties;
 import com.mikedeejay2.mikedeejay2lib.gui.item.GUIItem;
@@ -57,19 +58,15 @@ public class GUIAnimationModule implements GUIModule {
 
     /**
      * On open injection. This method creates an <code>AnimationRuntime</code> that
-     * animates the GUI Items.
+     * animates the GUI Items on the plugin's shared {@link AnimationScheduler}.
      *
      * @param player The player that opened the GUI
      * @param gui    The GUI
      */
     @Override
     public void onOpenHead(Player player, GUIContainer gui) {
-        this.runtime = new AnimationRuntime();
-        runtime.setPlayer(player);
-        runtime.setGUI(gui);
-        runtime.setItems(animatedItems);
-        runtime.runTaskTimer(plugin, period);
-        runtime.onRun();
+        this.runtime = new AnimationRuntime(plugin.getGUIManager().getAnimationScheduler(), gui, player, animatedItems, period);
+        runtime.start();
     }
 
     /**
@@ -80,7 +77,7 @@ public class GUIAnimationModule implements GUIModule {
      */
     @Override
     public void onClose(Player player, GUIContainer gui) {
-        runtime.cancel();
+        runtime.stop();
         runtime = null;
         animatedItems.clear();
     }
@@ -94,6 +91,7 @@ public class GUIAnimationModule implements GUIModule {
     public void addItem(AnimatedGUIItem item, AnimatedGUIItemProperties properties) {
         if(animatedItems.containsKey(item) && animatedItems.get(item).equals(properties)) return;
         animatedItems.put(item, properties);
+        if(runtime != null) runtime.schedule(item, properties);
     }
 
     /**
@@ -103,6 +101,20 @@ public class GUIAnimationModule implements GUIModule {
      */
     public void removeItem(AnimatedGUIItem item) {
         animatedItems.remove(item);
+        if(runtime != null) runtime.unschedule(item);
+    }
+
+    /**
+     * Reset the animation of an item back to its first frame
+     *
+     * @param item The item to reset
+     */
+    public void resetItem(AnimatedGUIItem item) {
+        AnimatedGUIItemProperties properties = animatedItems.get(item);
+        if(properties == null) return;
+        properties.setIndex(0);
+        properties.setWait(0);
+        if(runtime != null) runtime.reschedule(item);
     }
 
     /**
@@ -290,6 +290,7 @@ public abstract class GUIExplorerBaseModule<F> extends GUIListModule {
         recurSearchItems(folder, guiItems, 0);
         folders.forEach(item -> searchList.add(new ImmutablePair<>(item, -1)));
         guiItems.forEach(item -> searchList.add(new ImmutablePair<>(item, -1)));
+        searchValid = true;
     }
 
     /**
@@ -386,6 +387,7 @@ public abstract class GUIExplorerBaseModule<F> extends GUIListModule {
      */
     public void setDeepSearch(boolean deepSearch) {
         this.deepSearch = deepSearch;
+        this.searchValid = false;
     }
 
     /**
@@ -8,6 +8,7 @@ import com.mikedeejay2.mikedeejay2lib.item.ItemBuilder;
 import com.mikedeejay2.mikedeejay2lib.text.Text;
 import com.mikedeejay2.mikedeejay2lib.util.chat.Colors;
 import com.mikedeejay2.mikedeejay2lib.util.head.Base64Head;
+import org.apache.commons.lang3.Validate;
 import org.bukkit.configuration.serialization.ConfigurationSerializable;
 import org.bukkit.inventory.ItemFlag;
 import org.jetbrains.annotations.NotNull;
@@ -16,10 +17,14 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
+import java.util.logging.Level;
 import java.util.stream.Collectors;
 
 /**
  * An object explorer for viewing and interacting with a {@link SerializableFileSystem}
+ * <p>
+ * Whenever a folder is opened, the child folders and objects of its first few child folders are loaded asynchronously,
+ * so that opening one of them doesn't have to read it from disk on the main thread.
  *
  * @see SerializableFileSystem
  * @author Mikedeejay2
@@ -35,6 +40,16 @@ public class GUISerializableFSExplorerModule<T extends ConfigurationSerializable
      */
     private static final ItemFlag[] PREVIEW_ITEM_FLAGS = Arrays.copyOf(ItemFlag.values(), 6);
 
+    /**
+     * The default maximum amount of child folders that are prefetched when a folder is opened
+     */
+    public static final int DEFAULT_PREFETCH_LIMIT = 8;
+
+    /**
+     * The maximum amount of child folders that are prefetched when a folder is opened, 0 to disable prefetching
+     */
+    protected int prefetchLimit;
+
     /**
      * Construct a new <code>GUISerializableFSExplorerModule</code>
      *
@@ -59,6 +74,7 @@ public class GUISerializableFSExplorerModule<T extends ConfigurationSerializable
         int rightCol,
         String layerName) {
         super(plugin, fileSystem.getRootFolder(), converter, viewMode, topRow, bottomRow, leftCol, rightCol, layerName);
+        this.prefetchLimit = DEFAULT_PREFETCH_LIMIT;
     }
 
     /**
@@ -163,4 +179,53 @@ public class GUISerializableFSExplorerModule<T extends ConfigurationSerializable
             .addEvent(new GUISwitchFolderEvent<>(this, folder));
         return guiItem;
     }
+
+    /**
+     * Set the current folder of this GUI and start prefetching its child folders
+     *
+     * @param folder The new folder to use
+     */
+    @Override
+    public void setFolder(SerializableFolderFS<T> folder) {
+        super.setFolder(folder);
+        prefetchChildren(folder);
+    }
+
+    /**
+     * Asynchronously load the contents of the first child folders of a folder, up to the prefetch limit
+     *
+     * @param folder The folder whose child folders will be prefetched
+     */
+    protected void prefetchChildren(SerializableFolderFS<T> folder) {
+        if(prefetchLimit <= 0) return;
+        folder.getFoldersAsync().thenAccept(folders -> {
+            if(this.folder != folder) return; // The viewer has already moved on to another folder
+            for(SerializableFolderFS<T> child : folders.subList(0, Math.min(prefetchLimit, folders.size()))) {
+                child.prefetch().exceptionally(throwable -> {
+                    plugin.getLogger().log(Level.WARNING, "Unable to prefetch folder " + child.getPath(), throwable);
+                    return null;
+                });
+            }
+        });
+    }
+
+    /**
+     * Get the maximum amount of child folders that are prefetched when a folder is opened
+     *
+     * @return The prefetch limit
+     */
+    public int getPrefetchLimit() {
+        return prefetchLimit;
+    }
+
+    /**
+     * Set the maximum amount of child folders that are prefetched when a folder is opened. Prefetched folders are
+     * kept in the file system's folder pool, so the limit should be smaller than the maximum pool size.
+     *
+     * @param prefetchLimit The new prefetch limit, 0 to disable prefetching
+     */
+    public void setPrefetchLimit(int prefetchLimit) {
+        Validate.isTrue(prefetchLimit >= 0, "Prefetch limit cannot be negative");
+        this.prefetchLimit = prefetchLimit;
+    }
 }
@@ -27,6 +27,8 @@ import org.jetbrains.annotations.Nullable;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
 
 /**
  * GUI Module that turns the GUI into a list that shows a list of different
@@ -161,6 +163,24 @@ public class GUIListModule implements GUIModule {
      */
     protected @Nullable Comparator<? super GUIItem> sorter;
 
+    /**
+     * Whether the list is currently in the order of the {@link GUIListModule#sorter}. While sorted, new items are
+     * inserted at their sorted position. Otherwise, new items are appended and the entire list is sorted once on the
+     * next update.
+     */
+    protected boolean sorted;
+
+    /**
+     * The generalized search text of each item in the list, built when the item is added to the list and rebuilt by
+     * {@link GUIListModule#refreshItem(GUIItem)}
+     */
+    protected final Map<GUIItem, String> searchIndex;
+
+    /**
+     * Whether the search list holds the results of the current search term
+     */
+    protected boolean searchValid;
+
     /**
      * The list of listeners for this list
      */
@@ -182,6 +202,7 @@ public class GUIListModule implements GUIModule {
         this.plugin = plugin;
         this.list = new ArrayList<>();
         this.searchList = new ArrayList<>();
+        this.searchIndex = new WeakHashMap<>();
         this.layerName = layerName;
         this.listeners = new ArrayList<>();
 
@@ -217,6 +238,8 @@ public class GUIListModule implements GUIModule {
         this.searchPreName = "&f&o";
         this.searchOffPreName = "&f&o";
         this.sorter = null;
+        this.sorted = true;
+        this.searchValid = false;
 
 
         this.searchItem = new GUIItem(
@@ -268,11 +291,13 @@ public class GUIListModule implements GUIModule {
 
         if(!changed) return;
 
-        if(sorter != null) {
+        if(sorter != null && !sorted) {
             list.sort(sorter);
+            sorted = true;
+            searchValid = false;
         }
 
-        if(searchMode) {
+        if(searchMode && !searchValid) {
             searchThroughList(player);
         }
         updateListControls(layer);
@@ -316,6 +341,9 @@ public class GUIListModule implements GUIModule {
     public void resetList() {
         list.clear();
         searchList.clear();
+        // Items added to the empty list are appended and sorted together on the next update
+        sorted = false;
+        searchValid = false;
         changed = true;
     }
 
@@ -341,7 +369,7 @@ public class GUIListModule implements GUIModule {
             layer.removeItem(row, col);
 
             if(listSize >= (i+1) + viewOffset) { // List items
-                GUIItem item = searchMode ? searchList.get(i + viewOffset).getKey() : list.get(i + viewOffset);
+                GUIItem item = getViewItem(i + viewOffset);
                 layer.setItem(row, col, item);
             } else if((i + 1) + viewOffset > listSize && !searchMode) { // End items
                 int index = (i + viewOffset) - listSize;
@@ -355,6 +383,16 @@ public class GUIListModule implements GUIModule {
         changed = false;
     }
 
+    /**
+     * Get the item being viewed at an index of the current list. In search mode, this is the index of the search list.
+     *
+     * @param index The index of the item being viewed
+     * @return The item at the index
+     */
+    protected GUIItem getViewItem(int index) {
+        return searchMode ? searchList.get(index).getKey() : list.get(index);
+    }
+
     /**
      * Update the controls for the list, called on {@link GUIListModule#onUpdateHead(Player player, GUIContainer gui)}
      *
@@ -436,13 +474,13 @@ public class GUIListModule implements GUIModule {
      * @param item The item that will be added to the list
      */
     public void addItem(GUIItem item) {
-        list.add(item);
-        changed = true;
-        listeners.forEach(listener -> listener.onAddItem(item, list.size() - 1));
+        int index = insertItem(list.size(), item);
+        listeners.forEach(listener -> listener.onAddItem(item, index));
     }
 
     /**
-     * Add a list item to the list based off of the <code>GUIContainer</code> that the list is located in
+     * Add a list item to the list based off of the <code>GUIContainer</code> that the list is located in. If the list
+     * has a sorter and is currently sorted, the item is inserted at its sorted position instead.
      *
      * @param row  The row to add the item to
      * @param col  The column to add the item to
@@ -450,38 +488,111 @@ public class GUIListModule implements GUIModule {
      * @param item The <code>GUIItem</code> to be added
      */
     public void addItem(int row, int col, GUIContainer gui, GUIItem item) {
-        int index = getItemIndex(row, col, gui);
-        list.add(index, item);
-        changed = true;
+        int index = insertItem(getItemIndex(row, col, gui), item);
         listeners.forEach(listener -> listener.onAddItem(item, index));
     }
 
     /**
-     * Add an item to the list at a specified index
+     * Add an item to the list at a specified index. If the list has a sorter and is currently sorted, the index is
+     * ignored and the item is inserted at its sorted position instead. Listeners are notified of the actual index.
      *
      * @param index The index to add the item at
      * @param item The item that will be added to the list
      */
     public void addItem(int index, GUIItem item) {
+        int newIndex = insertItem(index, item);
+        listeners.forEach(listener -> listener.onAddItem(item, newIndex));
+    }
+
+    /**
+     * Insert an item into the list and index it for searching. If the list has a sorter and is currently sorted,
+     * the item is inserted at its sorted position instead of the requested index.
+     *
+     * @param index The requested index of the item
+     * @param item  The item to insert
+     * @return The index that the item was inserted at
+     */
+    protected int insertItem(int index, GUIItem item) {
+        if(sorter != null && sorted) index = getSortedIndex(item);
         list.add(index, item);
+        indexItem(item);
+        searchValid = false;
         changed = true;
-        listeners.forEach(listener -> listener.onAddItem(item, index));
+        return index;
+    }
+
+    /**
+     * Binary search the index that an item should be inserted at to keep the list sorted. Items that compare equal
+     * to existing items are placed after them, the same as appending the item and sorting the list.
+     *
+     * @param item The item to find the index of
+     * @return The sorted index of the item
+     */
+    protected int getSortedIndex(GUIItem item) {
+        int low = 0;
+        int high = list.size();
+        while(low < high) {
+            int mid = (low + high) >>> 1;
+            if(sorter.compare(list.get(mid), item) <= 0) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+
+    /**
+     * Build the generalized search text of an item and store it in the search index. The text is built from the
+     * item's name and lore rather than its <code>ItemMeta</code>, so that items backed by a
+     * {@link com.mikedeejay2.mikedeejay2lib.item.TextItemBuilder} are indexed with their rendered text.
+     *
+     * @param item The item to index
+     * @return The generalized search text of the item
+     */
+    protected String indexItem(GUIItem item) {
+        String text = item.getMeta() == null ? "" : SearchUtil.indexTextFuzzy(item.getName(), item.getLore());
+        searchIndex.put(item, text);
+        return text;
+    }
+
+    /**
+     * Update an item in the list after its name, lore or anything that the sorter compares has been changed. The item
+     * is re-indexed for searching and moved to its new sorted position.
+     * <p>
+     * Items are only indexed for searching when they are added to the list, so this method must be called after an
+     * item in the list is modified for searches to match its new name and lore.
+     *
+     * @param item The item that has been changed
+     */
+    public void refreshItem(GUIItem item) {
+        int index = list.indexOf(item);
+        if(index == -1) return;
+        indexItem(item);
+        int newIndex = index;
+        if(sorter != null && sorted) {
+            list.remove(index);
+            newIndex = getSortedIndex(item);
+            list.add(newIndex, item);
+        }
+        searchValid = false;
+        changed = true;
+        if(newIndex != index) notifyReplaced(item, index, item, newIndex);
     }
 
     /**
-     * Set a list item to a slot in the list.
+     * Set a list item to a slot in the list. If the list has a sorter and is currently sorted, the new item is moved to
+     * its sorted position.
      *
      * @param index The index to set the item to
      * @param item The <code>GUIItem</code> to set
      */
     public void setItem(int index, GUIItem item) {
-        list.set(index, item);
-        changed = true;
-        listeners.forEach(listener -> listener.onSetItem(item, index));
+        GUIItem oldItem = list.get(index);
+        int newIndex = replaceItem(index, item);
+        notifyReplaced(oldItem, index, item, newIndex);
     }
 
     /**
-     * Set a list item to a slot in the list.
+     * Set a list item to a slot in the list. If the list has a sorter and is currently sorted, the new item is moved to
+     * its sorted position.
      *
      * @param row The row to get the item from
      * @param col The column to get the item from
@@ -490,9 +601,51 @@ public class GUIListModule implements GUIModule {
      */
     public void setItem(int row, int col, GUIContainer gui, GUIItem item) {
         int index = getItemIndex(row, col, gui);
-        list.set(index, item);
+        GUIItem oldItem = list.get(index);
+        int newIndex = replaceItem(index, item);
+        notifyReplaced(oldItem, index, item, newIndex);
+    }
+
+    /**
+     * Replace the item at an index of the list and index the new item for searching. If the list has a sorter and is
+     * currently sorted, the new item is moved to its sorted position.
+     *
+     * @param index The index of the item to replace
+     * @param item  The new item
+     * @return The index of the new item
+     */
+    protected int replaceItem(int index, GUIItem item) {
+        int newIndex = index;
+        if(sorter != null && sorted) {
+            list.remove(index);
+            newIndex = getSortedIndex(item);
+            list.add(newIndex, item);
+        } else {
+            list.set(index, item);
+        }
+        indexItem(item);
+        searchValid = false;
         changed = true;
-        listeners.forEach(listener -> listener.onSetItem(item, index));
+        return newIndex;
+    }
+
+    /**
+     * Notify the listeners that an item has been replaced. If the new item stayed at the same index, the listeners are
+     * notified of a set. Otherwise, they are notified of the removal of the old item followed by the addition of the
+     * new item at its new index.
+     *
+     * @param oldItem  The item that was replaced
+     * @param oldIndex The index of the item that was replaced
+     * @param item     The new item
+     * @param newIndex The index of the new item
+     */
+    protected void notifyReplaced(GUIItem oldItem, int oldIndex, GUIItem item, int newIndex) {
+        if(oldIndex == newIndex) {
+            listeners.forEach(listener -> listener.onSetItem(item, newIndex));
+            return;
+        }
+        listeners.forEach(listener -> listener.onRemoveItem(oldItem, oldIndex));
+        listeners.forEach(listener -> listener.onAddItem(item, newIndex));
     }
 
     /**
@@ -507,6 +660,11 @@ public class GUIListModule implements GUIModule {
             }
         }
         this.list = items;
+        for(GUIItem item : items) {
+            indexItem(item);
+        }
+        sorted = false;
+        searchValid = false;
         changed = true;
         for(int i = 0; i < items.size(); ++i) {
             for(Listener listener : listeners) {
@@ -522,6 +680,7 @@ public class GUIListModule implements GUIModule {
      */
     public void removeItem(int index) {
         GUIItem removedItem = list.remove(index);
+        searchValid = false;
         changed = true;
         listeners.forEach(listener -> listener.onRemoveItem(removedItem, index));
     }
@@ -532,9 +691,10 @@ public class GUIListModule implements GUIModule {
      * @param item The item to remove from this list
      */
     public void removeItem(GUIItem item) {
-        if(!list.contains(item)) return;
         int index = list.indexOf(item);
-        list.remove(item);
+        if(index == -1) return;
+        list.remove(index);
+        searchValid = false;
         changed = true;
         listeners.forEach(listener -> listener.onRemoveItem(item, index));
     }
@@ -595,6 +755,7 @@ public class GUIListModule implements GUIModule {
         int index = getItemIndex(row, col, gui);
         List<GUIItem> list = this.list;
         GUIItem item = list.remove(index);
+        searchValid = false;
         changed = true;
         listeners.forEach(listener -> listener.onRemoveItem(item, index));
     }
@@ -615,6 +776,7 @@ public class GUIListModule implements GUIModule {
      * @param search The search term that has been searched
      */
     public void enableSearchMode(String search) {
+        if(!searchMode || !search.equals(searchTerm)) searchValid = false;
         this.searchMode = true;
         this.searchTerm = search;
         changed = true;
@@ -626,23 +788,28 @@ public class GUIListModule implements GUIModule {
     public void disableSearchMode() {
         this.searchMode = false;
         this.searchTerm = null;
+        searchValid = false;
         changed = true;
     }
 
     /**
      * Search through this entire list, called in {@link GUIListModule#onUpdateHead(Player, GUIContainer)}
-     * if search mode is enabled.
+     * if search mode is enabled and the list or search term has changed since the previous search.
      *
      * @param player The player viewing the GUI
      */
     protected void searchThroughList(Player player) {
         searchMode = true;
         searchList.clear();
+        String term = SearchUtil.normalizeFuzzy(searchTerm);
         for(int i = 0; i < list.size(); ++i) {
             GUIItem item = list.get(i);
-            if(!SearchUtil.searchMetaFuzzy(item.getMeta(), searchTerm)) continue;
+            String text = searchIndex.get(item);
+            if(text == null) text = indexItem(item);
+            if(!text.contains(term)) continue;
             searchList.add(new MutablePair<>(item, i));
         }
+        searchValid = true;
     }
 
     /**
@@ -740,6 +907,7 @@ public class GUIListModule implements GUIModule {
      */
     public void setSearchTerm(String searchTerm) {
         this.searchTerm = searchTerm;
+        this.searchValid = false;
     }
 
     /**
@@ -779,7 +947,10 @@ public class GUIListModule implements GUIModule {
     }
 
     /**
-     * Get all <code>GUIItems</code> in this list
+     * Get all <code>GUIItems</code> in this list.
+     * <p>
+     * If the list is modified directly, {@link GUIListModule#refreshItem(GUIItem)} should be called for the changed
+     * items so that the list stays sorted and searchable.
      *
      * @return All items that this list is holding
      */
@@ -1199,6 +1370,7 @@ public class GUIListModule implements GUIModule {
      */
     public void setSorter(@Nullable Comparator<? super GUIItem> sorter) {
         this.sorter = sorter;
+        this.sorted = false;
         this.changed = true;
     }
 
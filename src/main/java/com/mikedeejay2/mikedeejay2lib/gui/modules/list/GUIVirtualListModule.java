@@ -0,0 +1,393 @@
+package com.mikedeejay2.mikedeejay2lib.gui.modules.list;
+
+import com.mikedeejay2.mikedeejay2lib.BukkitPlugin;
+import com.mikedeejay2.mikedeejay2lib.gui.GUIContainer;
+import com.mikedeejay2.mikedeejay2lib.gui.item.GUIItem;
+import com.mikedeejay2.mikedeejay2lib.util.structure.LRUMap;
+import org.apache.commons.lang3.Validate;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * An extension of {@link GUIListModule} that views the items of a {@link ListDataSource} instead of a list of
+ * {@link GUIItem GUIItems}.
+ * <p>
+ * Only the items in the current view and a small prefetch margin around it are created. Created items are cached by
+ * page in a bounded cache, so very large data sets can be viewed without creating an item for every entry.
+ * <p>
+ * Items of a virtual list can't be added, set or removed through the list module and are not sorted or searched by
+ * the list module, the data source is in charge of its items. Call {@link GUIVirtualListModule#refresh()} after the
+ * data source has changed.
+ *
+ * @author Mikedeejay2
+ */
+public class GUIVirtualListModule extends GUIListModule {
+    /**
+     * The default maximum amount of pages kept in the page cache
+     */
+    public static final int DEFAULT_MAX_CACHED_PAGES = 8;
+
+    /**
+     * The data source that items are fetched from
+     */
+    protected ListDataSource source;
+
+    /**
+     * The cache of fetched pages, mapped by page index
+     */
+    protected final LRUMap<Integer, List<GUIItem>> pageCache;
+
+    /**
+     * The amount of items per cached page, the view size of the list at the time of fetching
+     */
+    protected int pageSize;
+
+    /**
+     * The amount of pages before and after the current view that are fetched ahead of time
+     */
+    protected int prefetchPages;
+
+    /**
+     * The last known amount of entries in the data source
+     */
+    protected int size;
+
+    /**
+     * The asynchronous count of the data source that is currently in progress, null if none
+     */
+    protected @Nullable CompletableFuture<Integer> countFuture;
+
+    /**
+     * The players viewing this list and the GUI that they are viewing, updated once an asynchronous count completes
+     */
+    protected final Map<Player, GUIContainer> viewers;
+
+    /**
+     * Construct a new <code>GUIVirtualListModule</code>
+     *
+     * @param plugin    Reference to the <code>BukkitPlugin</code> of the plugin
+     * @param viewMode  The {@link ListViewMode} to used
+     * @param source    The {@link ListDataSource} that items are fetched from
+     * @param topRow    The top row of the list's bounding box
+     * @param bottomRow The bottom row of the list's bounding box
+     * @param leftCol   The left column of the list's bounding box
+     * @param rightCol  The right column of the list's bounding box
+     * @param layerName The name of the <code>GUILayer</code> that will be used, useful for if there are multiple lists
+     *                  in one GUI
+     */
+    public GUIVirtualListModule(
+        BukkitPlugin plugin,
+        ListViewMode viewMode,
+        ListDataSource source,
+        int topRow,
+        int bottomRow,
+        int leftCol,
+        int rightCol,
+        String layerName) {
+        super(plugin, viewMode, topRow, bottomRow, leftCol, rightCol, layerName);
+        Validate.notNull(source, "Data source cannot be null");
+        this.source = source;
+        this.pageCache = new LRUMap<>(DEFAULT_MAX_CACHED_PAGES);
+        this.pageSize = getViewSize();
+        this.prefetchPages = 1;
+        this.size = 0;
+        this.countFuture = null;
+        this.viewers = new HashMap<>();
+    }
+
+    /**
+     * Construct a new <code>GUIVirtualListModule</code>
+     *
+     * @param plugin    Reference to the <code>BukkitPlugin</code> of the plugin
+     * @param viewMode  The {@link ListViewMode} to used
+     * @param source    The {@link ListDataSource} that items are fetched from
+     * @param topRow    The top row of the list's bounding box
+     * @param bottomRow The bottom row of the list's bounding box
+     * @param leftCol   The left column of the list's bounding box
+     * @param rightCol  The right column of the list's bounding box
+     */
+    public GUIVirtualListModule(
+        BukkitPlugin plugin,
+        ListViewMode viewMode,
+        ListDataSource source,
+        int topRow,
+        int bottomRow,
+        int leftCol,
+        int rightCol) {
+        this(plugin, viewMode, source, topRow, bottomRow, leftCol, rightCol, "list");
+    }
+
+    /**
+     * Construct a new <code>GUIVirtualListModule</code>
+     *
+     * @param plugin    Reference to the <code>BukkitPlugin</code> of the plugin
+     * @param source    The {@link ListDataSource} that items are fetched from
+     * @param topRow    The top row of the list's bounding box
+     * @param bottomRow The bottom row of the list's bounding box
+     * @param leftCol   The left column of the list's bounding box
+     * @param rightCol  The right column of the list's bounding box
+     */
+    public GUIVirtualListModule(
+        BukkitPlugin plugin,
+        ListDataSource source,
+        int topRow,
+        int bottomRow,
+        int leftCol,
+        int rightCol) {
+        this(plugin, ListViewMode.PAGED, source, topRow, bottomRow, leftCol, rightCol, "list");
+    }
+
+    /**
+     * Overridden method to count the data source when the GUI is opened
+     *
+     * @param player The player that is viewing the GUI
+     * @param gui    The GUI
+     */
+    @Override
+    public void onOpenHead(Player player, GUIContainer gui) {
+        viewers.put(player, gui);
+        if(viewers.size() == 1) refresh();
+        super.onOpenHead(player, gui);
+    }
+
+    /**
+     * Overridden method to fetch the items of the current view before displaying the list
+     *
+     * @param player The player that is viewing the GUI
+     * @param gui    The GUI
+     */
+    @Override
+    public void onUpdateHead(Player player, GUIContainer gui) {
+        int viewSize = getViewSize();
+        if(pageSize != viewSize) {
+            pageCache.clear();
+            pageSize = viewSize;
+        }
+        if(changed) prefetch();
+        super.onUpdateHead(player, gui);
+    }
+
+    /**
+     * Overridden method to stop updating the GUI of a player that has closed the GUI
+     *
+     * @param player The player that closed the GUI
+     * @param gui    The GUI
+     */
+    @Override
+    public void onClose(Player player, GUIContainer gui) {
+        viewers.remove(player);
+        super.onClose(player, gui);
+    }
+
+    /**
+     * Fetch every page in the current view and the prefetch margin around it that isn't already cached
+     */
+    protected void prefetch() {
+        if(size <= 0) return;
+        int viewOffset = getViewOffset();
+        int first = Math.max(viewOffset / pageSize - prefetchPages, 0);
+        int last = Math.min((viewOffset + getViewSize() - 1) / pageSize + prefetchPages, (size - 1) / pageSize);
+        for(int page = first; page <= last; ++page) {
+            getPage(page);
+        }
+    }
+
+    /**
+     * Get a page of items, fetching it from the data source if it isn't cached
+     *
+     * @param page The index of the page
+     * @return The items of the page
+     */
+    protected List<GUIItem> getPage(int page) {
+        List<GUIItem> items = pageCache.get(page);
+        if(items != null) return items;
+        int start = page * pageSize;
+        items = source.fetch(start, Math.min(start + pageSize, size));
+        pageCache.put(page, items);
+        return items;
+    }
+
+    /**
+     * Get the item at an index of the data source, fetching its page if it isn't cached
+     *
+     * @param index The index of the item being viewed
+     * @return The item at the index, null if the data source didn't provide an item
+     */
+    @Override
+    protected GUIItem getViewItem(int index) {
+        List<GUIItem> items = getPage(index / pageSize);
+        int pageIndex = index % pageSize;
+        return pageIndex < items.size() ? items.get(pageIndex) : null;
+    }
+
+    /**
+     * Count the entries of the data source. If the data source counts asynchronously, the previous size is used until
+     * the count has completed, after which every viewer's GUI is updated.
+     */
+    protected void recount() {
+        CompletableFuture<Integer> future = source.countAsync();
+        if(future == null) {
+            countFuture = null;
+            size = source.size();
+            return;
+        }
+        countFuture = future;
+        future.thenAccept(count -> Bukkit.getScheduler().runTask(plugin, () -> {
+            if(countFuture != future) return;
+            countFuture = null;
+            if(count == size) return;
+            size = count;
+            pageCache.clear();
+            changed = true;
+            viewers.forEach((player, gui) -> gui.update(player));
+        }));
+    }
+
+    /**
+     * Clear the page cache and count the data source again. Should be called after the data source has changed.
+     */
+    public void refresh() {
+        pageCache.clear();
+        recount();
+        changed = true;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * A virtual list does not search through its items, the data source should only provide matching items.
+     */
+    @Override
+    protected void searchThroughList(Player player) {
+        searchMode = true;
+        searchList.clear();
+        searchValid = true;
+    }
+
+    /**
+     * Get a list's index based off of its row and column in the GUI.
+     *
+     * @param row The row to get the item from
+     * @param col The column to get the item from
+     * @param gui The GUI to get the index from
+     * @return The index based off of the row and column
+     */
+    @Override
+    public int getItemIndex(int row, int col, GUIContainer gui) {
+        Validate.isTrue(row >= topLeft.getKey() && row <= bottomRight.getKey(), "Passed out of bounds row to getItemIndex");
+        Validate.isTrue(col >= topLeft.getValue() && col <= bottomRight.getValue(), "Passed out of bounds row to getItemIndex");
+        return (row - topLeft.getKey()) * getSlotsPerCol() + (col - topLeft.getValue()) + getViewOffset();
+    }
+
+    /**
+     * Get a list item based off of the <code>GUIContainer</code> that the list is located in
+     * and the row and column of the item.
+     *
+     * @param row The row to get the item from
+     * @param col The column to get the item from
+     * @param gui The <code>GUIContainer</code> that this list is located in
+     * @return The <code>GUIItem</code> at the location.
+     */
+    @Override
+    public GUIItem getItem(int row, int col, GUIContainer gui) {
+        int index = getItemIndex(row, col, gui);
+        if(index >= size || index < 0) return null;
+        return getViewItem(index);
+    }
+
+    /**
+     * Get a list item from its index in the data source.
+     *
+     * @param index The index to get the item from
+     * @return The <code>GUIItem</code> at the index
+     */
+    @Override
+    public GUIItem getItem(int index) {
+        return getViewItem(index);
+    }
+
+    /**
+     * Get the last known amount of entries in the data source
+     *
+     * @return The size of the list
+     */
+    @Override
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Get the last known amount of entries in the data source
+     *
+     * @return The size of the list
+     */
+    @Override
+    public int getCurSize() {
+        return size;
+    }
+
+    /**
+     * Get the data source that items are fetched from
+     *
+     * @return The data source
+     */
+    public ListDataSource getDataSource() {
+        return source;
+    }
+
+    /**
+     * Set the data source that items are fetched from. The list is refreshed with the new data source.
+     *
+     * @param source The new data source
+     */
+    public void setDataSource(ListDataSource source) {
+        Validate.notNull(source, "Data source cannot be null");
+        this.source = source;
+        refresh();
+    }
+
+    /**
+     * Get the amount of pages before and after the current view that are fetched ahead of time
+     *
+     * @return The amount of prefetched pages
+     */
+    public int getPrefetchPages() {
+        return prefetchPages;
+    }
+
+    /**
+     * Set the amount of pages before and after the current view that are fetched ahead of time
+     *
+     * @param prefetchPages The new amount of prefetched pages
+     */
+    public void setPrefetchPages(int prefetchPages) {
+        Validate.isTrue(prefetchPages >= 0, "Prefetch pages cannot be negative");
+        this.prefetchPages = prefetchPages;
+    }
+
+    /**
+     * Get the maximum amount of pages kept in the page cache
+     *
+     * @return The maximum amount of cached pages
+     */
+    public int getMaxCachedPages() {
+        return pageCache.getMaxSize();
+    }
+
+    /**
+     * Set the maximum amount of pages kept in the page cache. Should be large enough to hold the current view and the
+     * prefetched pages around it.
+     *
+     * @param maxCachedPages The new maximum amount of cached pages
+     */
+    public void setMaxCachedPages(int maxCachedPages) {
+        Validate.isTrue(maxCachedPages > 0, "Max cached pages must be positive");
+        pageCache.setMaxSize(maxCachedPages);
+    }
+}
@@ -0,0 +1,45 @@
+package com.mikedeejay2.mikedeejay2lib.gui.modules.list;
+
+import com.mikedeejay2.mikedeejay2lib.gui.item.GUIItem;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A source of items for a {@link GUIVirtualListModule}. Instead of holding every entry as a {@link GUIItem}, a data
+ * source only creates the items of the range that is currently being viewed.
+ * <p>
+ * The data source is in charge of the order of its items, a virtual list does not sort or search through items.
+ *
+ * @author Mikedeejay2
+ */
+public interface ListDataSource {
+    /**
+     * Get the amount of entries in this data source
+     *
+     * @return The amount of entries
+     */
+    int size();
+
+    /**
+     * Create the <code>GUIItems</code> of a range of entries in this data source. Only called on the main thread.
+     *
+     * @param start The index of the first entry, inclusive
+     * @param end   The index of the last entry, exclusive
+     * @return The list of items in the range. Can be smaller than the range if entries have been removed.
+     */
+    List<GUIItem> fetch(int start, int end);
+
+    /**
+     * Count the entries in this data source asynchronously. Used instead of {@link ListDataSource#size()} when
+     * counting is expensive, for example a database query.
+     * <p>
+     * The default implementation returns null, meaning that {@link ListDataSource#size()} is used.
+     *
+     * @return A future that completes with the amount of entries, null to use {@link ListDataSource#size()}
+     */
+    default @Nullable CompletableFuture<Integer> countAsync() {
+        return null;
+    }
+}
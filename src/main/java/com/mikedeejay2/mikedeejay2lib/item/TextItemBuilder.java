@@ -5,6 +5,7 @@ import com.google.common.collect.Multimap;
 import com.mikedeejay2.mikedeejay2lib.BukkitPlugin;
 import com.mikedeejay2.mikedeejay2lib.text.Text;
 import com.mikedeejay2.mikedeejay2lib.util.chat.Colors;
+import com.mikedeejay2.mikedeejay2lib.util.structure.LRUMap;
 import org.bukkit.ChatColor;
 import org.bukkit.Material;
 import org.bukkit.NamespacedKey;
@@ -33,15 +34,25 @@ import java.util.*;
 public class TextItemBuilder extends ItemBuilder {
     private static final Text RESET_TEXT = Text.of(ChatColor.RESET.toString());
 
+    /**
+     * The maximum amount of locales that rendered items are cached for
+     */
+    protected static final int MAX_CACHED_LOCALES = 8;
+
     protected Text name;
     protected List<Text> lore;
-    protected String previousLocale;
+
+    /**
+     * Items that have been rendered for each locale since this builder was last changed. A <code>null</code> key holds
+     * the item rendered without a locale.
+     */
+    protected LRUMap<String, ItemStack> renderCache;
 
     protected TextItemBuilder(IItemBuilder<?, ?> builder) {
         super(builder);
         this.name = null;
         this.lore = new ArrayList<>();
-        this.previousLocale = null;
+        this.renderCache = new LRUMap<>(MAX_CACHED_LOCALES);
         if(builder instanceof TextItemBuilder) {
             TextItemBuilder textBuilder = (TextItemBuilder) builder;
             setName(textBuilder.getNameText());
@@ -58,26 +69,36 @@ public class TextItemBuilder extends ItemBuilder {
 
     @Override
     public ItemStack get() {
-        updateMeta();
-        return super.get();
+        ItemStack cached = getCached(null);
+        if(cached != null) return cached;
+        updateMeta(name == null ? null : Colors.format(name.get()), loreToString());
+        return cache(null, super.get());
     }
 
     @Override
     public ItemStack get(Player player) {
-        updateMeta(player);
-        return super.get();
+        String locale = player.getLocale();
+        ItemStack cached = getCached(locale);
+        if(cached != null) return cached;
+        updateMeta(name == null ? null : Colors.format(name.get(player)), loreToString(player));
+        return cache(locale, super.get());
     }
 
     @Override
     public ItemStack get(CommandSender sender) {
-        updateMeta(sender);
-        return super.get();
+        String locale = sender instanceof Player ? ((Player) sender).getLocale() : null;
+        ItemStack cached = getCached(locale);
+        if(cached != null) return cached;
+        updateMeta(name == null ? null : Colors.format(name.get(sender)), loreToString(sender));
+        return cache(locale, super.get());
     }
 
     @Override
     public ItemStack get(String locale) {
-        updateMeta(locale);
-        return super.get();
+        ItemStack cached = getCached(locale);
+        if(cached != null) return cached;
+        updateMeta(name == null ? null : Colors.format(name.get(locale)), loreToString(locale));
+        return cache(locale, super.get());
     }
 
     @Override
@@ -131,7 +152,7 @@ public class TextItemBuilder extends ItemBuilder {
 
     @Override
     public TextItemBuilder setName(Text text) {
-        this.name = text;
+        this.name = Text.memoizeImmutable(text);
         this.changed = true;
         return this;
     }
@@ -233,7 +254,7 @@ public class TextItemBuilder extends ItemBuilder {
     @Override
     public TextItemBuilder addLore(Text... lore) {
         for(Text cur : lore) {
-            this.lore.add(RESET_TEXT.concat(cur));
+            this.lore.add(Text.memoizeImmutable(RESET_TEXT.concat(cur)));
         }
         this.changed = true;
         return this;
@@ -248,7 +269,7 @@ public class TextItemBuilder extends ItemBuilder {
     public TextItemBuilder addLore(int index, Text... lore) {
         int curIndex = index;
         for(Text cur : lore) {
-            this.lore.add(curIndex++, RESET_TEXT.concat(cur));
+            this.lore.add(curIndex++, Text.memoizeImmutable(RESET_TEXT.concat(cur)));
         }
         this.changed = true;
         return this;
@@ -444,6 +465,7 @@ public class TextItemBuilder extends ItemBuilder {
     public TextItemBuilder clone() {
         TextItemBuilder builder = (TextItemBuilder) super.clone();
         builder.lore = new ArrayList<>(this.lore);
+        builder.renderCache = new LRUMap<>(MAX_CACHED_LOCALES);
         return builder;
     }
 
@@ -452,36 +474,37 @@ public class TextItemBuilder extends ItemBuilder {
         this.setLore(this.meta.getLore() == null ? Collections.emptyList() : this.meta.getLore());
     }
 
-    private void updateMeta(Player player) {
-        String locale = player.getLocale();
-        if(isCacheValid(locale)) return;
-        checkAndUpdateMeta(name == null ? null : Colors.format(name.get(player)), loreToString(player));
-        this.previousLocale = player.getLocale();
-    }
-
-    private void updateMeta(CommandSender sender) {
-        String locale = sender instanceof Player ? ((Player) sender).getLocale() : null;
-        if(isCacheValid(locale)) return;
-        checkAndUpdateMeta(name == null ? null : Colors.format(name.get(sender)), loreToString(sender));
-        this.previousLocale = locale;
-    }
-
-    private void updateMeta(String locale) {
-        if(isCacheValid(locale)) return;
-        checkAndUpdateMeta(name == null ? null : Colors.format(name.get(locale)), loreToString(locale));
-        this.previousLocale = locale;
+    private void updateMeta(String name, List<String> lore) {
+        this.meta.setDisplayName(name);
+        this.meta.setLore(lore);
+        this.changed = true;
     }
 
-    private void updateMeta() {
-        if(isCacheValid(null)) return;
-        checkAndUpdateMeta(name == null ? null : Colors.format(name.get()), loreToString());
-        this.previousLocale = null;
+    /**
+     * Get the item previously rendered for a locale. If this builder has been changed since the last render, every
+     * cached item is discarded.
+     *
+     * @param locale The locale to get, null for no locale
+     * @return The cached item, null if not cached
+     */
+    private ItemStack getCached(String locale) {
+        if(changed || item == null) {
+            renderCache.clear();
+            return null;
+        }
+        return renderCache.get(locale);
     }
 
-    private void checkAndUpdateMeta(String name, List<String> lore) {
-        this.meta.setDisplayName(name);
-        this.meta.setLore(lore);
-        this.changed = true;
+    /**
+     * Cache an item that has been rendered for a locale
+     *
+     * @param locale The locale that the item was rendered for, null for no locale
+     * @param stack  The rendered item
+     * @return The rendered item
+     */
+    private ItemStack cache(String locale, ItemStack stack) {
+        if(stack != null) renderCache.put(locale, stack);
+        return stack;
     }
 
     private List<String> loreToString(Player player) {
@@ -507,9 +530,4 @@ public class TextItemBuilder extends ItemBuilder {
         lore.forEach(cur -> strLore.add(Colors.format(cur.get())));
         return strLore;
     }
-
-    private boolean isCacheValid(String locale) {
-        return ((item != null) && ((locale == null && previousLocale == null) ||
-            (locale != null && locale.equals(previousLocale)))) && !changed;
-    }
 }
@@ -2,13 +2,17 @@ package com.mikedeejay2.mikedeejay2lib.particle;
 
 import com.mikedeejay2.mikedeejay2lib.particle.module.effect.ParticleEModule;
 import com.mikedeejay2.mikedeejay2lib.particle.shape.ParticleShape;
+import com.mikedeejay2.mikedeejay2lib.particle.shape.ShapeGeometry;
 import com.mikedeejay2.mikedeejay2lib.util.math.MathUtil;
 import org.bukkit.Location;
 import org.bukkit.World;
+import org.bukkit.entity.Player;
 import org.bukkit.util.Vector;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Represents a group of particle shapes to create a particle effect.
@@ -30,14 +34,47 @@ public class ParticleEffect {
     protected ParticleData particleData;
 
     /**
-     * The vectors of untranslated (baked) vectors
+     * The full level of detail of this effect, baked with the density of each shape. Its front buffer is only read or
+     * swapped while holding the buffer lock.
      */
-    protected List<Vector> untranslatedVecs;
+    protected final DetailLevel baseLevel;
 
     /**
-     * The vectors of translated vectors
+     * The lock for swapping and displaying the front buffer
      */
-    protected List<Vector> translatedVecs;
+    protected final Object bufferLock;
+
+    /**
+     * The lower levels of detail of this effect, sorted by distance. Levels are iterated while transforming on another
+     * thread, so the list is copied on write.
+     */
+    protected final List<DetailLevel> detailLevels;
+
+    /**
+     * Whether points on the far side of this effect from a viewer are culled, only for hollow shapes
+     */
+    protected boolean backFaceCulling;
+
+    /**
+     * The 3x4 affine matrix of this effect's transformations
+     */
+    protected final double[] effectMatrix;
+
+    /**
+     * The 3x4 affine matrix of the parent system's transformations
+     */
+    protected final double[] systemMatrix;
+
+    /**
+     * The 3x4 affine matrix that transforms baked points to translated points, the system matrix multiplied by the
+     * effect matrix
+     */
+    protected final double[] matrix;
+
+    /**
+     * The 3x4 affine matrix of the shape currently being transformed, the matrix with the shape's origin applied
+     */
+    protected final double[] shapeMatrix;
 
     /**
      * The scale vector for this effect
@@ -97,8 +134,14 @@ public class ParticleEffect {
      */
     public ParticleEffect(Location origin, ParticleData particleData) {
         this.shapes = new ArrayList<>();
-        this.untranslatedVecs = new ArrayList<>();
-        this.translatedVecs = new ArrayList<>();
+        this.baseLevel = new DetailLevel(0, 1);
+        this.bufferLock = new Object();
+        this.detailLevels = new CopyOnWriteArrayList<>();
+        this.backFaceCulling = false;
+        this.effectMatrix = MathUtil.getIdentityMatrix(new double[12]);
+        this.systemMatrix = MathUtil.getIdentityMatrix(new double[12]);
+        this.matrix = new double[12];
+        this.shapeMatrix = new double[12];
         this.scaleVec = new Vector(1, 1, 1);
         this.rotationVec = new Vector(0, 0, 0);
         this.translationVec = new Vector(0, 0, 0);
@@ -320,16 +363,18 @@ public class ParticleEffect {
      * <p>
      * Bake time varies between density of shapes, amount of shapes, and complexity
      * of shapes. Average time can be between 0.5ms to 3ms.
+     * <p>
+     * The geometry of shapes is shared through the {@link com.mikedeejay2.mikedeejay2lib.particle.shape.ShapeGeometryCache},
+     * so shapes that were already baked by any effect are not generated again.
      *
      * @return A reference to this <code>ParticleEffect</code>
      */
     public ParticleEffect bake() {
         modules.forEach(module -> module.onBakeHead(this));
-        List<Vector> newList = new ArrayList<>();
-        for(ParticleShape shape : shapes) {
-            newList.addAll(shape.getShape());
+        baseLevel.bake(shapes);
+        for(DetailLevel level : detailLevels) {
+            level.bake(shapes);
         }
-        untranslatedVecs = newList;
         modules.forEach(module -> module.onBakeTail(this));
         baked = true;
         updated = false;
@@ -338,33 +383,17 @@ public class ParticleEffect {
 
     /**
      * Update this <code>ParticleEffect</code>. Apply transformations and run respective modules.
+     * <p>
+     * The scale, rotation and translation are combined into a single matrix that every baked point is transformed
+     * with, no objects are allocated per point.
      *
      * @return A reference to this <code>ParticleEffect</code>
      */
     public ParticleEffect update() {
         modules.forEach(module -> module.onUpdateHead(this));
         if(updated) return this;
-        List<Vector> newList = new ArrayList<>();
-        Vector originVec = origin.toVector();
-        double rotX      = rotationVec.getX();
-        double rotY      = rotationVec.getY();
-        double rotZ      = rotationVec.getZ();
-        for(Vector vector : untranslatedVecs) {
-            Vector newVec = vector.clone();
-            if(scaleVec.getX() != 1.0 || scaleVec.getY() != 1.0 || scaleVec.getZ() != 1.0) {
-                newVec.subtract(originVec);
-                newVec.multiply(scaleVec);
-                newVec.add(originVec);
-            }
-            if(rotX != 1.0 || rotY != 1.0 || rotZ != 1.0) {
-                MathUtil.rotateAroundOrigin(originVec, newVec, rotX, rotY, rotZ);
-            }
-            if(translationVec.getX() != 1.0 || translationVec.getY() != 1.0 || translationVec.getZ() != 1.0) {
-                newVec.add(translationVec);
-            }
-            newList.add(newVec);
-        }
-        translatedVecs = newList;
+        MathUtil.getAffineMatrix(effectMatrix, origin.toVector(), scaleVec, rotationVec, translationVec);
+        transform();
         modules.forEach(module -> module.onUpdateTail(this));
         updated = true;
         return this;
@@ -380,27 +409,29 @@ public class ParticleEffect {
      */
     public ParticleEffect updateSystem(ParticleSystem system) {
         if(system.isUpdated()) return this;
-        Vector originVec         = system.getOrigin().toVector();
-        Vector sysScaleVec       = system.getScaleVec();
-        Vector sysRotationVec    = system.getRotationVec();
-        Vector sysTranslationVec = system.getTranslationVec();
-        double rotX = sysRotationVec.getX();
-        double rotY = sysRotationVec.getY();
-        double rotZ = sysRotationVec.getZ();
-        for(Vector vector : translatedVecs) {
-            if(sysScaleVec.getX() != 1.0 || sysScaleVec.getY() != 1.0 || sysScaleVec.getZ() != 1.0) {
-                vector.subtract(originVec);
-                vector.multiply(scaleVec);
-                vector.add(originVec);
-            }
-            if(rotX != 1.0 || rotY != 1.0 || rotZ != 1.0) {
-                MathUtil.rotateAroundOrigin(originVec, vector, rotX, rotY, rotZ);
-            }
-            if(sysTranslationVec.getX() != 1.0 || sysTranslationVec.getY() != 1.0 || sysTranslationVec.getZ() != 1.0) {
-                vector.add(translationVec);
+        MathUtil.getAffineMatrix(systemMatrix, system.getOrigin().toVector(),
+                                 system.getScaleVec(), system.getRotationVec(), system.getTranslationVec());
+        transform();
+        return this;
+    }
+
+    /**
+     * Transform the baked points into the back buffers with the system and effect matrices, then swap them with the
+     * front buffers. The back buffers are never being displayed, so the transformation can safely run on another
+     * thread.
+     */
+    protected void transform() {
+        MathUtil.multiplyAffine(matrix, systemMatrix, effectMatrix);
+        baseLevel.transform(matrix, shapeMatrix);
+        for(DetailLevel level : detailLevels) {
+            level.transform(matrix, shapeMatrix);
+        }
+        synchronized(bufferLock) {
+            baseLevel.swap();
+            for(DetailLevel level : detailLevels) {
+                level.swap();
             }
         }
-        return this;
     }
 
     /**
@@ -410,17 +441,163 @@ public class ParticleEffect {
      */
     public ParticleEffect display() {
         modules.forEach(module -> module.onDisplayHead(this));
-        for(Vector vector : translatedVecs) {
-            Location location = vector.toLocation(world);
-            world.spawnParticle(
-                particleData.getParticle(), location, particleData.getCount(),
-                particleData.getOffsetX(), particleData.getOffsetY(), particleData.getOffsetZ(),
-                particleData.getSpeed(), particleData.getData(), particleData.isForce());
+        synchronized(bufferLock) {
+            PointBuffer buffer = baseLevel.front;
+            for(int i = 0; i < buffer.size; ++i) {
+                world.spawnParticle(
+                    particleData.getParticle(), buffer.x[i], buffer.y[i], buffer.z[i], particleData.getCount(),
+                    particleData.getOffsetX(), particleData.getOffsetY(), particleData.getOffsetZ(),
+                    particleData.getSpeed(), particleData.getData(), particleData.isForce());
+            }
         }
         modules.forEach(module -> module.onDisplayTail(this));
         return this;
     }
 
+    /**
+     * Display this <code>ParticleEffect</code> to a collection of viewers. Each viewer is only sent the points that are
+     * within the view distance of the viewer, and viewers that are out of range of the entire effect are skipped.
+     * <p>
+     * Must be called on the main thread.
+     *
+     * @param viewers      The players to display the effect to
+     * @param viewDistance The maximum distance between a viewer and a displayed point
+     * @return A reference to this <code>ParticleEffect</code>
+     */
+    public ParticleEffect display(Collection<? extends Player> viewers, double viewDistance) {
+        return display(viewers, viewDistance, false);
+    }
+
+    /**
+     * Display this <code>ParticleEffect</code> to a collection of viewers. For each viewer:
+     * <ul>
+     *     <li>Viewers that are out of range of the entire effect are skipped</li>
+     *     <li>The level of detail is chosen from the distance between the viewer and the effect</li>
+     *     <li>Points further than the view distance are culled</li>
+     *     <li>If frustum culling is enabled, points behind the viewer are culled</li>
+     *     <li>If back face culling is enabled, points on the far side of the effect are culled</li>
+     * </ul>
+     * Must be called on the main thread.
+     *
+     * @param viewers        The players to display the effect to
+     * @param viewDistance   The maximum distance between a viewer and a displayed point
+     * @param frustumCulling Whether points behind the viewer should be culled
+     * @return A reference to this <code>ParticleEffect</code>
+     */
+    public ParticleEffect display(Collection<? extends Player> viewers, double viewDistance, boolean frustumCulling) {
+        modules.forEach(module -> module.onDisplayHead(this));
+        double maxDistSq = viewDistance * viewDistance;
+        synchronized(bufferLock) {
+            PointBuffer base = baseLevel.front;
+            double centerX = (base.minX + base.maxX) * 0.5;
+            double centerY = (base.minY + base.maxY) * 0.5;
+            double centerZ = (base.minZ + base.maxZ) * 0.5;
+            for(Player player : viewers) {
+                if(player.getWorld() != world) continue;
+                Location eye = player.getEyeLocation();
+                double viewX = eye.getX(), viewY = eye.getY(), viewZ = eye.getZ();
+                double effectDistSq = base.distanceSquared(viewX, viewY, viewZ);
+                if(effectDistSq > maxDistSq) continue;
+                PointBuffer buffer = getDetailBuffer(effectDistSq);
+                Vector direction = frustumCulling ? eye.getDirection() : null;
+
+                for(int i = 0; i < buffer.size; ++i) {
+                    double pointX = buffer.x[i], pointY = buffer.y[i], pointZ = buffer.z[i];
+                    double distX = pointX - viewX, distY = pointY - viewY, distZ = pointZ - viewZ;
+                    if(distX * distX + distY * distY + distZ * distZ > maxDistSq) continue;
+                    if(direction != null &&
+                        distX * direction.getX() + distY * direction.getY() + distZ * direction.getZ() < 0) continue;
+                    if(backFaceCulling &&
+                        (pointX - centerX) * distX + (pointY - centerY) * distY + (pointZ - centerZ) * distZ > 0) continue;
+                    player.spawnParticle(
+                        particleData.getParticle(), pointX, pointY, pointZ, particleData.getCount(),
+                        particleData.getOffsetX(), particleData.getOffsetY(), particleData.getOffsetZ(),
+                        particleData.getSpeed(), particleData.getData());
+                }
+            }
+        }
+        modules.forEach(module -> module.onDisplayTail(this));
+        return this;
+    }
+
+    /**
+     * Get the front buffer of the level of detail for a viewer at a distance. Must be called while holding the
+     * buffer lock.
+     *
+     * @param distSq The squared distance between the viewer and the effect
+     * @return The front point buffer of the level of detail
+     */
+    protected PointBuffer getDetailBuffer(double distSq) {
+        PointBuffer buffer = baseLevel.front;
+        for(DetailLevel level : detailLevels) {
+            if(level.distance * level.distance > distSq) break;
+            buffer = level.front;
+        }
+        return buffer;
+    }
+
+    /**
+     * Add a lower level of detail to this <code>ParticleEffect</code>. Viewers at least the distance away from the
+     * effect are shown points baked with the density of each shape multiplied by the density multiplier.
+     * <p>
+     * The effect is baked again on its next update.
+     *
+     * @param distance          The minimum distance between a viewer and the effect for the level to be used
+     * @param densityMultiplier The multiplier of the density of each shape, usually less than 1
+     * @return A reference to this <code>ParticleEffect</code>
+     */
+    public ParticleEffect addDetailLevel(double distance, double densityMultiplier) {
+        DetailLevel level = new DetailLevel(distance, densityMultiplier);
+        int index = 0;
+        while(index < detailLevels.size() && detailLevels.get(index).distance <= distance) ++index;
+        detailLevels.add(index, level);
+        baked = false;
+        return this;
+    }
+
+    /**
+     * Remove all lower levels of detail from this <code>ParticleEffect</code>
+     * <p>
+     * The effect is baked again on its next update.
+     *
+     * @return A reference to this <code>ParticleEffect</code>
+     */
+    public ParticleEffect resetDetailLevels() {
+        detailLevels.clear();
+        baked = false;
+        return this;
+    }
+
+    /**
+     * Get the list of lower levels of detail of this <code>ParticleEffect</code>, sorted by distance
+     *
+     * @return The list of detail levels
+     */
+    public List<DetailLevel> getDetailLevels() {
+        return detailLevels;
+    }
+
+    /**
+     * Get whether points on the far side of this effect from a viewer are culled
+     *
+     * @return Whether back face culling is enabled
+     */
+    public boolean isBackFaceCulling() {
+        return backFaceCulling;
+    }
+
+    /**
+     * Set whether points on the far side of this effect from a viewer are culled. A point is on the far side if the
+     * direction from the center of the effect to the point faces away from the viewer.
+     * <p>
+     * This should only be enabled for effects of hollow, convex shapes such as hollow spheres and cubes.
+     *
+     * @param backFaceCulling Whether back face culling should be enabled
+     */
+    public void setBackFaceCulling(boolean backFaceCulling) {
+        this.backFaceCulling = backFaceCulling;
+    }
+
     /**
      * Get the list of all shapes of this <code>ParticleEffect</code>
      *
@@ -431,27 +608,71 @@ public class ParticleEffect {
     }
 
     /**
-     * Get the list of all untranslated vectors of this <code>ParticleEffect</code>.
+     * Get a list of all untranslated vectors of this <code>ParticleEffect</code>.
      * <p>
-     * Modifying this list without cloning it could result in concurrency issues if
-     * the particle is currently being displayed!
+     * The list is a copy of the baked points, modifying it does not modify this effect.
      *
      * @return The untranslated vectors list
      */
     public List<Vector> getUntranslatedVecs() {
-        return untranslatedVecs;
+        List<Vector> vectors = new ArrayList<>(baseLevel.size);
+        for(int i = 0; i < baseLevel.geometries.size(); ++i) {
+            ShapeGeometry geometry = baseLevel.geometries.get(i);
+            double[] x = geometry.getX(), y = geometry.getY(), z = geometry.getZ();
+            double originX = baseLevel.origins[i * 3];
+            double originY = baseLevel.origins[i * 3 + 1];
+            double originZ = baseLevel.origins[i * 3 + 2];
+            for(int j = 0; j < geometry.getSize(); ++j) {
+                vectors.add(new Vector(x[j] + originX, y[j] + originY, z[j] + originZ));
+            }
+        }
+        return vectors;
     }
 
     /**
-     * Get the list of all translated vectors of this <code>ParticleEffect</code>
+     * Get a list of all translated vectors of this <code>ParticleEffect</code>
      * <p>
-     * Modifying this list without cloning it could result in concurrency issues if
-     * the particle is currently being displayed!
+     * The list is a copy of the translated points, modifying it does not modify this effect.
      *
      * @return The translated vectors list
      */
     public List<Vector> getTranslatedVecs() {
-        return translatedVecs;
+        synchronized(bufferLock) {
+            PointBuffer buffer = baseLevel.front;
+            List<Vector> vectors = new ArrayList<>(buffer.size);
+            for(int i = 0; i < buffer.size; ++i) {
+                vectors.add(new Vector(buffer.x[i], buffer.y[i], buffer.z[i]));
+            }
+            return vectors;
+        }
+    }
+
+    /**
+     * Get the amount of baked points of this <code>ParticleEffect</code>
+     *
+     * @return The amount of points
+     */
+    public int getSize() {
+        return baseLevel.size;
+    }
+
+    /**
+     * Get the buffer of translated points that is currently being displayed. The buffer must only be read while
+     * synchronized on {@link ParticleEffect#getBufferLock()}, as it is swapped out by updates.
+     *
+     * @return The front point buffer
+     */
+    public PointBuffer getPoints() {
+        return baseLevel.front;
+    }
+
+    /**
+     * Get the lock that must be held while reading the front point buffer
+     *
+     * @return The buffer lock
+     */
+    public Object getBufferLock() {
+        return bufferLock;
     }
 
     /**
@@ -635,4 +856,278 @@ public class ParticleEffect {
     public List<ParticleEModule> getModules() {
         return modules;
     }
+
+    /**
+     * A buffer of translated points stored as separate x, y and z arrays, along with the bounding box of the points
+     *
+     * @author Mikedeejay2
+     */
+    public static class PointBuffer {
+        /**
+         * The x coordinates of the points
+         */
+        protected double[] x;
+
+        /**
+         * The y coordinates of the points
+         */
+        protected double[] y;
+
+        /**
+         * The z coordinates of the points
+         */
+        protected double[] z;
+
+        /**
+         * The amount of points in this buffer
+         */
+        protected int size;
+
+        /**
+         * The minimum corner of the bounding box of the points
+         */
+        protected double minX, minY, minZ;
+
+        /**
+         * The maximum corner of the bounding box of the points
+         */
+        protected double maxX, maxY, maxZ;
+
+        /**
+         * Construct a new empty <code>PointBuffer</code>
+         */
+        public PointBuffer() {
+            this.x = new double[0];
+            this.y = new double[0];
+            this.z = new double[0];
+            this.size = 0;
+        }
+
+        /**
+         * Make sure that this buffer can hold an amount of points, reallocating the arrays if they are too small
+         *
+         * @param capacity The amount of points
+         */
+        protected void ensureCapacity(int capacity) {
+            if(x.length >= capacity) return;
+            this.x = new double[capacity];
+            this.y = new double[capacity];
+            this.z = new double[capacity];
+        }
+
+        /**
+         * Calculate the bounding box of the points in this buffer
+         */
+        protected void calculateBounds() {
+            double minX = Double.POSITIVE_INFINITY, minY = Double.POSITIVE_INFINITY, minZ = Double.POSITIVE_INFINITY;
+            double maxX = Double.NEGATIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY, maxZ = Double.NEGATIVE_INFINITY;
+            for(int i = 0; i < size; ++i) {
+                double curX = x[i], curY = y[i], curZ = z[i];
+                if(curX < minX) minX = curX;
+                if(curX > maxX) maxX = curX;
+                if(curY < minY) minY = curY;
+                if(curY > maxY) maxY = curY;
+                if(curZ < minZ) minZ = curZ;
+                if(curZ > maxZ) maxZ = curZ;
+            }
+            this.minX = minX; this.minY = minY; this.minZ = minZ;
+            this.maxX = maxX; this.maxY = maxY; this.maxZ = maxZ;
+        }
+
+        /**
+         * Get the squared distance between a position and the closest point of the bounding box of this buffer
+         *
+         * @param posX The x coordinate of the position
+         * @param posY The y coordinate of the position
+         * @param posZ The z coordinate of the position
+         * @return The squared distance, infinity if this buffer is empty
+         */
+        public double distanceSquared(double posX, double posY, double posZ) {
+            if(size == 0) return Double.POSITIVE_INFINITY;
+            double distX = Math.max(Math.max(minX - posX, posX - maxX), 0);
+            double distY = Math.max(Math.max(minY - posY, posY - maxY), 0);
+            double distZ = Math.max(Math.max(minZ - posZ, posZ - maxZ), 0);
+            return distX * distX + distY * distY + distZ * distZ;
+        }
+
+        /**
+         * Get the x coordinates of the points. Only the first {@link PointBuffer#getSize()} values are points.
+         *
+         * @return The x coordinates
+         */
+        public double[] getX() {
+            return x;
+        }
+
+        /**
+         * Get the y coordinates of the points. Only the first {@link PointBuffer#getSize()} values are points.
+         *
+         * @return The y coordinates
+         */
+        public double[] getY() {
+            return y;
+        }
+
+        /**
+         * Get the z coordinates of the points. Only the first {@link PointBuffer#getSize()} values are points.
+         *
+         * @return The z coordinates
+         */
+        public double[] getZ() {
+            return z;
+        }
+
+        /**
+         * Get the amount of points in this buffer
+         *
+         * @return The amount of points
+         */
+        public int getSize() {
+            return size;
+        }
+    }
+
+    /**
+     * A level of detail of a <code>ParticleEffect</code>, baked with a multiplied density.
+     * <p>
+     * The baked points are the shared geometry of each shape and the origin of each shape. The origin is applied when
+     * the geometry is transformed, so the geometry itself never has to be copied.
+     *
+     * @author Mikedeejay2
+     */
+    public static class DetailLevel {
+        /**
+         * The minimum distance between a viewer and the effect for this level to be used
+         */
+        protected final double distance;
+
+        /**
+         * The multiplier of the density of each shape
+         */
+        protected final double densityMultiplier;
+
+        /**
+         * The baked geometry of each shape
+         */
+        protected final List<ShapeGeometry> geometries;
+
+        /**
+         * The x, y and z coordinates of the origin of each shape's geometry
+         */
+        protected double[] origins;
+
+        /**
+         * The amount of baked points
+         */
+        protected int size;
+
+        /**
+         * The translated points that are being displayed
+         */
+        protected PointBuffer front;
+
+        /**
+         * The translated points that are being written to by an update
+         */
+        protected PointBuffer back;
+
+        /**
+         * Construct a new <code>DetailLevel</code>
+         *
+         * @param distance          The minimum distance between a viewer and the effect for this level to be used
+         * @param densityMultiplier The multiplier of the density of each shape
+         */
+        public DetailLevel(double distance, double densityMultiplier) {
+            this.distance = distance;
+            this.densityMultiplier = densityMultiplier;
+            this.geometries = new ArrayList<>();
+            this.origins = new double[0];
+            this.size = 0;
+            this.front = new PointBuffer();
+            this.back = new PointBuffer();
+        }
+
+        /**
+         * Bake the geometry of a list of shapes into this level
+         *
+         * @param shapes The shapes to bake
+         */
+        protected void bake(List<ParticleShape> shapes) {
+            geometries.clear();
+            if(origins.length < shapes.size() * 3) origins = new double[shapes.size() * 3];
+            int newSize = 0;
+            for(int i = 0; i < shapes.size(); ++i) {
+                ParticleShape shape = shapes.get(i);
+                ShapeGeometry geometry = shape.getGeometry(densityMultiplier);
+                Vector origin = shape.getGeometryOrigin();
+                geometries.add(geometry);
+                origins[i * 3] = origin.getX();
+                origins[i * 3 + 1] = origin.getY();
+                origins[i * 3 + 2] = origin.getZ();
+                newSize += geometry.getSize();
+            }
+            size = newSize;
+        }
+
+        /**
+         * Transform the geometry of each shape into the back buffer of this level and calculate its bounding box
+         *
+         * @param matrix      The 3x4 affine matrix to transform the points with
+         * @param shapeMatrix A 3x4 matrix to store the matrix of each shape in, the matrix with the shape's origin
+         *                    applied
+         */
+        protected void transform(double[] matrix, double[] shapeMatrix) {
+            back.ensureCapacity(size);
+            System.arraycopy(matrix, 0, shapeMatrix, 0, 12);
+            int offset = 0;
+            for(int i = 0; i < geometries.size(); ++i) {
+                ShapeGeometry geometry = geometries.get(i);
+                double originX = origins[i * 3], originY = origins[i * 3 + 1], originZ = origins[i * 3 + 2];
+                shapeMatrix[3]  = matrix[0] * originX + matrix[1] * originY + matrix[2]  * originZ + matrix[3];
+                shapeMatrix[7]  = matrix[4] * originX + matrix[5] * originY + matrix[6]  * originZ + matrix[7];
+                shapeMatrix[11] = matrix[8] * originX + matrix[9] * originY + matrix[10] * originZ + matrix[11];
+                MathUtil.transformPoints(shapeMatrix, geometry.getX(), geometry.getY(), geometry.getZ(),
+                                         back.x, back.y, back.z, offset, geometry.getSize());
+                offset += geometry.getSize();
+            }
+            back.size = size;
+            back.calculateBounds();
+        }
+
+        /**
+         * Swap the front and back buffers of this level. Must be called while holding the effect's buffer lock.
+         */
+        protected void swap() {
+            PointBuffer buffer = back;
+            back = front;
+            front = buffer;
+        }
+
+        /**
+         * Get the minimum distance between a viewer and the effect for this level to be used
+         *
+         * @return The distance
+         */
+        public double getDistance() {
+            return distance;
+        }
+
+        /**
+         * Get the multiplier of the density of each shape
+         *
+         * @return The density multiplier
+         */
+        public double getDensityMultiplier() {
+            return densityMultiplier;
+        }
+
+        /**
+         * Get the amount of baked points of this level
+         *
+         * @return The amount of points
+         */
+        public int getSize() {
+            return size;
+        }
+    }
 }
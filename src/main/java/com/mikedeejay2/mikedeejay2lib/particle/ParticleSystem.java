@@ -2,6 +2,7 @@ package com.mikedeejay2.mikedeejay2lib.particle;
 
 import com.mikedeejay2.mikedeejay2lib.BukkitPlugin;
 import com.mikedeejay2.mikedeejay2lib.particle.module.system.ParticleSModule;
+import com.mikedeejay2.mikedeejay2lib.particle.runtime.ParticleDisplayRuntime;
 import com.mikedeejay2.mikedeejay2lib.particle.runtime.ParticleRuntime;
 import org.bukkit.Location;
 import org.bukkit.World;
@@ -78,6 +79,22 @@ public class ParticleSystem {
      */
     protected ParticleRuntime runtime;
 
+    /**
+     * This particle system's display runtime for displaying the computed particles on the main thread
+     */
+    protected ParticleDisplayRuntime displayRuntime;
+
+    /**
+     * The maximum distance between a player and a particle for the particle to be sent to the player.
+     * If less than or equal to 0, particles are spawned in the world for every player.
+     */
+    protected double viewDistance;
+
+    /**
+     * Whether particles behind a player are culled. Only used if the system has a view distance.
+     */
+    protected boolean frustumCulling;
+
     /**
      * The list of global particle system modules
      */
@@ -109,6 +126,8 @@ public class ParticleSystem {
         this.updateRate = updateRate;
         this.modules = new ArrayList<>();
         this.updated = true;
+        this.viewDistance = 0;
+        this.frustumCulling = false;
     }
 
     /**
@@ -137,12 +156,17 @@ public class ParticleSystem {
     /**
      * Display these particles with the current runtime settings.
      * All effects, transformations, shapes, etc can still be modified at run-time however.
+     * <p>
+     * The particles are computed asynchronously by a {@link ParticleRuntime} and displayed on the main thread by a
+     * {@link ParticleDisplayRuntime}.
      *
      * @return A reference to this <code>ParticleSystem</code>
      */
     public ParticleSystem display() {
         this.runtime = new ParticleRuntime(this, updateRate);
         this.runtime.runTaskTimerCountedAsynchronously(plugin, tickRate, playTicks);
+        this.displayRuntime = new ParticleDisplayRuntime(this);
+        this.displayRuntime.runTaskTimerCounted(plugin, tickRate, playTicks);
         return this;
     }
 
@@ -567,4 +591,42 @@ public class ParticleSystem {
     public void setUpdated(boolean updated) {
         this.updated = updated;
     }
+
+    /**
+     * Get the maximum distance between a player and a particle for the particle to be sent to the player
+     *
+     * @return The view distance, less than or equal to 0 if particles are spawned in the world for every player
+     */
+    public double getViewDistance() {
+        return viewDistance;
+    }
+
+    /**
+     * Set the maximum distance between a player and a particle for the particle to be sent to the player.
+     * If less than or equal to 0, particles are spawned in the world for every player.
+     *
+     * @param viewDistance The new view distance
+     */
+    public void setViewDistance(double viewDistance) {
+        this.viewDistance = viewDistance;
+    }
+
+    /**
+     * Get whether particles behind a player are culled. Only used if the system has a view distance.
+     *
+     * @return Whether frustum culling is enabled
+     */
+    public boolean isFrustumCulling() {
+        return frustumCulling;
+    }
+
+    /**
+     * Set whether particles behind a player are culled. Only used if the system has a view distance, see
+     * {@link ParticleSystem#setViewDistance(double)}.
+     *
+     * @param frustumCulling Whether frustum culling should be enabled
+     */
+    public void setFrustumCulling(boolean frustumCulling) {
+        this.frustumCulling = frustumCulling;
+    }
 }
@@ -0,0 +1,76 @@
+package com.mikedeejay2.mikedeejay2lib.particle.runtime;
+
+import com.mikedeejay2.mikedeejay2lib.particle.ParticleEffect;
+import com.mikedeejay2.mikedeejay2lib.particle.ParticleSystem;
+import com.mikedeejay2.mikedeejay2lib.runnable.EnhancedRunnable;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * The runtime which displays the particles of a <code>ParticleSystem</code> on the main thread.
+ * <p>
+ * The points of each effect are computed by the asynchronous {@link ParticleRuntime} into a back buffer, this runtime
+ * only displays the latest complete front buffer of each effect. Like the {@link ParticleRuntime}, this runtime
+ * should not be declared outside a <code>ParticleSystem</code>, it is created by {@link ParticleSystem#display()}.
+ *
+ * @see ParticleSystem
+ *
+ * @author Mikedeejay2
+ */
+public class ParticleDisplayRuntime extends EnhancedRunnable {
+    /**
+     * The particle system that this runtime is displaying
+     */
+    protected ParticleSystem system;
+
+    /**
+     * The list of particle effects (from the particle system)
+     */
+    protected List<ParticleEffect> effects;
+
+    /**
+     * Construct a new <code>ParticleDisplayRuntime</code>
+     *
+     * @param system The particle system that this runtime is displaying
+     */
+    public ParticleDisplayRuntime(ParticleSystem system) {
+        super();
+        this.system = system;
+        this.effects = system.getEffects();
+    }
+
+    /**
+     * Overridden <code>onRun()</code> method that displays every effect of the <code>ParticleSystem</code>.
+     * If the system has a view distance, each viewer in the world is only sent the points within that distance,
+     * using the effect's level of detail for the viewer's distance.
+     * This must run on the main thread.
+     */
+    @Override
+    public void onRun() {
+        double viewDistance = system.getViewDistance();
+        boolean frustumCulling = system.isFrustumCulling();
+        Collection<? extends Player> viewers = null;
+        if(viewDistance > 0) {
+            World world = system.getOrigin().getWorld();
+            if(world == null) return;
+            viewers = world.getPlayers();
+        }
+
+        system.getModules().forEach(module -> module.onDisplayHead(system));
+        for(ParticleEffect effect : effects) {
+            long effectCount = effect.getCount();
+            long effectDelay = effect.getDelay();
+            if(effectCount > 0 && count >= (effectCount + effectDelay)) continue;
+            if(effectDelay > 0 && count < effectDelay) continue;
+            if(viewers == null) {
+                effect.display();
+            } else {
+                effect.display(viewers, viewDistance, frustumCulling);
+            }
+        }
+        system.getModules().forEach(module -> module.onDisplayTail(system));
+    }
+}
@@ -3,12 +3,11 @@ package com.mikedeejay2.mikedeejay2lib.particle.runtime;
 import com.mikedeejay2.mikedeejay2lib.particle.ParticleEffect;
 import com.mikedeejay2.mikedeejay2lib.particle.ParticleSystem;
 import com.mikedeejay2.mikedeejay2lib.runnable.EnhancedRunnable;
-import org.bukkit.Bukkit;
 
 import java.util.List;
 
 /**
- * The runtime which runs and manages displaying particles for <code>ParticleSystems</code>.
+ * The runtime which computes the particles of <code>ParticleSystems</code> asynchronously.
  * <p>
  * This runtime should not be declared outside a <code>ParticleSystem</code>.
  * <p>
@@ -55,8 +54,11 @@ public class ParticleRuntime extends EnhancedRunnable {
     }
 
     /**
-     * Overridden <code>onRun()</code> method that processes all the logic for baking, updating, and
-     * displaying a <code>ParticleSystem</code>. This should run asynchronously.
+     * Overridden <code>onRun()</code> method that processes all the logic for baking and updating a
+     * <code>ParticleSystem</code>. This should run asynchronously.
+     * <p>
+     * The updated points are swapped into each effect's front buffer, which is displayed on the main thread by the
+     * {@link ParticleDisplayRuntime}.
      */
     @Override
     public void onRun() {
@@ -78,17 +80,5 @@ public class ParticleRuntime extends EnhancedRunnable {
             curUpdateRate = 0;
             system.setUpdated(true);
         }
-
-        Bukkit.getScheduler().runTask(plugin, () -> {
-            system.getModules().forEach(module -> module.onDisplayHead(system));
-            for(ParticleEffect effect : effects) {
-                long effectCount = effect.getCount();
-                long effectDelay = effect.getDelay();
-                if(effectCount > 0 && count >= (effectCount + effectDelay)) continue;
-                if(effectDelay > 0 && count >= delay) continue;
-                effect.display();
-            }
-            system.getModules().forEach(module -> module.onDisplayTail(system));
-        });
     }
 }
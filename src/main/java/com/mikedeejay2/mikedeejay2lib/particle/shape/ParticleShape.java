@@ -17,4 +17,40 @@ public interface ParticleShape {
      * @return The vector list
      */
     List<Vector> getShape();
+
+    /**
+     * Get a list of vectors that represent the selected shape with a lower or higher density of particles. Used for
+     * baking the levels of detail of a {@link com.mikedeejay2.mikedeejay2lib.particle.ParticleEffect}.
+     * <p>
+     * Shapes without a density return {@link ParticleShape#getShape()}.
+     *
+     * @param densityMultiplier The multiplier of the density of particles
+     * @return The vector list
+     */
+    default List<Vector> getShape(double densityMultiplier) {
+        return getShape();
+    }
+
+    /**
+     * Get the points of the selected shape relative to {@link ParticleShape#getGeometryOrigin()}. Shapes with the same
+     * parameters share the same geometry, so baking a shape that was already baked elsewhere doesn't generate it again.
+     * <p>
+     * The default implementation converts {@link ParticleShape#getShape(double)} and isn't cached, the origin of it is
+     * 0, 0, 0.
+     *
+     * @param densityMultiplier The multiplier of the density of particles
+     * @return The geometry of the shape, must not be modified
+     */
+    default ShapeGeometry getGeometry(double densityMultiplier) {
+        return ShapeGeometry.of(getShape(densityMultiplier));
+    }
+
+    /**
+     * Get the origin that the points of {@link ParticleShape#getGeometry(double)} are relative to
+     *
+     * @return The origin of the shape
+     */
+    default Vector getGeometryOrigin() {
+        return new Vector(0, 0, 0);
+    }
 }
@@ -0,0 +1,107 @@
+package com.mikedeejay2.mikedeejay2lib.particle.shape;
+
+import org.bukkit.util.Vector;
+
+import java.util.List;
+
+/**
+ * The baked points of a {@link ParticleShape}, relative to the origin of the shape and stored as separate x, y and z
+ * arrays.
+ * <p>
+ * Geometry is shared between every shape with the same parameters through the {@link ShapeGeometryCache}, so it must
+ * never be modified once created.
+ *
+ * @author Mikedeejay2
+ */
+public class ShapeGeometry {
+    /**
+     * The x coordinates of the points
+     */
+    protected final double[] x;
+
+    /**
+     * The y coordinates of the points
+     */
+    protected final double[] y;
+
+    /**
+     * The z coordinates of the points
+     */
+    protected final double[] z;
+
+    /**
+     * The amount of points
+     */
+    protected final int size;
+
+    /**
+     * Construct a new <code>ShapeGeometry</code>
+     *
+     * @param x    The x coordinates of the points
+     * @param y    The y coordinates of the points
+     * @param z    The z coordinates of the points
+     * @param size The amount of points
+     */
+    public ShapeGeometry(double[] x, double[] y, double[] z, int size) {
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        this.size = size;
+    }
+
+    /**
+     * Create a new <code>ShapeGeometry</code> from a list of vectors
+     *
+     * @param vectors The list of vectors
+     * @return The new geometry
+     */
+    public static ShapeGeometry of(List<Vector> vectors) {
+        int size = vectors.size();
+        double[] x = new double[size];
+        double[] y = new double[size];
+        double[] z = new double[size];
+        for(int i = 0; i < size; ++i) {
+            Vector vector = vectors.get(i);
+            x[i] = vector.getX();
+            y[i] = vector.getY();
+            z[i] = vector.getZ();
+        }
+        return new ShapeGeometry(x, y, z, size);
+    }
+
+    /**
+     * Get the x coordinates of the points. Must not be modified.
+     *
+     * @return The x coordinates
+     */
+    public double[] getX() {
+        return x;
+    }
+
+    /**
+     * Get the y coordinates of the points. Must not be modified.
+     *
+     * @return The y coordinates
+     */
+    public double[] getY() {
+        return y;
+    }
+
+    /**
+     * Get the z coordinates of the points. Must not be modified.
+     *
+     * @return The z coordinates
+     */
+    public double[] getZ() {
+        return z;
+    }
+
+    /**
+     * Get the amount of points
+     *
+     * @return The amount of points
+     */
+    public int getSize() {
+        return size;
+    }
+}
@@ -0,0 +1,71 @@
+package com.mikedeejay2.mikedeejay2lib.particle.shape;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.bukkit.Location;
+import org.bukkit.util.Vector;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * A global cache of {@link ShapeGeometry}, keyed by the type and parameters of a shape.
+ * <p>
+ * Shapes with the same parameters at different origins share the same geometry, the origin of each shape is applied
+ * when a {@link com.mikedeejay2.mikedeejay2lib.particle.ParticleEffect} is transformed.
+ *
+ * @author Mikedeejay2
+ */
+public final class ShapeGeometryCache {
+    /**
+     * The time in minutes that the cache should hold geometry after it was last used
+     */
+    private static final long CACHE_TIME = 10;
+
+    /**
+     * The maximum amount of geometry in the cache
+     */
+    private static final long CACHE_SIZE = 256;
+
+    /**
+     * The cache of geometry
+     */
+    private static final Cache<List<Object>, ShapeGeometry> cache = CacheBuilder.newBuilder()
+        .maximumSize(CACHE_SIZE)
+        .expireAfterAccess(CACHE_TIME, TimeUnit.MINUTES)
+        .build();
+
+    /**
+     * Get the geometry of a shape, generating it if it isn't cached yet
+     *
+     * @param generator Generates the points of the shape relative to {@link ShapeGeometryCache#origin()}
+     * @param key       The type and parameters of the shape
+     * @return The shared geometry of the shape
+     */
+    public static ShapeGeometry get(Supplier<List<Vector>> generator, Object... key) {
+        List<Object> keyList = Arrays.asList(key);
+        ShapeGeometry geometry = cache.getIfPresent(keyList);
+        if(geometry != null) return geometry;
+        geometry = ShapeGeometry.of(generator.get());
+        cache.put(keyList, geometry);
+        return geometry;
+    }
+
+    /**
+     * Get a new location at 0, 0, 0 to generate origin relative points with
+     *
+     * @return The origin location
+     */
+    public static Location origin() {
+        return new Location(null, 0, 0, 0);
+    }
+
+    /**
+     * Remove all geometry from the cache
+     */
+    public static void clear() {
+        cache.invalidateAll();
+    }
+}
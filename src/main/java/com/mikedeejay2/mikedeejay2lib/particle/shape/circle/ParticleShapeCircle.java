@@ -1,6 +1,8 @@
 package com.mikedeejay2.mikedeejay2lib.particle.shape.circle;
 
 import com.mikedeejay2.mikedeejay2lib.particle.shape.ParticleShape;
+import com.mikedeejay2.mikedeejay2lib.particle.shape.ShapeGeometry;
+import com.mikedeejay2.mikedeejay2lib.particle.shape.ShapeGeometryCache;
 import com.mikedeejay2.mikedeejay2lib.util.math.MathUtil;
 import org.bukkit.Location;
 import org.bukkit.util.Vector;
@@ -48,6 +50,41 @@ public class ParticleShapeCircle implements ParticleShape {
      */
     @Override
     public List<Vector> getShape() {
-        return MathUtil.getCircleVectors(location, radius, density);
+        return getShape(1);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param densityMultiplier The multiplier of the density of particles
+     * @return The vector list
+     */
+    @Override
+    public List<Vector> getShape(double densityMultiplier) {
+        return MathUtil.getCircleVectors(location, radius, density * densityMultiplier);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param densityMultiplier The multiplier of the density of particles
+     * @return The shared geometry of this shape
+     */
+    @Override
+    public ShapeGeometry getGeometry(double densityMultiplier) {
+        double density = this.density * densityMultiplier;
+        return ShapeGeometryCache.get(
+            () -> MathUtil.getCircleVectors(ShapeGeometryCache.origin(), radius, density),
+            getClass(), radius, density);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return The origin of this shape
+     */
+    @Override
+    public Vector getGeometryOrigin() {
+        return location.toVector();
     }
 }
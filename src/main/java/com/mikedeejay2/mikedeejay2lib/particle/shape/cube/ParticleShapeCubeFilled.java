@@ -1,6 +1,8 @@
 package com.mikedeejay2.mikedeejay2lib.particle.shape.cube;
 
 import com.mikedeejay2.mikedeejay2lib.particle.shape.ParticleShape;
+import com.mikedeejay2.mikedeejay2lib.particle.shape.ShapeGeometry;
+import com.mikedeejay2.mikedeejay2lib.particle.shape.ShapeGeometryCache;
 import com.mikedeejay2.mikedeejay2lib.util.math.MathUtil;
 import org.bukkit.Location;
 import org.bukkit.util.Vector;
@@ -94,9 +96,52 @@ public class ParticleShapeCubeFilled implements ParticleShape {
      */
     @Override
     public List<Vector> getShape() {
+        return getShape(1);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param densityMultiplier The multiplier of the density of particles
+     * @return The vector list
+     */
+    @Override
+    public List<Vector> getShape(double densityMultiplier) {
+        if(mode) {
+            return MathUtil.getCubeFilledVectors(loc1, loc2, density * densityMultiplier);
+        }
+        return MathUtil.getCubeFilledVectors(location, xWidth, yWidth, zWidth, density * densityMultiplier);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param densityMultiplier The multiplier of the density of particles
+     * @return The shared geometry of this shape
+     */
+    @Override
+    public ShapeGeometry getGeometry(double densityMultiplier) {
+        double density = this.density * densityMultiplier;
         if(mode) {
-            return MathUtil.getCubeFilledVectors(loc1, loc2, density);
+            double xDiff = loc2.getX() - loc1.getX();
+            double yDiff = loc2.getY() - loc1.getY();
+            double zDiff = loc2.getZ() - loc1.getZ();
+            return ShapeGeometryCache.get(
+                () -> MathUtil.getCubeFilledVectors(ShapeGeometryCache.origin(), new Location(null, xDiff, yDiff, zDiff), density),
+                getClass(), true, xDiff, yDiff, zDiff, density);
         }
-        return MathUtil.getCubeFilledVectors(location, xWidth, yWidth, zWidth, density);
+        return ShapeGeometryCache.get(
+            () -> MathUtil.getCubeFilledVectors(ShapeGeometryCache.origin(), xWidth, yWidth, zWidth, density),
+            getClass(), false, xWidth, yWidth, zWidth, density);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return The origin of this shape
+     */
+    @Override
+    public Vector getGeometryOrigin() {
+        return mode ? loc1.toVector() : location.toVector();
     }
 }
@@ -1,6 +1,8 @@
 package com.mikedeejay2.mikedeejay2lib.particle.shape.cylinder;
 
 import com.mikedeejay2.mikedeejay2lib.particle.shape.ParticleShape;
+import com.mikedeejay2.mikedeejay2lib.particle.shape.ShapeGeometry;
+import com.mikedeejay2.mikedeejay2lib.particle.shape.ShapeGeometryCache;
 import com.mikedeejay2.mikedeejay2lib.util.math.MathUtil;
 import org.bukkit.Location;
 import org.bukkit.util.Vector;
@@ -62,6 +64,42 @@ public class ParticleShapeCylinder implements ParticleShape {
      */
     @Override
     public List<Vector> getShape() {
-        return MathUtil.getCylinderHollowVectors(location, height, radius, radiusDensity, heightDensity);
+        return getShape(1);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param densityMultiplier The multiplier of the density of particles
+     * @return The vector list
+     */
+    @Override
+    public List<Vector> getShape(double densityMultiplier) {
+        return MathUtil.getCylinderHollowVectors(location, height, radius, radiusDensity * densityMultiplier, heightDensity * densityMultiplier);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param densityMultiplier The multiplier of the density of particles
+     * @return The shared geometry of this shape
+     */
+    @Override
+    public ShapeGeometry getGeometry(double densityMultiplier) {
+        double radiusDensity = this.radiusDensity * densityMultiplier;
+        double heightDensity = this.heightDensity * densityMultiplier;
+        return ShapeGeometryCache.get(
+            () -> MathUtil.getCylinderHollowVectors(ShapeGeometryCache.origin(), height, radius, radiusDensity, heightDensity),
+            getClass(), height, radius, radiusDensity, heightDensity);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return The origin of this shape
+     */
+    @Override
+    public Vector getGeometryOrigin() {
+        return location.toVector();
     }
 }
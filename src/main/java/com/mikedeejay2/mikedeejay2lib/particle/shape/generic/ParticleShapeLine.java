@@ -1,6 +1,8 @@
 package com.mikedeejay2.mikedeejay2lib.particle.shape.generic;
 
 import com.mikedeejay2.mikedeejay2lib.particle.shape.ParticleShape;
+import com.mikedeejay2.mikedeejay2lib.particle.shape.ShapeGeometry;
+import com.mikedeejay2.mikedeejay2lib.particle.shape.ShapeGeometryCache;
 import com.mikedeejay2.mikedeejay2lib.util.math.MathUtil;
 import org.bukkit.Location;
 import org.bukkit.util.Vector;
@@ -48,6 +50,42 @@ public class ParticleShapeLine implements ParticleShape {
      */
     @Override
     public List<Vector> getShape() {
-        return MathUtil.getLine(start.toVector(), end.toVector(), density);
+        return getShape(1);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param densityMultiplier The multiplier of the density of particles
+     * @return The vector list
+     */
+    @Override
+    public List<Vector> getShape(double densityMultiplier) {
+        return MathUtil.getLine(start.toVector(), end.toVector(), density * densityMultiplier);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param densityMultiplier The multiplier of the density of particles
+     * @return The shared geometry of this shape
+     */
+    @Override
+    public ShapeGeometry getGeometry(double densityMultiplier) {
+        double density = this.density * densityMultiplier;
+        Vector relativeEnd = end.toVector().subtract(start.toVector());
+        return ShapeGeometryCache.get(
+            () -> MathUtil.getLine(new Vector(0, 0, 0), relativeEnd, density),
+            getClass(), relativeEnd.getX(), relativeEnd.getY(), relativeEnd.getZ(), density);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return The origin of this shape
+     */
+    @Override
+    public Vector getGeometryOrigin() {
+        return start.toVector();
     }
 }
@@ -13,6 +13,9 @@ import java.util.Map;
  * Usage: <code>%placeholder% -&gt; replacement</code>
  * <p>
  * Example: <code>"TPS: %tps%, MSPT: %mspt%" -&gt; "TPS: 19.99, MSPT: 10.53</code>
+ * <p>
+ * Strings are parsed into a {@link PlaceholderTemplate} once and formatted in a single pass. Replacements are inserted
+ * literally and are only evaluated if their placeholder occurs in the String.
  *
  * @author Mikedeejay2
  */
@@ -92,10 +95,7 @@ public final class PlaceholderFormatter implements Cloneable {
      * @return The formatted String
      */
     public String format(String string) {
-        for(String value : placeholders.keySet()) {
-            string = format(string, value, placeholders.get(value).get());
-        }
-        return string;
+        return PlaceholderTemplate.of(string).render(placeholders, Text::get);
     }
 
     /**
@@ -107,10 +107,7 @@ public final class PlaceholderFormatter implements Cloneable {
      */
     public String format(Player player, String string) {
         Validate.notNull(player, "Tried to format a String for a null player");
-        for(String value : placeholders.keySet()) {
-            string = format(string, value, placeholders.get(value).get(player));
-        }
-        return string;
+        return PlaceholderTemplate.of(string).render(placeholders, text -> text.get(player));
     }
 
     /**
@@ -122,10 +119,7 @@ public final class PlaceholderFormatter implements Cloneable {
      */
     public String format(CommandSender sender, String string) {
         Validate.notNull(sender, "Tried to format a String for a null CommandSender");
-        for(String value : placeholders.keySet()) {
-            string = format(string, value, placeholders.get(value).get(sender));
-        }
-        return string;
+        return PlaceholderTemplate.of(string).render(placeholders, text -> text.get(sender));
     }
 
     /**
@@ -137,27 +131,7 @@ public final class PlaceholderFormatter implements Cloneable {
      */
     public String format(String locale, String string) {
         Validate.notNull(locale, "Tried to format a String for a null locale");
-        for(String value : placeholders.keySet()) {
-            string = format(string, value, placeholders.get(value).get(locale));
-        }
-        return string;
-    }
-
-    /**
-     * The internal format method. Find all placeholders named <code>key</code> and replace them.
-     *
-     * @param string The String to format
-     * @param key The key of the placeholders to replace
-     * @param replacement The replacement String
-     * @return The formatted String
-     */
-    private String format(String string, String key, String replacement) {
-        final String placeholder = "%" + key + "%";
-        Validate.isTrue(
-            string.contains(placeholder),
-            "Attempted to replace placeholder of key \"%s\", but found no matching placeholders in String \"%s\"",
-            key, string);
-        return string.replaceAll(placeholder, replacement);
+        return PlaceholderTemplate.of(string).render(placeholders, text -> text.get(locale));
     }
 
     @Override
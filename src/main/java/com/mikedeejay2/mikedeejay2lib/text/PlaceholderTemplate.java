@@ -0,0 +1,154 @@
+package com.mikedeejay2.mikedeejay2lib.text;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.apache.commons.lang3.Validate;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * A String that has been parsed once for use with a {@link PlaceholderFormatter}.
+ * <p>
+ * Parsing finds the positions of all <code>%</code> characters of the String, along with the text between each pair
+ * of neighboring <code>%</code> characters. Rendering then walks these positions once, replacing the placeholders of
+ * a formatter and copying everything else as is. Replacements are never parsed, so <code>$</code> and <code>\</code>
+ * are inserted literally, and only the replacements of placeholders that occur in the String are evaluated.
+ * <p>
+ * Parsed templates are kept in a bounded cache keyed by the String, see {@link PlaceholderTemplate#of(String)}.
+ *
+ * @author Mikedeejay2
+ */
+public final class PlaceholderTemplate {
+    /**
+     * The maximum amount of parsed templates in the cache
+     */
+    private static final long CACHE_SIZE = 2048;
+
+    /**
+     * The cache of parsed templates
+     */
+    private static final Cache<String, PlaceholderTemplate> cache = CacheBuilder.newBuilder()
+        .maximumSize(CACHE_SIZE)
+        .build();
+
+    /**
+     * The String that this template was parsed from
+     */
+    private final String source;
+
+    /**
+     * The indices of all <code>%</code> characters in the source String
+     */
+    private final int[] percents;
+
+    /**
+     * The text between each <code>%</code> character and the next <code>%</code> character, the possible placeholder
+     * keys of the template
+     */
+    private final String[] keys;
+
+    /**
+     * Parse a new <code>PlaceholderTemplate</code>
+     *
+     * @param source The String to parse
+     */
+    private PlaceholderTemplate(String source) {
+        this.source = source;
+        int count = 0;
+        for(int i = source.indexOf('%'); i != -1; i = source.indexOf('%', i + 1)) {
+            ++count;
+        }
+        this.percents = new int[count];
+        int index = 0;
+        for(int i = source.indexOf('%'); i != -1; i = source.indexOf('%', i + 1)) {
+            percents[index++] = i;
+        }
+        this.keys = new String[Math.max(count - 1, 0)];
+        for(int i = 0; i < keys.length; ++i) {
+            keys[i] = source.substring(percents[i] + 1, percents[i + 1]);
+        }
+    }
+
+    /**
+     * Get the <code>PlaceholderTemplate</code> of a String, parsing it if it isn't cached
+     *
+     * @param source The String
+     * @return The <code>PlaceholderTemplate</code> of the String
+     */
+    public static PlaceholderTemplate of(String source) {
+        Validate.notNull(source, "Tried to format a null String");
+        PlaceholderTemplate template = cache.getIfPresent(source);
+        if(template != null) return template;
+        template = new PlaceholderTemplate(source);
+        cache.put(source, template);
+        return template;
+    }
+
+    /**
+     * Remove all parsed templates from the cache
+     */
+    public static void clearCache() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * Render this template, replacing every placeholder <code>%key%</code> with the replacement of the key. Each
+     * replacement is evaluated at most once.
+     *
+     * @param placeholders The map of placeholder keys to replacements
+     * @param resolver     Evaluates a replacement {@link Text} to a String
+     * @return The rendered String
+     * @throws IllegalArgumentException If a key of the placeholders doesn't occur in this template
+     */
+    public String render(Map<String, Text> placeholders, Function<Text, String> resolver) {
+        if(placeholders.isEmpty()) return source;
+        final Map<String, String> resolved = new HashMap<>();
+        StringBuilder builder = null;
+        int last = 0;
+        int i = 0;
+        while(i < keys.length) {
+            final String key = keys[i];
+            final Text replacement = placeholders.get(key);
+            if(replacement == null) {
+                ++i;
+                continue;
+            }
+            String value = resolved.get(key);
+            if(value == null) {
+                value = resolver.apply(replacement);
+                resolved.put(key, value);
+            }
+            if(builder == null) builder = new StringBuilder(source.length() + 16);
+            builder.append(source, last, percents[i]).append(value);
+            last = percents[i + 1] + 1;
+            i += 2;
+        }
+        if(resolved.size() < placeholders.size()) {
+            for(String key : placeholders.keySet()) {
+                Validate.isTrue(
+                    resolved.containsKey(key),
+                    "Attempted to replace placeholder of key \"%s\", but found no matching placeholders in String \"%s\"",
+                    key, source);
+            }
+        }
+        return builder.append(source, last, source.length()).toString();
+    }
+
+    /**
+     * Get the String that this template was parsed from
+     *
+     * @return The source String
+     */
+    public String getSource() {
+        return source;
+    }
+
+    @Override
+    public String toString() {
+        return "PlaceholderTemplate{" +
+            "source='" + source + '\'' +
+            '}';
+    }
+}
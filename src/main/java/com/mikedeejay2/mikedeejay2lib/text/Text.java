@@ -73,6 +73,12 @@ import org.bukkit.entity.Player;
  *                 <p>
  *                 Formatted text can be created with {@link Text#format(Object...)} This is a non-static method.
  *             </li>
+ *             <li>
+ *                 <strong>Memoized Text</strong> -
+ *                 Caches the retrieved Strings of an existing text per locale until translations are reloaded.
+ *                 <p>
+ *                 Memoized text can be created with {@link Text#memoize()}. This is a non-static method.
+ *             </li>
  *         </ul>
  *     </li>
  * </ul>
@@ -131,6 +137,19 @@ public interface Text extends Cloneable {
         return new TextTranslatable(key, manager);
     }
 
+    /**
+     * Memoize text at the root where it is consumed, such as the name and lore of an item or the title of a GUI.
+     * Immutable text is memoized using {@link Text#memoize()}, so it is only built once per locale no matter how
+     * many viewers it is retrieved for. Mutable text and plain literal text are returned as is.
+     *
+     * @param text The text to memoize, can be null
+     * @return The memoized text, or the text itself if it isn't memoized
+     */
+    static Text memoizeImmutable(Text text) {
+        if(text == null || text instanceof TextLiteral || !text.isImmutable()) return text;
+        return text.memoize();
+    }
+
     /**
      * Get the String of this text using a <code>Player</code> for the locale.
      *
@@ -163,6 +182,17 @@ public interface Text extends Cloneable {
      */
     String get();
 
+    /**
+     * Get whether this text is immutable. The Strings retrieved from immutable text only depend on the locale and the
+     * loaded translations, so they can be cached per locale by memoizing the outermost text. Text
+     * consumed by items and GUIs is memoized automatically, see {@link Text#memoizeImmutable(Text)}.
+     *
+     * @return Whether this text is immutable
+     */
+    default boolean isImmutable() {
+        return false;
+    }
+
     /**
      * Clone this text.
      *
@@ -243,4 +273,18 @@ public interface Text extends Cloneable {
     default Text format(Object... args) {
         return new TextFormatted(this, args);
     }
+
+    /**
+     * Memoize this text. The retrieved Strings are cached per locale until translations are reloaded, so text that is
+     * retrieved for many viewers sharing a locale is only built once per locale.
+     * <p>
+     * Memoized text assumes that the retrieved Strings only depend on the locale. Mutable arguments of
+     * {@link Text#format(Object...)} or {@link Text#placeholder(PlaceholderFormatter)} that change after memoizing are
+     * not picked up until {@link TextMemoized#invalidate()} is called.
+     *
+     * @return The memoized text
+     */
+    default Text memoize() {
+        return new TextMemoized(this);
+    }
 }
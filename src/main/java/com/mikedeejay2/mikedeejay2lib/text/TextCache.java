@@ -0,0 +1,102 @@
+package com.mikedeejay2.mikedeejay2lib.text;
+
+import com.mikedeejay2.mikedeejay2lib.text.language.TranslationManager;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Caches the retrieved Strings of a {@link Text} per locale. The cache is cleared automatically when the translation
+ * generation changes, see {@link TranslationManager#getGeneration()}.
+ *
+ * @author Mikedeejay2
+ */
+final class TextCache {
+    /**
+     * The Map of locale to cached String, null until the first String is cached
+     */
+    private volatile @Nullable Map<String, String> values;
+
+    /**
+     * The cached String of the global locale, null if not cached
+     */
+    private volatile @Nullable String globalValue;
+
+    /**
+     * The translation generation that the cached Strings were retrieved in
+     */
+    private volatile long generation;
+
+    /**
+     * Construct a new, empty <code>TextCache</code>
+     */
+    TextCache() {
+        this.values = null;
+        this.globalValue = null;
+        this.generation = TranslationManager.getGeneration();
+    }
+
+    /**
+     * Get the cached String of a locale, retrieving it if it isn't cached
+     *
+     * @param locale    The locale
+     * @param retriever Retrieves the String of a locale
+     * @return The String of the locale
+     */
+    String get(String locale, Function<String, String> retriever) {
+        final long current = validate();
+        Map<String, String> map = values;
+        String value = map == null ? null : map.get(locale);
+        if(value != null) return value;
+        value = retriever.apply(locale);
+        if(value == null || generation != current) return value;
+        if(map == null) {
+            synchronized(this) {
+                if(values == null) values = new ConcurrentHashMap<>();
+                map = values;
+            }
+        }
+        map.put(locale, value);
+        return value;
+    }
+
+    /**
+     * Get the cached String of the global locale, retrieving it if it isn't cached
+     *
+     * @param retriever Retrieves the String of the global locale
+     * @return The String of the global locale
+     */
+    String get(Supplier<String> retriever) {
+        final long current = validate();
+        String value = globalValue;
+        if(value != null) return value;
+        value = retriever.get();
+        if(generation == current) globalValue = value;
+        return value;
+    }
+
+    /**
+     * Clear all cached Strings
+     */
+    void invalidate() {
+        this.values = null;
+        this.globalValue = null;
+    }
+
+    /**
+     * Clear all cached Strings if the translation generation has changed
+     *
+     * @return The current translation generation
+     */
+    private long validate() {
+        final long current = TranslationManager.getGeneration();
+        if(current != generation) {
+            invalidate();
+            generation = current;
+        }
+        return current;
+    }
+}
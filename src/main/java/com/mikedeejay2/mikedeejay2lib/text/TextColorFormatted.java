@@ -63,6 +63,11 @@ public class TextColorFormatted implements Text {
         return color(text.get());
     }
 
+    @Override
+    public boolean isImmutable() {
+        return text.isImmutable();
+    }
+
     @Override
     public Text color(Colors.FormatStyle... styles) {
         Set<Colors.FormatStyle> newStyles = new HashSet<>(this.formatStyles);
@@ -96,10 +101,10 @@ public class TextColorFormatted implements Text {
     /**
      * Get the list of {@link Colors.FormatStyle FormatStyles} to be used when formatting
      *
-     * @return The list of {@link Colors.FormatStyle FormatStyles} to be used when formatting
+     * @return The unmodifiable list of {@link Colors.FormatStyle FormatStyles} to be used when formatting
      */
     public Set<Colors.FormatStyle> getFormatStyles() {
-        return formatStyles;
+        return Collections.unmodifiableSet(formatStyles);
     }
 
     @Override
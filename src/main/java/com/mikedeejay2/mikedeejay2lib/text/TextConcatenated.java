@@ -54,6 +54,11 @@ public class TextConcatenated implements Text {
         return leftText.get() + rightText.get();
     }
 
+    @Override
+    public boolean isImmutable() {
+        return leftText.isImmutable() && rightText.isImmutable();
+    }
+
     /**
      * Get the text on the left of the concatenation
      *
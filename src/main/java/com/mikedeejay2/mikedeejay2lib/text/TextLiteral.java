@@ -51,6 +51,11 @@ public class TextLiteral implements Text {
         return text;
     }
 
+    @Override
+    public boolean isImmutable() {
+        return true;
+    }
+
     /**
      * Returns the encapsulated String
      *
@@ -0,0 +1,98 @@
+package com.mikedeejay2.mikedeejay2lib.text;
+
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+
+/**
+ * Caches the retrieved Strings of an existing text per locale. The Strings are retrieved again once translations have
+ * been reloaded, for example when a translation directory is registered.
+ * <p>
+ * Memoized text assumes that the retrieved Strings only depend on the locale. If the encapsulated text holds mutable
+ * arguments, {@link TextMemoized#invalidate()} should be called after they change.
+ * <p>
+ * Memoized text can be created with {@link Text#memoize()}. This is a non-static method.
+ *
+ * @author Mikedeejay2
+ * @see Text
+ */
+public class TextMemoized implements Text {
+    /**
+     * The encapsulated text to be memoized
+     */
+    protected final Text text;
+
+    /**
+     * The cache of retrieved Strings
+     */
+    protected final TextCache cache;
+
+    /**
+     * Construct a new <code>TextMemoized</code>
+     *
+     * @param text The encapsulated text to be memoized
+     */
+    protected TextMemoized(Text text) {
+        this.text = text;
+        this.cache = new TextCache();
+    }
+
+    @Override
+    public String get(Player player) {
+        return get(player.getLocale().toLowerCase());
+    }
+
+    @Override
+    public String get(CommandSender sender) {
+        if(sender instanceof Player) return get((Player) sender);
+        return get();
+    }
+
+    @Override
+    public String get(String locale) {
+        if(locale == null) return get();
+        return cache.get(locale, text::get);
+    }
+
+    @Override
+    public String get() {
+        return cache.get(text::get);
+    }
+
+    @Override
+    public boolean isImmutable() {
+        return text.isImmutable();
+    }
+
+    @Override
+    public Text memoize() {
+        return this;
+    }
+
+    /**
+     * Clear all cached Strings, so that they are retrieved again upon the next request
+     */
+    public void invalidate() {
+        cache.invalidate();
+    }
+
+    /**
+     * Get the encapsulated text to be memoized
+     *
+     * @return The encapsulated text to be memoized
+     */
+    public Text getText() {
+        return text;
+    }
+
+    @Override
+    public String toString() {
+        return "TextMemoized{" +
+            "text=" + text +
+            '}';
+    }
+
+    @Override
+    public TextMemoized clone() {
+        return new TextMemoized(text.clone());
+    }
+}
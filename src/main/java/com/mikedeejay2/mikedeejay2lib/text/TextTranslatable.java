@@ -27,6 +27,11 @@ public class TextTranslatable implements Text {
      */
     private final String key;
 
+    /**
+     * The interned id of the translation key, see {@link TranslationManager#getKeyId(String)}
+     */
+    private final int keyId;
+
     /**
      * The {@link TranslationManager} to retrieve translations from
      */
@@ -41,6 +46,7 @@ public class TextTranslatable implements Text {
     protected TextTranslatable(String key, TranslationManager manager) {
         this.key = key;
         this.manager = manager;
+        this.keyId = manager.getKeyId(key);
     }
 
     /**
@@ -54,7 +60,7 @@ public class TextTranslatable implements Text {
 
     @Override
     public String get(Player player) {
-        return manager.getTranslation(player, key);
+        return manager.getTranslation(player, keyId);
     }
 
     @Override
@@ -66,12 +72,17 @@ public class TextTranslatable implements Text {
     @Override
     public String get(String locale) {
         if(locale == null) return get();
-        return manager.getTranslation(locale, key);
+        return manager.getTranslation(manager.getLocaleId(locale), keyId);
     }
 
     @Override
     public String get() {
-        return manager.getTranslation(key);
+        return manager.getTranslation(keyId);
+    }
+
+    @Override
+    public boolean isImmutable() {
+        return true;
     }
 
     /**
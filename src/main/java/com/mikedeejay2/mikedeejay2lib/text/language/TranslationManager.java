@@ -7,15 +7,31 @@ import com.mikedeejay2.mikedeejay2lib.text.PlaceholderFormatter;
 import com.mikedeejay2.mikedeejay2lib.util.structure.tuple.ImmutablePair;
 import com.mikedeejay2.mikedeejay2lib.util.structure.tuple.Pair;
 import org.apache.commons.lang3.Validate;
+import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
 
 /**
  * Manages translations loaded from JSON files, either from plugin jar or a file. For the global
  * <code>TranslationManager</code>, use {@link TranslationManager#GLOBAL}.
  * <p>
  * To add a location for translations, use {@link TranslationManager#registerDirectory(String, boolean)}
+ * <p>
+ * Loaded translations are stored as immutable maps in concurrent maps, so translations can be retrieved from any
+ * thread. For every requested locale the fallback chain (locale, global locale, base locale) is merged into a single
+ * map once, so a translation is retrieved with a single lookup. The base locale, the global locale and any locales
+ * added with {@link TranslationManager#addPreloadLocale(String)} are loaded asynchronously whenever a directory is
+ * registered, so the first request of these locales doesn't load any files on the calling thread.
+ * <p>
+ * Translation keys and locales can also be interned into integer ids using {@link TranslationManager#getKeyId(String)}
+ * and {@link TranslationManager#getLocaleId(String)}. Each locale then has a table of translations indexed by key id,
+ * so {@link TranslationManager#getTranslation(int, int)} is two array lookups. {@link com.mikedeejay2.mikedeejay2lib.text.TextTranslatable}
+ * resolves its key id once upon creation.
  *
  * @author Mikedeejay2
  */
@@ -27,27 +43,31 @@ public final class TranslationManager {
         String.format("%s_%s", System.getProperty("user.language"), System.getProperty("user.country"))
         .toLowerCase(Locale.ROOT);
 
+    /**
+     * The translation generation, incremented whenever the translations of any <code>TranslationManager</code> are
+     * reloaded. Used to invalidate cached text.
+     */
+    private static final AtomicLong GENERATION = new AtomicLong();
+
     /**
      * The global <code>TranslationManager</code>. This should be used in most cases.
      */
     public static final TranslationManager GLOBAL = new TranslationManager(null, "en_us");
 
     /**
-     * The Map of locale to translations List. After a JSON file is loaded its translations are added to this map
-     * for quick access.
+     * The current {@link TranslationStore}. Replaced whenever the registered directories or the locales change.
      */
-    private final Map<String, Map<String, String>> translations;
+    private volatile TranslationStore store;
 
     /**
-     * A Set of directories to search for translations along with a boolean, true if inside of plugin jar, false if a
-     * file in the plugin's directory.
+     * The Set of locales to load asynchronously when a directory is registered, along with the base and global locale
      */
-    private final Set<Pair<String, Boolean>> directories;
+    private final Set<String> preloadLocales;
 
     /**
      * The <code>BukkitPlugin</code> reference for loading JSON files.
      */
-    private BukkitPlugin plugin;
+    private volatile BukkitPlugin plugin;
 
     /**
      * The base locale. This should be the locale used for developing the plugin; it is the locale that is ensured to
@@ -55,7 +75,7 @@ public final class TranslationManager {
      * <p>
      * The base locale is only used as a fallback for if the global locale doesn't have a translation.
      */
-    private String baseLocale;
+    private volatile String baseLocale;
 
     /**
      * The global locale, by default this is the same as the base locale but can be configured to be different. This is
@@ -65,7 +85,22 @@ public final class TranslationManager {
      * The global locale does not need to have all translations. If a global translation is not found, the base locale
      * is instead used.
      */
-    private String globalLocale;
+    private volatile String globalLocale;
+
+    /**
+     * The interned ids of translation keys. Ids never change, even when translations are reloaded.
+     */
+    private final IdTable keyIds;
+
+    /**
+     * The interned ids of locales. Ids never change, even when translations are reloaded.
+     */
+    private final IdTable localeIds;
+
+    /**
+     * The interned id of the global locale
+     */
+    private volatile int globalLocaleId;
 
     /**
      * Construct a new <code>TranslationManager</code>.
@@ -78,10 +113,13 @@ public final class TranslationManager {
      */
     public TranslationManager(BukkitPlugin plugin, String baseLocale) {
         this.plugin = plugin;
-        this.translations = new HashMap<>();
-        this.directories = new HashSet<>();
+        this.store = new TranslationStore(Collections.emptyList());
+        this.preloadLocales = ConcurrentHashMap.newKeySet();
         this.baseLocale = baseLocale;
         this.globalLocale = SYSTEM_LOCALE;
+        this.keyIds = new IdTable();
+        this.localeIds = new IdTable();
+        this.globalLocaleId = localeIds.getId(SYSTEM_LOCALE);
     }
 
     /**
@@ -90,13 +128,91 @@ public final class TranslationManager {
      * <p>
      * Note that this method clears all currently loaded translations. It is recommended that this method only be called
      * upon plugin initialization, however it can be called after with the cost of losing currently loaded translations.
+     * The preloaded locales are loaded again asynchronously, see {@link TranslationManager#addPreloadLocale(String)}.
+     * <p>
+     * Directories registered later take priority over directories registered earlier if they contain the same key.
      *
      * @param directory The directory to add
      * @param jarFile   Whether this directory is in the plugin's jar file
      */
     public void registerDirectory(String directory, boolean jarFile) {
-        this.directories.add(new ImmutablePair<>(directory, jarFile));
-        clearTranslations();
+        final Pair<String, Boolean> pair = new ImmutablePair<>(directory, jarFile);
+        final List<Pair<String, Boolean>> directories = new ArrayList<>(store.directories);
+        directories.remove(pair);
+        directories.add(pair);
+        this.store = new TranslationStore(Collections.unmodifiableList(directories));
+        GENERATION.incrementAndGet();
+        preload();
+    }
+
+    /**
+     * Add a locale to load asynchronously whenever a directory is registered, along with the base and global locale.
+     * This locale should be all lowercase, like <code>"en_us"</code>
+     *
+     * @param locale The locale to preload
+     * @return A future completed once the locale has been loaded
+     */
+    public CompletableFuture<Void> addPreloadLocale(String locale) {
+        Validate.notNull(locale, "Locale cannot be null");
+        preloadLocales.add(locale);
+        return preload(store, Collections.singleton(locale));
+    }
+
+    /**
+     * Asynchronously load all translations of a locale, so that later requests of the locale don't load any files.
+     * This locale should be all lowercase, like <code>"en_us"</code>
+     *
+     * @param locale The locale to load
+     * @return A future completed once the locale has been loaded
+     */
+    public CompletableFuture<Void> preload(String locale) {
+        Validate.notNull(locale, "Locale cannot be null");
+        return preload(store, Collections.singleton(locale));
+    }
+
+    /**
+     * Asynchronously load the base locale, the global locale and all locales added with
+     * {@link TranslationManager#addPreloadLocale(String)}
+     *
+     * @return A future completed once the locales have been loaded
+     */
+    public CompletableFuture<Void> preload() {
+        final Set<String> locales = new LinkedHashSet<>();
+        locales.add(baseLocale);
+        locales.add(globalLocale);
+        locales.addAll(preloadLocales);
+        return preload(store, locales);
+    }
+
+    /**
+     * Asynchronously load locales into a {@link TranslationStore}. Loading is skipped if the store has been replaced
+     * by the time the load starts, as several directories are normally registered at once.
+     *
+     * @param target  The {@link TranslationStore} to load the locales into
+     * @param locales The locales to load
+     * @return A future completed once the locales have been loaded
+     */
+    private CompletableFuture<Void> preload(TranslationStore target, Collection<String> locales) {
+        final BukkitPlugin plugin = this.plugin;
+        final CompletableFuture<Void> future = new CompletableFuture<>();
+        if(plugin == null || !plugin.isEnabled()) {
+            future.complete(null);
+            return future;
+        }
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+            try {
+                if(store == target) {
+                    for(String locale : locales) {
+                        getTranslationMap(target, locale);
+                    }
+                }
+                future.complete(null);
+            } catch(Throwable throwable) {
+                plugin.getLogger().log(Level.WARNING, "Unable to preload translations", throwable);
+                future.completeExceptionally(throwable);
+            }
+        });
+        return future;
     }
 
     /**
@@ -123,6 +239,98 @@ public final class TranslationManager {
         return formatter.format(getTranslation(locale, key));
     }
 
+    /**
+     * Get the interned id of a translation key, for use with {@link TranslationManager#getTranslation(int, int)}.
+     * The id of a key never changes.
+     *
+     * @param key The translation key
+     * @return The id of the key
+     */
+    public int getKeyId(String key) {
+        Validate.notNull(key, "Key cannot be null");
+        return keyIds.getId(key);
+    }
+
+    /**
+     * Get the interned id of a locale, for use with {@link TranslationManager#getTranslation(int, int)}. The id of a
+     * locale never changes. This locale should be all lowercase, like <code>"en_us"</code>
+     *
+     * @param locale The locale
+     * @return The id of the locale
+     */
+    public int getLocaleId(String locale) {
+        Validate.notNull(locale, "Locale cannot be null");
+        return localeIds.getId(locale);
+    }
+
+    /**
+     * Get a translation using interned ids of a locale and a key. The translation is retrieved from the translation
+     * table of the locale, which is built from the locale's fallback chain upon the first request.
+     *
+     * @param localeId The id of the locale, see {@link TranslationManager#getLocaleId(String)}
+     * @param keyId    The id of the key, see {@link TranslationManager#getKeyId(String)}
+     * @return The retrieved translation
+     */
+    public String getTranslation(int localeId, int keyId) {
+        final TranslationStore target = store;
+        final String[][] tables = target.tables;
+        String[] table = localeId < tables.length ? tables[localeId] : null;
+        if(table == null || keyId >= table.length) table = buildTable(target, localeId);
+        final String translation = table[keyId];
+        if(translation == null) {
+            throw new IllegalArgumentException(String.format("Could not find locale of key \"%s\"", keyIds.get(keyId)));
+        }
+        return translation;
+    }
+
+    /**
+     * Get a translation using a Player as the locale and the interned id of a key
+     *
+     * @param player The player to get the translation for
+     * @param keyId  The id of the key, see {@link TranslationManager#getKeyId(String)}
+     * @return The retrieved translation
+     */
+    public String getTranslation(Player player, int keyId) {
+        return getTranslation(localeIds.getId(player.getLocale().toLowerCase()), keyId);
+    }
+
+    /**
+     * Get a translation using the global locale and the interned id of a key
+     *
+     * @param keyId The id of the key, see {@link TranslationManager#getKeyId(String)}
+     * @return The retrieved translation
+     */
+    public String getTranslation(int keyId) {
+        return getTranslation(globalLocaleId, keyId);
+    }
+
+    /**
+     * Build the translation table of a locale, containing the translations of all currently interned keys
+     *
+     * @param target   The {@link TranslationStore} to build the table in
+     * @param localeId The id of the locale
+     * @return The new translation table
+     */
+    private String[] buildTable(TranslationStore target, int localeId) {
+        synchronized(target) {
+            final int keyCount = keyIds.size();
+            String[][] tables = target.tables;
+            if(localeId < tables.length && tables[localeId] != null && tables[localeId].length >= keyCount) {
+                return tables[localeId];
+            }
+            final Map<String, String> resolved = getResolvedMap(target, localeIds.get(localeId));
+            final String[] table = new String[keyCount];
+            for(int i = 0; i < keyCount; ++i) {
+                table[i] = resolved.get(keyIds.get(i));
+            }
+            if(localeId >= tables.length) tables = Arrays.copyOf(tables, Math.max(localeId + 1, tables.length * 2));
+            else tables = tables.clone();
+            tables[localeId] = table;
+            target.tables = tables;
+            return table;
+        }
+    }
+
     /**
      * Get a translation using a Player as the locale
      *
@@ -147,8 +355,9 @@ public final class TranslationManager {
         Validate.notNull(plugin, "Attempted to get translations, but plugin instance is null");
         Validate.notNull(locale, "Locale cannot be null");
         Validate.notNull(key, "Key cannot be null");
-        if(containsKey(locale, key)) return getTranslationInternal(locale, key);
-        return getTranslation(key);
+        final String translation = getResolvedMap(store, locale).get(key);
+        if(translation == null) throw new IllegalArgumentException(String.format("Could not find locale of key \"%s\"", key));
+        return translation;
     }
 
     /**
@@ -160,9 +369,7 @@ public final class TranslationManager {
     public String getTranslation(String key) {
         Validate.notNull(plugin, "Attempted to get translations, but plugin instance is null");
         Validate.notNull(key, "Key cannot be null");
-        if(containsKey(globalLocale, key)) return getTranslationInternal(globalLocale, key);
-        if(containsKey(baseLocale, key)) return getTranslationInternal(baseLocale, key);
-        throw new IllegalArgumentException(String.format("Could not find locale of key \"%s\"", key));
+        return getTranslation(globalLocale, key);
     }
 
     /**
@@ -184,60 +391,78 @@ public final class TranslationManager {
      */
     public boolean containsKey(String locale, String key) {
         if(key == null || key.isEmpty()) return false;
-        Map<String, String> translationMap = getTranslationMap(locale);
-        return translationMap != null && translationMap.containsKey(key);
+        return getTranslationMap(store, locale).containsKey(key);
     }
 
     /**
-     * Internal method for retrieving the translation from the translation map.
-     * {@link TranslationManager#containsKey(String, String)} should be called before the invocation of this method.
+     * Get the merged translation map of a locale's fallback chain: the locale, the global locale and the base locale,
+     * in order of priority. The map is merged once per locale.
      *
-     * @param locale The locale to get the translation from
-     * @param key    The key of the translation
-     * @return The retrieved translation
+     * @param target The {@link TranslationStore} to get the map from
+     * @param locale The locale to get the map for
+     * @return The merged map
      */
-    private String getTranslationInternal(String locale, String key) {
-        Map<String, String> translationMap = getTranslationMap(locale);
-        return translationMap.get(key);
+    private Map<String, String> getResolvedMap(TranslationStore target, String locale) {
+        Map<String, String> resolved = target.resolved.get(locale);
+        if(resolved != null) return resolved;
+        final String globalLocale = this.globalLocale;
+        final String baseLocale = this.baseLocale;
+        if(!locale.equals(globalLocale)) {
+            // Locales without own translations share the map of the global locale
+            final Map<String, String> translations = getTranslationMap(target, locale);
+            if(translations.isEmpty()) {
+                resolved = getResolvedMap(target, globalLocale);
+                target.resolved.putIfAbsent(locale, resolved);
+                return resolved;
+            }
+        }
+        final Map<String, String> merged = new HashMap<>(getTranslationMap(target, baseLocale));
+        merged.putAll(getTranslationMap(target, globalLocale));
+        merged.putAll(getTranslationMap(target, locale));
+        resolved = Collections.unmodifiableMap(merged);
+        final Map<String, String> existing = target.resolved.putIfAbsent(locale, resolved);
+        return existing != null ? existing : resolved;
     }
 
     /**
-     * Get the internal translation map for a specified locale. If the map is not found, it will be loaded.
+     * Get the translation map of a single locale. If the map is not found, it will be loaded.
      *
+     * @param target The {@link TranslationStore} to get the map from
      * @param locale The locale to get the map from
-     * @return The retrieved map, null if not found
+     * @return The retrieved map, empty if the locale has no translations
      */
-    private Map<String, String> getTranslationMap(String locale) {
-        if(!translations.containsKey(locale)) {
-            return loadTranslations(locale);
-        }
-        return translations.get(locale);
+    private Map<String, String> getTranslationMap(TranslationStore target, String locale) {
+        Map<String, String> translations = target.locales.get(locale);
+        if(translations != null) return translations;
+        translations = loadTranslations(target, locale);
+        final Map<String, String> existing = target.locales.putIfAbsent(locale, translations);
+        return existing != null ? existing : translations;
     }
 
     /**
-     * Load the translations of a specified locale from all registered directories. This method will populate
-     * {@link TranslationManager#translations} with the loaded translations.
+     * Load the translations of a specified locale from all directories of a {@link TranslationStore}.
      *
+     * @param target The {@link TranslationStore} to get the directories from
      * @param locale The locale to load
-     * @return The loaded translations Map
+     * @return The loaded, unmodifiable translations Map
      */
-    private Map<String, String> loadTranslations(String locale) {
+    private Map<String, String> loadTranslations(TranslationStore target, String locale) {
+        Validate.notNull(plugin, "Attempted to load translations, but plugin instance is null");
         Map<String, String> newTranslations = new HashMap<>();
-        for(Pair<String, Boolean> pair : directories) {
+        for(Pair<String, Boolean> pair : target.directories) {
             addTranslations(pair.getLeft(), pair.getRight(), locale, newTranslations);
         }
         if(newTranslations.isEmpty()) {
             Validate.isTrue(!locale.equals(baseLocale), "Base locale was null");
-            this.translations.put(locale, null);
-            return null;
+            return Collections.emptyMap();
         }
-        this.translations.put(locale, newTranslations);
-        return newTranslations;
+        return Collections.unmodifiableMap(newTranslations);
     }
 
     /**
      * Attempt to load the JSON file in the specified directory of the locale's name. If loaded successfully,
-     * translations are stored in the translations map argument.
+     * translations are stored in the translations map argument. Nested objects are flattened into dotted translation
+     * keys.
      *
      * @param directory    The directory to find the JSON file in
      * @param jarFile      Whether the file should be loaded from the plugin's jar file
@@ -249,18 +474,30 @@ public final class TranslationManager {
         if((jarFile && !jsonFile.loadFromJar(false)) || (!jarFile && !jsonFile.loadFromDisk(false))) {
             return;
         }
-        for(Map.Entry<String, JsonElement> entry : jsonFile.getAccessor().getKeyValuePairs(false).entrySet()) {
+        for(Map.Entry<String, JsonElement> entry : jsonFile.getAccessor().getFlattenedPairs().entrySet()) {
+            if(!entry.getValue().isJsonPrimitive()) continue;
             translations.put(entry.getKey(), entry.getValue().getAsString());
         }
     }
 
     /**
      * Clear all currently loaded translations. These translations will be loaded without issue on the next request.
-     * This method is mainly called when registering a new directory, as existing translations must be refreshed to
-     * include the new directory.
+     * This method is mainly called when the locales change, as existing translations must be merged again.
      */
     private void clearTranslations() {
-        this.translations.clear();
+        this.store = new TranslationStore(store.directories);
+        GENERATION.incrementAndGet();
+    }
+
+    /**
+     * Get the translation generation. The generation is incremented whenever the translations of any
+     * <code>TranslationManager</code> are reloaded, for example when a directory is registered, so text that was
+     * cached under an older generation should be retrieved again.
+     *
+     * @return The translation generation
+     */
+    public static long getGeneration() {
+        return GENERATION.get();
     }
 
     /**
@@ -292,11 +529,16 @@ public final class TranslationManager {
      * to have all translations.
      * <p>
      * The base locale is only used as a fallback for if the global locale doesn't have a translation.
+     * <p>
+     * Note that this method clears all currently loaded translations. The preloaded locales are loaded again
+     * asynchronously.
      *
      * @param baseLocale The new base locale
      */
     public void setBaseLocale(String baseLocale) {
         this.baseLocale = baseLocale;
+        clearTranslations();
+        preload();
     }
 
     /**
@@ -319,10 +561,129 @@ public final class TranslationManager {
      * <p>
      * The global locale does not need to have all translations. If a global translation is not found, the base locale
      * is instead used.
+     * <p>
+     * Note that this method clears all currently loaded translations. The preloaded locales are loaded again
+     * asynchronously.
      *
      * @param globalLocale The new global locale
      */
     public void setGlobalLocale(String globalLocale) {
         this.globalLocale = globalLocale;
+        this.globalLocaleId = localeIds.getId(globalLocale);
+        clearTranslations();
+        preload();
+    }
+
+    /**
+     * An immutable snapshot of the registered directories along with the translations loaded from them. Translations
+     * are loaded into the store on demand; a store is never cleared, but replaced by a new store.
+     *
+     * @author Mikedeejay2
+     */
+    private static final class TranslationStore {
+        /**
+         * The unmodifiable List of directories to search for translations along with a boolean, true if inside of
+         * plugin jar, false if a file in the plugin's directory.
+         */
+        private final List<Pair<String, Boolean>> directories;
+
+        /**
+         * The Map of locale to the unmodifiable translations of that locale alone
+         */
+        private final Map<String, Map<String, String>> locales;
+
+        /**
+         * The Map of locale to the unmodifiable, merged translations of the locale's fallback chain
+         */
+        private final Map<String, Map<String, String>> resolved;
+
+        /**
+         * The translation tables indexed by locale id, each table containing translations indexed by key id. Tables
+         * are replaced, never modified, once published. Guarded by this store.
+         */
+        private volatile String[][] tables;
+
+        /**
+         * Construct a new, empty <code>TranslationStore</code>
+         *
+         * @param directories The unmodifiable List of directories to search for translations
+         */
+        private TranslationStore(List<Pair<String, Boolean>> directories) {
+            this.directories = directories;
+            this.locales = new ConcurrentHashMap<>();
+            this.resolved = new ConcurrentHashMap<>();
+            this.tables = new String[0][];
+        }
+    }
+
+    /**
+     * Interns Strings into dense integer ids. Reading is lock-free, new ids are assigned under a lock.
+     *
+     * @author Mikedeejay2
+     */
+    private static final class IdTable {
+        /**
+         * The Map of Strings to their ids
+         */
+        private final Map<String, Integer> ids;
+
+        /**
+         * The Strings indexed by id. Only the first {@link IdTable#size} entries are used.
+         */
+        private volatile String[] values;
+
+        /**
+         * The amount of assigned ids, published after the String of a new id
+         */
+        private volatile int size;
+
+        /**
+         * Construct a new, empty <code>IdTable</code>
+         */
+        private IdTable() {
+            this.ids = new ConcurrentHashMap<>();
+            this.values = new String[16];
+            this.size = 0;
+        }
+
+        /**
+         * Get the id of a String, assigning a new id if the String doesn't have an id yet
+         *
+         * @param value The String
+         * @return The id of the String
+         */
+        private int getId(String value) {
+            Integer id = ids.get(value);
+            if(id != null) return id;
+            synchronized(this) {
+                id = ids.get(value);
+                if(id != null) return id;
+                final int newId = size;
+                if(newId == values.length) values = Arrays.copyOf(values, newId * 2);
+                values[newId] = value;
+                size = newId + 1;
+                ids.put(value, newId);
+                return newId;
+            }
+        }
+
+        /**
+         * Get the String of an id
+         *
+         * @param id The id
+         * @return The String of the id
+         */
+        private String get(int id) {
+            return values[id];
+        }
+
+        /**
+         * Get the amount of assigned ids
+         *
+         * @return The amount of assigned ids
+         */
+        private int size() {
+            return size;
+        }
     }
 }
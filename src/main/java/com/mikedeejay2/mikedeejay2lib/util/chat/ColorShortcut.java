@@ -2,6 +2,9 @@ package com.mikedeejay2.mikedeejay2lib.util.chat;
 
 import org.bukkit.ChatColor;
 
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * An enum that stores "shortcut" names to standard Minecraft color codes.
  * For use, see {@link Colors#formatShortcuts(String)}
@@ -234,6 +237,19 @@ public enum ColorShortcut {
     RESET(ChatColor.RESET, "reset", "cls", "rs"),
     ;
 
+    /**
+     * Map of all shortcut names to their {@link ColorShortcut}
+     */
+    private static final Map<String, ColorShortcut> SHORTCUTS = new HashMap<>();
+
+    static {
+        for(ColorShortcut cur : ColorShortcut.values()) {
+            for(String alias : cur.getNames()) {
+                SHORTCUTS.putIfAbsent(alias, cur);
+            }
+        }
+    }
+
     /**
      * All shortcut names associated with this color
      */
@@ -278,12 +294,6 @@ public enum ColorShortcut {
      * @return The located {@link ColorShortcut}, null if not found
      */
     public static ColorShortcut getShortcut(String shortcut) {
-        for(ColorShortcut cur : ColorShortcut.values()) {
-            String[] aliases = cur.getNames();
-            for(String alias : aliases) {
-                if(shortcut.equals(alias)) return cur;
-            }
-        }
-        return null;
+        return SHORTCUTS.get(shortcut);
     }
 }
@@ -1,13 +1,13 @@
 package com.mikedeejay2.mikedeejay2lib.util.chat;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.mikedeejay2.mikedeejay2lib.util.version.MinecraftVersion;
 import org.bukkit.ChatColor;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Function;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * A utility class for converting legacy color codes over to their color values.
@@ -24,24 +24,63 @@ import java.util.regex.Pattern;
  *     (<code>%ff0000%</code> -&gt; red, <code>%b%</code> -&gt; blue)</li>
  *     <li>Ability to format entire arrays or Lists at one time</li>
  * </ul>
- * 
+ * <p>
+ * Hex codes and color shortcuts are translated in a single pass over the message. Formatted messages are kept in
+ * bounded caches keyed by the raw message, so repeatedly formatted messages such as item lore are only translated once.
+ *
  * @author Mikedeejay2
  */
 public final class Colors {
     /**
-     * Pattern to find hex codes in a message
+     * Flag for translating alternate color codes
+     */
+    private static final int CODES = 1;
+
+    /**
+     * Flag for translating hex codes, including hex codes in placeholders
+     */
+    private static final int HEX = 2;
+
+    /**
+     * Flag for translating color shortcuts
+     */
+    private static final int SHORTCUTS = 4;
+
+    /**
+     * All valid characters following an alternate color code, see {@link ChatColor#translateAlternateColorCodes(char, String)}
+     */
+    private static final String COLOR_CODES = "0123456789AaBbCcDdEeFfKkLlMmNnOoRrXx";
+
+    /**
+     * The maximum amount of formatted messages in each cache
      */
-    private static final Pattern pattern1 = Pattern.compile("#[a-fA-f0-9]{6}");
+    private static final long CACHE_SIZE = 2048;
 
     /**
-     * Pattern to find hex codes in a placeholder in a message
+     * The maximum length of a message to be cached. Longer messages are formatted every time.
      */
-    private static final Pattern pattern2 = Pattern.compile("%[a-fA-f0-9]{6}%");
+    private static final int MAX_CACHED_LENGTH = 512;
 
     /**
-     * Pattern to find any text between a placeholder in a message (for getting ColorShortcuts)
+     * Cache of messages formatted by {@link Colors#formatHexCodes(String)}
      */
-    private static final Pattern pattern3 = Pattern.compile("%(.*?)%");
+    private static final Cache<String, String> hexCache = CacheBuilder.newBuilder()
+        .maximumSize(CACHE_SIZE)
+        .build();
+
+    /**
+     * Cache of messages formatted by {@link Colors#formatShortcuts(String)}
+     */
+    private static final Cache<String, String> shortcutCache = CacheBuilder.newBuilder()
+        .maximumSize(CACHE_SIZE)
+        .build();
+
+    /**
+     * Cache of messages formatted by {@link Colors#formatAll(String)}
+     */
+    private static final Cache<String, String> allCache = CacheBuilder.newBuilder()
+        .maximumSize(CACHE_SIZE)
+        .build();
 
     /**
      * Format a message using Minecraft's legacy color codes
@@ -101,21 +140,7 @@ public final class Colors {
      * @return The formatted message
      */
     public static String formatHexCodes(String message) {
-        boolean hexSupported = MinecraftVersion.VERSION_MINOR >= 16;
-        Matcher match1 = pattern1.matcher(message);
-        while(match1.find()) {
-            String curColor = message.substring(match1.start(), match1.end());
-            message = message.replace(curColor, hexSupported ? net.md_5.bungee.api.ChatColor.of(curColor) + "" : "");
-            match1 = pattern1.matcher(message);
-        }
-        Matcher match2 = pattern2.matcher(message);
-        while(match2.find()) {
-            String preColor = message.substring(match2.start(), match2.end());
-            String curColor = "#" + preColor.substring(1, preColor.length() - 1);
-            message = message.replace(preColor, hexSupported ? net.md_5.bungee.api.ChatColor.of(curColor) + "" : "");
-            match2 = pattern2.matcher(message);
-        }
-        return message;
+        return formatCached(hexCache, message, HEX);
     }
 
     /**
@@ -130,17 +155,7 @@ public final class Colors {
      * @return The formatted message
      */
     public static String formatShortcuts(String message) {
-        Matcher match3 = pattern3.matcher(message);
-        while(match3.find()) {
-            String preColor = message.substring(match3.start(), match3.end());
-            String curColor = preColor.substring(1, preColor.length() - 1);
-            ColorShortcut shortcut = ColorShortcut.getShortcut(curColor);
-            if(shortcut == null) continue;
-            org.bukkit.ChatColor color = shortcut.getChatColor();
-            message = message.replace(preColor, color + "");
-            match3 = pattern3.matcher(message);
-        }
-        return message;
+        return formatCached(shortcutCache, message, SHORTCUTS);
     }
 
     /**
@@ -158,10 +173,7 @@ public final class Colors {
      * @return The formatted message
      */
     public static String formatAll(String message) {
-        message = formatHexCodes(message);
-        message = formatShortcuts(message);
-        message = format(message);
-        return message;
+        return formatCached(allCache, message, CODES | HEX | SHORTCUTS);
     }
 
     /**
@@ -208,6 +220,107 @@ public final class Colors {
         return result;
     }
 
+    /**
+     * Clear the caches of formatted messages
+     */
+    public static void clearCache() {
+        hexCache.invalidateAll();
+        shortcutCache.invalidateAll();
+        allCache.invalidateAll();
+    }
+
+    /**
+     * Format a message through a cache of formatted messages
+     *
+     * @param cache   The cache of formatted messages
+     * @param message The message to format
+     * @param flags   The flags of the formats to apply
+     * @return The formatted message
+     */
+    private static String formatCached(Cache<String, String> cache, String message, int flags) {
+        if(message.length() > MAX_CACHED_LENGTH) return translate(message, flags);
+        String result = cache.getIfPresent(message);
+        if(result != null) return result;
+        result = translate(message, flags);
+        cache.put(message, result);
+        return result;
+    }
+
+    /**
+     * Translate the requested formats of a message in a single pass. The message is copied only if something is
+     * translated.
+     *
+     * @param message The message to translate
+     * @param flags   The flags of the formats to apply
+     * @return The translated message
+     */
+    private static String translate(String message, int flags) {
+        final boolean codes = (flags & CODES) != 0;
+        final boolean hex = (flags & HEX) != 0;
+        final boolean shortcuts = (flags & SHORTCUTS) != 0;
+        final int length = message.length();
+        StringBuilder builder = null;
+        int last = 0;
+        int i = 0;
+        while(i < length) {
+            final char c = message.charAt(i);
+            String replacement = null;
+            int next = i + 1;
+            if(c == '#' && hex && isHex(message, i + 1)) {
+                replacement = hexColor(message.substring(i, i + 7));
+                next = i + 7;
+            } else if(c == '%' && (hex || shortcuts)) {
+                final int end = message.indexOf('%', i + 1);
+                if(end != -1) {
+                    if(hex && end == i + 7 && isHex(message, i + 1)) {
+                        replacement = hexColor("#" + message.substring(i + 1, end));
+                    } else if(shortcuts) {
+                        final ColorShortcut shortcut = ColorShortcut.getShortcut(message.substring(i + 1, end));
+                        if(shortcut != null) replacement = shortcut.getChatColor().toString();
+                    }
+                    if(replacement != null) next = end + 1;
+                }
+            } else if(c == '&' && codes && i + 1 < length && COLOR_CODES.indexOf(message.charAt(i + 1)) != -1) {
+                replacement = String.valueOf(ChatColor.COLOR_CHAR) + Character.toLowerCase(message.charAt(i + 1));
+                next = i + 2;
+            }
+            if(replacement != null) {
+                if(builder == null) builder = new StringBuilder(length + 16);
+                builder.append(message, last, i).append(replacement);
+                last = next;
+            }
+            i = next;
+        }
+        if(builder == null) return message;
+        return builder.append(message, last, length).toString();
+    }
+
+    /**
+     * Get whether the six characters of a message starting at an index are hexadecimal digits
+     *
+     * @param message The message
+     * @param start   The index of the first character
+     * @return Whether the characters are hexadecimal digits
+     */
+    private static boolean isHex(String message, int start) {
+        if(start + 6 > message.length()) return false;
+        for(int i = start; i < start + 6; ++i) {
+            if(Character.digit(message.charAt(i), 16) == -1) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Get the color of a hex code, or an empty String if the Minecraft version is below 1.16
+     *
+     * @param hexCode The hex code, including the <code>#</code>
+     * @return The color
+     */
+    private static String hexColor(String hexCode) {
+        if(MinecraftVersion.VERSION_MINOR < 16) return "";
+        return net.md_5.bungee.api.ChatColor.of(hexCode).toString();
+    }
+
     /**
      * Add a reset color to the start of a message to bypass some weird conditional Minecraft formatting issues.
      *
@@ -0,0 +1,107 @@
+package com.mikedeejay2.mikedeejay2lib.util.file;
+
+import com.mikedeejay2.mikedeejay2lib.data.binary.BinaryCodec;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.MemoryConfiguration;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.Map;
+
+/**
+ * Util class for saving and loading binary data files from and to disk.
+ *
+ * @see BinaryCodec
+ * @author Mikedeejay2
+ */
+public final class BinaryFileIO {
+    /**
+     * Load a binary file into a <code>ConfigurationSection</code>, replacing its current values
+     *
+     * @param config      The <code>ConfigurationSection</code> that will be loaded into
+     * @param file        File that will be loaded
+     * @param throwErrors Whether this method should throw errors if something goes wrong or not
+     * @return Whether load was successful or not
+     */
+    public static boolean loadIntoConfig(ConfigurationSection config, File file, boolean throwErrors) {
+        try(InputStream input = new BufferedInputStream(Files.newInputStream(file.toPath()), FileIO.BUFFER_SIZE)) {
+            clear(config);
+            BinaryCodec.read(input, config);
+        } catch(Exception e) {
+            if(throwErrors) FileIO.logFileCouldNotBeLoaded(file.getPath(), e);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Load a binary file in the plugin's jar into a <code>ConfigurationSection</code>, replacing its current values
+     *
+     * @param config      The <code>ConfigurationSection</code> that will be loaded into
+     * @param filePath    Path to the file. This should NOT include plugin.getDataFolder()
+     * @param classLoader The <code>ClassLoader</code> to get the resource from
+     * @param throwErrors Whether this method should throw errors if something goes wrong or not
+     * @return Whether load was successful or not
+     */
+    public static boolean loadConfigFromJar(ConfigurationSection config, String filePath, ClassLoader classLoader, boolean throwErrors) {
+        InputStream jarInput = FileIO.getInputStreamFromJar(filePath, classLoader);
+        try {
+            if(jarInput == null) throw new FileNotFoundException(filePath);
+            try(InputStream input = new BufferedInputStream(jarInput, FileIO.BUFFER_SIZE)) {
+                clear(config);
+                BinaryCodec.read(input, config);
+            }
+        } catch(Exception e) {
+            if(throwErrors) FileIO.logFileCouldNotBeLoaded(filePath, e);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Save a <code>ConfigurationSection</code> to disk as a binary file. The file is replaced atomically, see
+     * {@link FileIO#saveFileAtomic(File, FileIO.StreamWriter, boolean)}.
+     *
+     * @param config      The <code>ConfigurationSection</code> being saved
+     * @param file        The file to save to
+     * @param throwErrors Whether this method should throw errors if something goes wrong or not
+     * @return Whether save was successful or not
+     */
+    public static boolean saveConfig(ConfigurationSection config, File file, boolean throwErrors) {
+        return FileIO.saveFileAtomic(file, output -> BinaryCodec.write(config, output), throwErrors);
+    }
+
+    /**
+     * Update a <code>ConfigurationSection</code> with the values of the binary file of the same path in the plugin's
+     * jar that it doesn't contain yet. Existing values are kept.
+     *
+     * @param config      The <code>ConfigurationSection</code> that is currently loaded
+     * @param filePath    The path of the file in the jar
+     * @param classLoader The <code>ClassLoader</code> to get the resource from
+     * @param throwErrors Whether this method should throw errors if something goes wrong or not
+     * @return Whether the update was successful or not
+     */
+    public static boolean updateFromJar(ConfigurationSection config, String filePath, ClassLoader classLoader, boolean throwErrors) {
+        ConfigurationSection jarConfig = new MemoryConfiguration();
+        if(!loadConfigFromJar(jarConfig, filePath, classLoader, throwErrors)) return false;
+        for(Map.Entry<String, Object> entry : jarConfig.getValues(true).entrySet()) {
+            if(entry.getValue() instanceof ConfigurationSection || config.contains(entry.getKey())) continue;
+            config.set(entry.getKey(), entry.getValue());
+        }
+        return true;
+    }
+
+    /**
+     * Remove every value from a <code>ConfigurationSection</code>
+     *
+     * @param config The section to clear
+     */
+    private static void clear(ConfigurationSection config) {
+        for(String key : config.getKeys(false)) {
+            config.set(key, null);
+        }
+    }
+}
@@ -1,12 +1,20 @@
 package com.mikedeejay2.mikedeejay2lib.util.file;
 
+import com.google.common.util.concurrent.Striped;
 import org.apache.commons.lang3.Validate;
 import org.bukkit.Bukkit;
 
 import java.io.*;
 import java.net.URL;
 import java.net.URLConnection;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.locks.Lock;
 import java.util.logging.Level;
 
 /**
@@ -15,6 +23,26 @@ import java.util.logging.Level;
  * @author Mikedeejay2
  */
 public final class FileIO {
+    /**
+     * The size of the buffers used for streaming files
+     */
+    public static final int BUFFER_SIZE = 8192;
+
+    /**
+     * The size of the buffers used for writing files to disk
+     */
+    public static final int WRITE_BUFFER_SIZE = 65536;
+
+    /**
+     * The amount of lock stripes used to serialize writes to the same path
+     */
+    private static final int LOCK_STRIPES = 64;
+
+    /**
+     * Locks that serialize writes to the same path, so that concurrent saves of a file never share a temporary file
+     */
+    private static final Striped<Lock> writeLocks = Striped.lazyWeakLock(LOCK_STRIPES);
+
     /**
      * Get an input stream to an internal file inside the plugin's jar
      *
@@ -81,6 +109,18 @@ public final class FileIO {
         return reader;
     }
 
+    /**
+     * Get a buffered Reader from a file on the disk, reading through a <code>FileChannel</code>
+     *
+     * @param file The file to get the reader from
+     * @return The requested reader
+     * @throws IOException If the file could not be opened
+     */
+    public static Reader getBufferedReaderFromDisk(File file) throws IOException {
+        FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        return new BufferedReader(Channels.newReader(channel, StandardCharsets.UTF_8.newDecoder(), -1), BUFFER_SIZE);
+    }
+
     /**
      * Get a Reader from a file path on the disk
      *
@@ -156,23 +196,91 @@ public final class FileIO {
      * @return If the save was successful or not
      */
     public static boolean saveFile(File file, InputStream input, boolean replace, boolean throwErrors) {
-        if (!file.exists()) file.getParentFile().mkdirs();
-
         try {
-            if (!file.exists() || replace) {
-                if(!file.exists()) file.createNewFile();
-                OutputStream output = new FileOutputStream(file);
-                byte[] buffer = new byte[1024];
+            if(file.exists() && !replace) return true;
+            return saveFileAtomic(file, output -> {
+                byte[] buffer = new byte[WRITE_BUFFER_SIZE];
                 int length;
-                while ((length = input.read(buffer)) > 0) {
+                while((length = input.read(buffer)) > 0) {
                     output.write(buffer, 0, length);
                 }
-                output.close();
-                input.close();
+            }, throwErrors);
+        } finally {
+            try {
+                if(input != null) input.close();
+            } catch(IOException ignored) {}
+        }
+    }
+
+    /**
+     * Save data to a file atomically. The data is written to a temporary file next to the file, which then replaces
+     * the file in a single rename. If the save fails, the original file is left untouched.
+     *
+     * @param file        The File to save the data to
+     * @param data        The data to save
+     * @param throwErrors Whether this method should throw errors if something goes wrong or not
+     * @return If the save was successful or not
+     */
+    public static boolean saveFileAtomic(File file, byte[] data, boolean throwErrors) {
+        return saveFileAtomic(file, output -> output.write(data), throwErrors);
+    }
+
+    /**
+     * Save a file atomically by streaming its contents. The contents are written through a buffered
+     * <code>FileChannel</code> to a temporary file next to the file, which then replaces the file in a single rename.
+     * If the save fails, the original file is left untouched.
+     *
+     * @param file        The File to save the contents to
+     * @param writer      Writes the contents of the file to a stream. The stream must not be closed by the writer.
+     * @param throwErrors Whether this method should throw errors if something goes wrong or not
+     * @return If the save was successful or not
+     */
+    public static boolean saveFileAtomic(File file, StreamWriter writer, boolean throwErrors) {
+        return saveFileAtomic(file, writer, false, throwErrors);
+    }
+
+    /**
+     * Save a file atomically by streaming its contents. The contents are written through a buffered
+     * <code>FileChannel</code> to a temporary file next to the file, which then replaces the file in a single rename.
+     * If the save fails, the original file is left untouched.
+     * <p>
+     * Saves of the same path are serialized, so this method is safe to call from multiple threads at once. Forcing
+     * the temporary file to the storage device before it is moved makes the save survive a power loss or an OS crash,
+     * at the cost of a slower save.
+     *
+     * @param file        The File to save the contents to
+     * @param writer      Writes the contents of the file to a stream. The stream must not be closed by the writer.
+     * @param force       Whether the contents should be forced to the storage device before the file is replaced
+     * @param throwErrors Whether this method should throw errors if something goes wrong or not
+     * @return If the save was successful or not
+     */
+    public static boolean saveFileAtomic(File file, StreamWriter writer, boolean force, boolean throwErrors) {
+        File absoluteFile = file.getAbsoluteFile();
+        File parent = absoluteFile.getParentFile();
+        File tempFile = new File(parent, file.getName() + ".tmp");
+        Lock lock = writeLocks.get(absoluteFile.getPath());
+
+        lock.lock();
+        try {
+            if(parent != null) parent.mkdirs();
+            try(FileChannel channel = FileChannel.open(tempFile.toPath(),
+                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                OutputStream output = new BufferedOutputStream(Channels.newOutputStream(channel), WRITE_BUFFER_SIZE);
+                writer.write(output);
+                output.flush();
+                if(force) channel.force(true);
             }
-        } catch (IOException ex) {
+            try {
+                Files.move(tempFile.toPath(), absoluteFile.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch(AtomicMoveNotSupportedException ignored) {
+                Files.move(tempFile.toPath(), absoluteFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch(IOException ex) {
+            tempFile.delete();
             if(throwErrors) logFileCouldNotBeSaved(file.getPath(), ex);
             return false;
+        } finally {
+            lock.unlock();
         }
         return true;
     }
@@ -217,4 +325,20 @@ public final class FileIO {
     public static boolean deleteFile(File file) {
         return file.delete();
     }
+
+    /**
+     * Writes the contents of a file to an <code>OutputStream</code>
+     *
+     * @author Mikedeejay2
+     */
+    @FunctionalInterface
+    public interface StreamWriter {
+        /**
+         * Write the contents of a file
+         *
+         * @param output The stream to write to, must not be closed
+         * @throws IOException If the contents could not be written
+         */
+        void write(OutputStream output) throws IOException;
+    }
 }
@@ -3,12 +3,15 @@ package com.mikedeejay2.mikedeejay2lib.util.file;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonElement;
+import com.google.gson.JsonIOException;
 import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonReader;
 import com.google.gson.stream.JsonWriter;
 import com.mikedeejay2.mikedeejay2lib.BukkitPlugin;
 import com.mikedeejay2.mikedeejay2lib.data.json.JsonFile;
 
 import java.io.*;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
 import java.util.Set;
 
@@ -18,6 +21,16 @@ import java.util.Set;
  * @author Mikedeejay2
  */
 public final class JsonFileIO {
+    /**
+     * The shared <code>Gson</code> instance for reading and writing pretty printed json
+     */
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+
+    /**
+     * The shared <code>Gson</code> instance for writing compact json
+     */
+    private static final Gson COMPACT_GSON = new GsonBuilder().create();
+
     /**
      * Load a JsonObject from the disk.
      *
@@ -40,14 +53,8 @@ public final class JsonFileIO {
      * @return The requested JsonObject
      */
     public static JsonObject loadJsonObjectFromDisk(File file, JsonObject json, boolean throwErrors) {
-        GsonBuilder builder = new GsonBuilder();
-        builder.setPrettyPrinting();
-        Gson gson = builder.create();
-        Reader reader = FileIO.getReaderFromDisk(file, throwErrors);
-        try {
-            JsonObject newJson = gson.fromJson(reader, JsonObject.class);
-            newJson.entrySet().forEach(entry -> json.add(entry.getKey(), entry.getValue()));
-            reader.close();
+        try(JsonReader reader = GSON.newJsonReader(FileIO.getBufferedReaderFromDisk(file))) {
+            readJsonObject(reader, json);
         } catch(Exception e) {
             if(throwErrors) FileIO.logFileCouldNotBeLoaded(file.getPath(), e);
         }
@@ -64,20 +71,26 @@ public final class JsonFileIO {
      * @return The requested JsonObject
      */
     public static JsonObject loadJsonObjectFromJar(String filePath, JsonObject json, ClassLoader classLoader, boolean throwErrors) {
-        GsonBuilder builder = new GsonBuilder();
-        builder.setPrettyPrinting();
-        Gson gson = builder.create();
         Reader reader = FileIO.getReaderFromJar(filePath, classLoader, throwErrors);
-        try {
-            JsonObject newJson = gson.fromJson(reader, JsonObject.class);
-            newJson.entrySet().forEach(entry -> json.add(entry.getKey(), entry.getValue()));
-            reader.close();
+        try(JsonReader jsonReader = GSON.newJsonReader(new BufferedReader(reader, FileIO.BUFFER_SIZE))) {
+            readJsonObject(jsonReader, json);
         } catch(Exception e) {
             if(throwErrors) FileIO.logFileCouldNotBeLoaded(filePath, e);
         }
         return json;
     }
 
+    /**
+     * Read a json object from a <code>JsonReader</code> into an existing <code>JsonObject</code>
+     *
+     * @param reader The <code>JsonReader</code> to read from
+     * @param json   The <code>JsonObject</code> to load the JSON into
+     */
+    private static void readJsonObject(JsonReader reader, JsonObject json) {
+        JsonObject newJson = GSON.fromJson(reader, JsonObject.class);
+        newJson.entrySet().forEach(entry -> json.add(entry.getKey(), entry.getValue()));
+    }
+
     /**
      * Get a JsonWriter from a file
      *
@@ -104,12 +117,30 @@ public final class JsonFileIO {
      * @return Whether the save was successful or not
      */
     public static boolean saveJsonFile(File file, JsonObject json, boolean throwErrors) {
-        GsonBuilder builder = new GsonBuilder();
-        builder.setPrettyPrinting();
-        Gson gson = builder.create();
-        String str = gson.toJson(json);
-        InputStream inputStream = new ByteArrayInputStream(str.getBytes());
-        return FileIO.saveFile(file, inputStream, true, throwErrors);
+        return saveJsonFile(file, json, false, throwErrors);
+    }
+
+    /**
+     * Save a json file to disk. The json is streamed to the file without building the entire file in memory, and the
+     * file is replaced atomically, see {@link FileIO#saveFileAtomic(File, FileIO.StreamWriter, boolean)}.
+     *
+     * @param file        The file to save to
+     * @param json        The json file that will be saved to the file
+     * @param compact     Whether to save the json without pretty printing
+     * @param throwErrors Whether this method should throw errors if something goes wrong or not
+     * @return Whether the save was successful or not
+     */
+    public static boolean saveJsonFile(File file, JsonObject json, boolean compact, boolean throwErrors) {
+        Gson gson = compact ? COMPACT_GSON : GSON;
+        return FileIO.saveFileAtomic(file, output -> {
+            JsonWriter writer = gson.newJsonWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+            try {
+                gson.toJson(json, writer);
+            } catch(JsonIOException e) {
+                throw new IOException(e);
+            }
+            writer.flush();
+        }, throwErrors);
     }
 
     /**
@@ -4,6 +4,7 @@ import com.mikedeejay2.mikedeejay2lib.data.yaml.EnhancedYaml;
 
 import java.io.File;
 import java.io.Reader;
+import java.nio.charset.StandardCharsets;
 
 /**
  * Util class for saving and loading YAML from and to disk.
@@ -50,7 +51,8 @@ public final class YamlFileIO {
     }
 
     /**
-     * Save a yaml file to disk.
+     * Save a yaml file to disk. The file is replaced atomically, see
+     * {@link FileIO#saveFileAtomic(File, FileIO.StreamWriter, boolean)}.
      *
      * @param config      The EnhancedYaml file being saved
      * @param file        The file to save to
@@ -58,12 +60,13 @@ public final class YamlFileIO {
      * @return Whether load was successful or not
      */
     public static boolean saveYamlConfig(EnhancedYaml config, File file, boolean throwErrors) {
+        final byte[] data;
         try {
-            config.save(file);
+            data = config.saveToString().getBytes(StandardCharsets.UTF_8);
         } catch(Exception e) {
             if(throwErrors) FileIO.logFileCouldNotBeSaved(file.getPath(), e);
             return false;
         }
-        return true;
+        return FileIO.saveFileAtomic(file, data, throwErrors);
     }
 }
@@ -218,6 +218,136 @@ public final class MathUtil {
         return newVec.add(origin);
     }
 
+    /**
+     * Build a 3x4 affine matrix that scales, rotates and translates a point around an origin. Transforming a point
+     * with the matrix is the same as scaling the point around the origin, rotating it with
+     * {@link MathUtil#rotateAroundOrigin(Vector, Vector, double, double, double)} and then adding the translation.
+     * <p>
+     * The matrix is stored row by row, <code>{m00, m01, m02, m03, m10, ..., m23}</code>, where the last column of
+     * each row is the translation.
+     *
+     * @param matrix      The array of 12 doubles to store the matrix in
+     * @param origin      The origin to scale and rotate around
+     * @param scale       The scale on each axis
+     * @param rotation    The degrees to rotate around each axis
+     * @param translation The translation
+     * @return The matrix array
+     */
+    public static double[] getAffineMatrix(double[] matrix, Vector origin, Vector scale, Vector rotation, Vector translation) {
+        double radX = Math.toRadians(rotation.getX());
+        double radY = Math.toRadians(rotation.getY());
+        double radZ = Math.toRadians(rotation.getZ());
+        double sinX = Math.sin(radX), cosX = Math.cos(radX);
+        double sinY = Math.sin(radY), cosY = Math.cos(radY);
+        double sinZ = Math.sin(radZ), cosZ = Math.cos(radZ);
+        double scaleX = scale.getX(), scaleY = scale.getY(), scaleZ = scale.getZ();
+
+        // Rotation around X, then Y, then Z, multiplied by the scale of each column
+        matrix[0]  = cosZ * cosY * scaleX;
+        matrix[1]  = (cosZ * sinY * sinX - sinZ * cosX) * scaleY;
+        matrix[2]  = (cosZ * sinY * cosX + sinZ * sinX) * scaleZ;
+        matrix[4]  = sinZ * cosY * scaleX;
+        matrix[5]  = (sinZ * sinY * sinX + cosZ * cosX) * scaleY;
+        matrix[6]  = (sinZ * sinY * cosX - cosZ * sinX) * scaleZ;
+        matrix[8]  = -sinY * scaleX;
+        matrix[9]  = cosY * sinX * scaleY;
+        matrix[10] = cosY * cosX * scaleZ;
+
+        // Translation = origin + translation - (rotation * scale * origin)
+        double oX = origin.getX(), oY = origin.getY(), oZ = origin.getZ();
+        matrix[3]  = oX + translation.getX() - (matrix[0] * oX + matrix[1] * oY + matrix[2] * oZ);
+        matrix[7]  = oY + translation.getY() - (matrix[4] * oX + matrix[5] * oY + matrix[6] * oZ);
+        matrix[11] = oZ + translation.getZ() - (matrix[8] * oX + matrix[9] * oY + matrix[10] * oZ);
+        return matrix;
+    }
+
+    /**
+     * Set a 3x4 affine matrix to the identity matrix
+     *
+     * @param matrix The array of 12 doubles to store the matrix in
+     * @return The matrix array
+     */
+    public static double[] getIdentityMatrix(double[] matrix) {
+        for(int i = 0; i < 12; ++i) {
+            matrix[i] = (i % 5 == 0) ? 1 : 0;
+        }
+        return matrix;
+    }
+
+    /**
+     * Multiply two 3x4 affine matrices. The resulting matrix applies <code>second</code> and then <code>first</code>.
+     * The result array may be one of the input arrays.
+     *
+     * @param result The array of 12 doubles to store the result in
+     * @param first  The matrix applied last
+     * @param second The matrix applied first
+     * @return The result array
+     */
+    public static double[] multiplyAffine(double[] result, double[] first, double[] second) {
+        double r0 = 0, r1 = 0, r2 = 0, r3 = 0, r4 = 0, r5 = 0, r6 = 0, r7 = 0, r8 = 0, r9 = 0, r10 = 0, r11 = 0;
+        for(int row = 0; row < 3; ++row) {
+            double a0 = first[row * 4], a1 = first[row * 4 + 1], a2 = first[row * 4 + 2], a3 = first[row * 4 + 3];
+            double c0 = a0 * second[0] + a1 * second[4] + a2 * second[8];
+            double c1 = a0 * second[1] + a1 * second[5] + a2 * second[9];
+            double c2 = a0 * second[2] + a1 * second[6] + a2 * second[10];
+            double c3 = a0 * second[3] + a1 * second[7] + a2 * second[11] + a3;
+            switch(row) {
+                case 0: r0 = c0; r1 = c1; r2 = c2; r3 = c3; break;
+                case 1: r4 = c0; r5 = c1; r6 = c2; r7 = c3; break;
+                default: r8 = c0; r9 = c1; r10 = c2; r11 = c3; break;
+            }
+        }
+        result[0] = r0; result[1] = r1; result[2] = r2;  result[3] = r3;
+        result[4] = r4; result[5] = r5; result[6] = r6;  result[7] = r7;
+        result[8] = r8; result[9] = r9; result[10] = r10; result[11] = r11;
+        return result;
+    }
+
+    /**
+     * Transform points stored as separate x, y and z arrays with a 3x4 affine matrix. No objects are allocated, the
+     * destination arrays must be at least <code>size</code> long and may be the source arrays.
+     *
+     * @param matrix The 3x4 affine matrix, see {@link MathUtil#getAffineMatrix(double[], Vector, Vector, Vector, Vector)}
+     * @param srcX   The x coordinates of the points
+     * @param srcY   The y coordinates of the points
+     * @param srcZ   The z coordinates of the points
+     * @param dstX   The array to store the transformed x coordinates in
+     * @param dstY   The array to store the transformed y coordinates in
+     * @param dstZ   The array to store the transformed z coordinates in
+     * @param size   The amount of points to transform
+     */
+    public static void transformPoints(double[] matrix, double[] srcX, double[] srcY, double[] srcZ, double[] dstX, double[] dstY, double[] dstZ, int size) {
+        transformPoints(matrix, srcX, srcY, srcZ, dstX, dstY, dstZ, 0, size);
+    }
+
+    /**
+     * Transform points stored as separate x, y and z arrays with a 3x4 affine matrix, storing them at an offset in the
+     * destination arrays. No objects are allocated, the destination arrays must be at least
+     * <code>dstOffset + size</code> long.
+     *
+     * @param matrix    The 3x4 affine matrix, see {@link MathUtil#getAffineMatrix(double[], Vector, Vector, Vector, Vector)}
+     * @param srcX      The x coordinates of the points
+     * @param srcY      The y coordinates of the points
+     * @param srcZ      The z coordinates of the points
+     * @param dstX      The array to store the transformed x coordinates in
+     * @param dstY      The array to store the transformed y coordinates in
+     * @param dstZ      The array to store the transformed z coordinates in
+     * @param dstOffset The index of the destination arrays to store the first point at
+     * @param size      The amount of points to transform
+     */
+    public static void transformPoints(double[] matrix, double[] srcX, double[] srcY, double[] srcZ, double[] dstX, double[] dstY, double[] dstZ, int dstOffset, int size) {
+        double m0 = matrix[0], m1 = matrix[1], m2  = matrix[2],  m3  = matrix[3];
+        double m4 = matrix[4], m5 = matrix[5], m6  = matrix[6],  m7  = matrix[7];
+        double m8 = matrix[8], m9 = matrix[9], m10 = matrix[10], m11 = matrix[11];
+        for(int i = 0; i < size; ++i) {
+            double x = srcX[i], y = srcY[i], z = srcZ[i];
+            int dst = dstOffset + i;
+            dstX[dst] = m0 * x + m1 * y + m2  * z + m3;
+            dstY[dst] = m4 * x + m5 * y + m6  * z + m7;
+            dstZ[dst] = m8 * x + m9 * y + m10 * z + m11;
+        }
+    }
+
     /**
      * Get a velocity vector that points towards a location
      *
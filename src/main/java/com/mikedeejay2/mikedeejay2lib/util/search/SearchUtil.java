@@ -2,6 +2,8 @@ package com.mikedeejay2.mikedeejay2lib.util.search;
 
 import org.bukkit.inventory.meta.ItemMeta;
 
+import java.util.List;
+
 /**
  * Class for searching through different things to see if a piece of data exists
  * inside of it.
@@ -40,6 +42,50 @@ public final class SearchUtil {
         return flag;
     }
 
+    /**
+     * Generalize a String for a "fuzzy" search by changing all the text to lower case and removing spaces.
+     *
+     * @param text The text to generalize
+     * @return The generalized text
+     */
+    public static String normalizeFuzzy(String text) {
+        return text.toLowerCase().replace(" ", "");
+    }
+
+    /**
+     * Build the generalized search text of a piece of ItemMeta. The display name and every lore line are
+     * generalized with {@link SearchUtil#normalizeFuzzy(String)} and joined with new lines, so that a generalized
+     * search term can be matched against the returned String with <code>.contains()</code> instead of calling
+     * {@link SearchUtil#searchMetaFuzzy(ItemMeta, String)} every search.
+     *
+     * @param meta ItemMeta to index, can be null
+     * @return The generalized search text of the ItemMeta
+     */
+    public static String indexMetaFuzzy(ItemMeta meta) {
+        if(meta == null) return "";
+        return indexTextFuzzy(meta.getDisplayName(), meta.getLore());
+    }
+
+    /**
+     * Build the generalized search text of a display name and lore. Works the same as
+     * {@link SearchUtil#indexMetaFuzzy(ItemMeta)}, but for text that doesn't come from ItemMeta, such as the rendered
+     * text of a {@link com.mikedeejay2.mikedeejay2lib.item.TextItemBuilder}.
+     *
+     * @param name The display name, can be null
+     * @param lore The lore, can be null
+     * @return The generalized search text
+     */
+    public static String indexTextFuzzy(String name, List<String> lore) {
+        StringBuilder builder = new StringBuilder(name == null ? "" : normalizeFuzzy(name));
+        if(lore != null) {
+            for(String line : lore) {
+                if(line == null) continue;
+                builder.append('\n').append(normalizeFuzzy(line));
+            }
+        }
+        return builder.toString();
+    }
+
     /**
      * Search for a String in a piece of ItemMeta.
      * This method searches the ItemMeta without generalizing the Strings.
@@ -0,0 +1,61 @@
+package com.mikedeejay2.mikedeejay2lib.util.structure;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A <code>LinkedHashMap</code> in access order that evicts its least recently used entry once it grows past a
+ * maximum size. Useful as a small bounded cache.
+ * <p>
+ * This map is not thread safe.
+ *
+ * @param <K> The key type
+ * @param <V> The value type
+ *
+ * @author Mikedeejay2
+ */
+public class LRUMap<K, V> extends LinkedHashMap<K, V> {
+    /**
+     * The maximum amount of entries of this map
+     */
+    protected int maxSize;
+
+    /**
+     * Construct a new <code>LRUMap</code>
+     *
+     * @param maxSize The maximum amount of entries of this map
+     */
+    public LRUMap(int maxSize) {
+        super(Math.min(maxSize, 16), 0.75f, true);
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Evict the eldest entry once this map is larger than its maximum size
+     *
+     * @param eldest The least recently used entry
+     * @return Whether the eldest entry should be removed
+     */
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+        return size() > maxSize;
+    }
+
+    /**
+     * Get the maximum amount of entries of this map
+     *
+     * @return The maximum size
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Set the maximum amount of entries of this map. Entries above the new maximum are evicted on the next insertion.
+     *
+     * @param maxSize The new maximum size
+     */
+    public void setMaxSize(int maxSize) {
+        this.maxSize = maxSize;
+    }
+}